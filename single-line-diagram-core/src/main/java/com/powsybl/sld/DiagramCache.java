@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.*;
+import com.powsybl.sld.layout.SubstationLayoutFactory;
+import com.powsybl.sld.layout.VoltageLevelLayoutFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the voltage level and substation diagrams of a network, that is of their graphs with cells detected and
+ * blocks organized, for a given layout configuration.
+ * <p>
+ * A diagram is cached for its container id and the working variant of the network when it is built. It is reused as
+ * long as the topology fingerprint of its container is unchanged: a hash of the connectables of the voltage levels
+ * and of the nodes or buses their terminals are connected to, of the switches with their states and ends, of the
+ * internal connections of the node-breaker voltage levels and of the buses of the bus-breaker voltage levels. The least
+ * recently used diagrams are evicted when the number of cached diagrams exceeds the maximum size, or when their total
+ * weight, which is the number of nodes of their graphs, exceeds the maximum weight.
+ * <p>
+ * The cache is thread-safe. The diagrams it returns are shared between the callers: the writes of a diagram, which run
+ * its layout on its graph, are serialized, and a diagram written again gives the same result as a freshly built one.
+ *
+ * @author agent <agent at local>
+ */
+public final class DiagramCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagramCache.class);
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final class Key {
+
+        private final String containerId;
+        private final String variantId;
+        private final boolean substation;
+
+        private Key(String containerId, String variantId, boolean substation) {
+            this.containerId = containerId;
+            this.variantId = variantId;
+            this.substation = substation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return substation == key.substation && containerId.equals(key.containerId) && variantId.equals(key.variantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(containerId, variantId, substation);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long fingerprint;
+        private final Object diagram;
+        private final int weight;
+
+        private Entry(long fingerprint, Object diagram, int weight) {
+            this.fingerprint = fingerprint;
+            this.diagram = diagram;
+            this.weight = weight;
+        }
+    }
+
+    private final Network network;
+
+    private final GraphBuilder graphBuilder;
+
+    private final VoltageLevelLayoutFactory vLayoutFactory;
+
+    private final SubstationLayoutFactory sLayoutFactory;
+
+    private final boolean useName;
+
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    private long maxWeight = Long.MAX_VALUE;
+
+    // in access order, from the least recently used
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    public DiagramCache(Network network, VoltageLevelLayoutFactory vLayoutFactory, SubstationLayoutFactory sLayoutFactory,
+                        boolean useName) {
+        this.network = Objects.requireNonNull(network);
+        this.graphBuilder = new NetworkGraphBuilder(network);
+        this.vLayoutFactory = Objects.requireNonNull(vLayoutFactory);
+        this.sLayoutFactory = Objects.requireNonNull(sLayoutFactory);
+        this.useName = useName;
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized DiagramCache setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum size " + maxSize);
+        }
+        this.maxSize = maxSize;
+        evict();
+        return this;
+    }
+
+    public synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @param maxWeight maximum total number of graph nodes of the cached diagrams
+     */
+    public synchronized DiagramCache setMaxWeight(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Invalid maximum weight " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        evict();
+        return this;
+    }
+
+    /**
+     * Returns the diagram of the given voltage level, built if it is not cached for the working variant of the network
+     * or if the topology of the voltage level changed since it was cached
+     */
+    public VoltageLevelDiagram getVoltageLevelDiagram(String voltageLevelId) {
+        Objects.requireNonNull(voltageLevelId);
+        VoltageLevel vl = network.getVoltageLevel(voltageLevelId);
+        if (vl == null) {
+            throw new PowsyblException("Voltage level '" + voltageLevelId + "' not found !!");
+        }
+        Key key = new Key(voltageLevelId, network.getVariantManager().getWorkingVariantId(), false);
+        long fingerprint = fingerprint(FNV_OFFSET_BASIS, vl);
+        return (VoltageLevelDiagram) get(key, fingerprint, () -> {
+            VoltageLevelDiagram diagram = VoltageLevelDiagram.build(graphBuilder, voltageLevelId, vLayoutFactory, useName);
+            return new Entry(fingerprint, diagram, diagram.getGraph().getNodes().size());
+        });
+    }
+
+    /**
+     * Returns the diagram of the given substation, built if it is not cached for the working variant of the network
+     * or if the topology of one of its voltage levels changed since it was cached
+     */
+    public SubstationDiagram getSubstationDiagram(String substationId) {
+        Objects.requireNonNull(substationId);
+        Substation substation = network.getSubstation(substationId);
+        if (substation == null) {
+            throw new PowsyblException("Substation '" + substationId + "' not found !!");
+        }
+        Key key = new Key(substationId, network.getVariantManager().getWorkingVariantId(), true);
+        long fingerprint = FNV_OFFSET_BASIS;
+        for (VoltageLevel vl : substation.getVoltageLevels()) {
+            fingerprint = fingerprint(fingerprint, vl);
+        }
+        long substationFingerprint = fingerprint;
+        return (SubstationDiagram) get(key, substationFingerprint, () -> {
+            SubstationDiagram diagram = SubstationDiagram.build(graphBuilder, substationId, sLayoutFactory, vLayoutFactory, useName);
+            int nbNodes = diagram.getSubGraph().getNodes().stream().mapToInt(g -> g.getNodes().size()).sum();
+            return new Entry(substationFingerprint, diagram, nbNodes);
+        });
+    }
+
+    private Object get(Key key, long fingerprint, Supplier<Entry> builder) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.fingerprint == fingerprint) {
+                hitCount++;
+                return entry.diagram;
+            }
+            missCount++;
+        }
+
+        // built outside the lock, so that diagrams of different containers are built concurrently
+        LOGGER.debug("Building diagram of '{}' for variant '{}'", key.containerId, key.variantId);
+        Entry entry = builder.get();
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entry.weight;
+            evict();
+        }
+        return entry.diagram;
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext() && (entries.size() > maxSize || weight > maxWeight)) {
+            weight -= it.next().weight;
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes the diagrams of the given voltage level or substation, for all the variants
+     */
+    public synchronized void invalidate(String containerId) {
+        Objects.requireNonNull(containerId);
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().containerId.equals(containerId)) {
+                weight -= e.getValue().weight;
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total number of graph nodes of the cached diagrams
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of the requests served from the cache, or 0 if there was no request
+     */
+    public synchronized double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    private static long fingerprint(long hash, VoltageLevel vl) {
+        long h = mix(hash, vl.getId().hashCode());
+        boolean nodeBreaker = vl.getTopologyKind() == TopologyKind.NODE_BREAKER;
+        if (nodeBreaker) {
+            VoltageLevel.NodeBreakerView view = vl.getNodeBreakerView();
+            for (Switch sw : vl.getSwitches()) {
+                h = mix(h, sw.getId().hashCode());
+                h = mix(h, sw.isOpen() ? 1 : 0);
+                h = mix(h, view.getNode1(sw.getId()));
+                h = mix(h, view.getNode2(sw.getId()));
+            }
+            for (VoltageLevel.NodeBreakerView.InternalConnection internalConnection : view.getInternalConnections()) {
+                h = mix(h, internalConnection.getNode1());
+                h = mix(h, internalConnection.getNode2());
+            }
+        } else {
+            VoltageLevel.BusBreakerView view = vl.getBusBreakerView();
+            for (Bus bus : view.getBuses()) {
+                h = mix(h, bus.getId().hashCode());
+            }
+            for (Switch sw : vl.getSwitches()) {
+                h = mix(h, sw.getId().hashCode());
+                h = mix(h, sw.isOpen() ? 1 : 0);
+                h = mix(h, view.getBus1(sw.getId()).getId().hashCode());
+                h = mix(h, view.getBus2(sw.getId()).getId().hashCode());
+            }
+        }
+        for (Connectable<?> connectable : vl.getConnectables()) {
+            h = mix(h, connectable.getId().hashCode());
+            // where the terminals of the connectable are connected in the voltage level
+            for (Terminal terminal : connectable.getTerminals()) {
+                if (terminal.getVoltageLevel() == vl) {
+                    h = mix(h, nodeBreaker ? terminal.getNodeBreakerView().getNode()
+                            : terminal.getBusBreakerView().getConnectableBus().getId().hashCode());
+                }
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
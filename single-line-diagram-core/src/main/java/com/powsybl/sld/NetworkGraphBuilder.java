@@ -14,11 +14,16 @@ import com.powsybl.sld.iidm.extensions.BusbarSectionPosition;
 import com.powsybl.sld.iidm.extensions.ConnectablePosition;
 import com.powsybl.sld.model.*;
 import com.powsybl.sld.postprocessor.GraphBuildPostProcessor;
-import org.jgrapht.alg.connectivity.ConnectivityInspector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.powsybl.sld.library.ComponentTypeName.*;
@@ -66,6 +71,102 @@ public class NetworkGraphBuilder implements GraphBuilder {
         return !isInternalToSubstation(branch);
     }
 
+    /**
+     * Branches giving the snake edges of the voltage level and substation graphs, grouped by voltage level id and by
+     * substation id. The branches of a container are always taken from its own connectables, in their order, so that
+     * the graphs built in batch are the same as the graphs built one by one.
+     */
+    private static final class BranchIndex {
+
+        private final Map<String, List<Line>> linesByVoltageLevel = new HashMap<>();
+        private final Map<String, List<TwoWindingsTransformer>> twoWtsByVoltageLevel = new HashMap<>();
+        private final Map<String, List<ThreeWindingsTransformer>> threeWtsByVoltageLevel = new HashMap<>();
+        private final Map<String, List<Line>> linesBySubstation = new HashMap<>();
+        private final Map<String, List<TwoWindingsTransformer>> twoWtsBySubstation = new HashMap<>();
+        private final Map<String, List<ThreeWindingsTransformer>> threeWtsBySubstation = new HashMap<>();
+
+        /**
+         * Index of the branches internal to the given voltage level
+         */
+        private static BranchIndex of(VoltageLevel vl) {
+            return ofVoltageLevels(Collections.singletonList(vl));
+        }
+
+        /**
+         * Index of the branches internal to the given substation or to one of its voltage levels
+         */
+        private static BranchIndex of(Substation substation) {
+            return ofSubstations(Collections.singletonList(substation));
+        }
+
+        /**
+         * Index of the branches internal to one of the given voltage levels
+         */
+        private static BranchIndex ofVoltageLevels(Collection<VoltageLevel> voltageLevels) {
+            BranchIndex index = new BranchIndex();
+            voltageLevels.forEach(index::addVoltageLevel);
+            return index;
+        }
+
+        /**
+         * Index of the branches internal to one of the given substations or to one of their voltage levels
+         */
+        private static BranchIndex ofSubstations(Collection<Substation> substations) {
+            BranchIndex index = new BranchIndex();
+            substations.forEach(index::addSubstation);
+            return index;
+        }
+
+        private void addSubstation(Substation substation) {
+            List<Line> substationLines = new ArrayList<>();
+            substation.getVoltageLevelStream().forEach(vl -> addVoltageLevel(vl, substationLines));
+            linesBySubstation.put(substation.getId(), substationLines);
+            twoWtsBySubstation.put(substation.getId(), substation.getTwoWindingsTransformerStream()
+                    .filter(NetworkGraphBuilder::isNotInternalToVoltageLevel)
+                    .collect(Collectors.toList()));
+            threeWtsBySubstation.put(substation.getId(), substation.getThreeWindingsTransformerStream()
+                    .filter(NetworkGraphBuilder::isNotInternalToVoltageLevel)
+                    .collect(Collectors.toList()));
+        }
+
+        private void addVoltageLevel(VoltageLevel vl) {
+            addVoltageLevel(vl, null);
+        }
+
+        /**
+         * Index the branches internal to the given voltage level, and add to the given list, if any, the lines linking
+         * it to another voltage level of its substation, in a single pass over the connectables of the voltage level
+         */
+        private void addVoltageLevel(VoltageLevel vl, List<Line> substationLines) {
+            List<Line> lines = new ArrayList<>();
+            List<TwoWindingsTransformer> twoWts = new ArrayList<>();
+            List<ThreeWindingsTransformer> threeWts = new ArrayList<>();
+            vl.getConnectableStream().forEach(connectable -> {
+                if (connectable instanceof Line) {
+                    Line line = (Line) connectable;
+                    if (isInternalToVoltageLevel(line)) {
+                        lines.add(line);
+                    } else if (substationLines != null && isInternalToSubstation(line)) {
+                        substationLines.add(line);
+                    }
+                } else if (connectable instanceof TwoWindingsTransformer) {
+                    TwoWindingsTransformer twoWt = (TwoWindingsTransformer) connectable;
+                    if (isInternalToVoltageLevel(twoWt)) {
+                        twoWts.add(twoWt);
+                    }
+                } else if (connectable instanceof ThreeWindingsTransformer) {
+                    ThreeWindingsTransformer threeWt = (ThreeWindingsTransformer) connectable;
+                    if (isInternalToVoltageLevel(threeWt)) {
+                        threeWts.add(threeWt);
+                    }
+                }
+            });
+            linesByVoltageLevel.put(vl.getId(), lines);
+            twoWtsByVoltageLevel.put(vl.getId(), twoWts);
+            threeWtsByVoltageLevel.put(vl.getId(), threeWts);
+        }
+    }
+
     public VoltageLevelGraph buildVoltageLevelGraph(String id, boolean useName, boolean forVoltageLevelDiagram) {
         // get the voltageLevel from id
         VoltageLevel vl = network.getVoltageLevel(id);
@@ -74,13 +175,100 @@ public class NetworkGraphBuilder implements GraphBuilder {
         }
 
         // build the graph from the voltage level
-        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos(vl.getId(), vl.getName(), vl.getNominalV()), useName, forVoltageLevelDiagram);
-        buildGraph(graph, vl);
+        return buildVoltageLevelGraph(vl, useName, forVoltageLevelDiagram, BranchIndex.of(vl));
+    }
+
+    /**
+     * Build the graphs of all the voltage levels of the network
+     *
+     * @return the graphs indexed by voltage level id, in the order of the network voltage levels
+     */
+    public Map<String, VoltageLevelGraph> buildVoltageLevelGraphs(boolean useName, boolean forVoltageLevelDiagram) {
+        return buildVoltageLevelGraphs(vl -> true, useName, forVoltageLevelDiagram, false);
+    }
+
+    /**
+     * Build the graphs of the voltage levels of the network accepted by the filter. The graphs are the same as the ones
+     * built one by one with {@link #buildVoltageLevelGraph(String, boolean, boolean)}.
+     *
+     * @param parallel if true, the graphs are built concurrently: the network must not be modified in the meantime
+     * @return the graphs indexed by voltage level id, in the order of the network voltage levels
+     */
+    public Map<String, VoltageLevelGraph> buildVoltageLevelGraphs(Predicate<VoltageLevel> filter, boolean useName,
+                                                                  boolean forVoltageLevelDiagram, boolean parallel) {
+        Objects.requireNonNull(filter);
+        List<VoltageLevel> voltageLevels = network.getVoltageLevelStream().filter(filter).collect(Collectors.toList());
+        BranchIndex index = BranchIndex.ofVoltageLevels(voltageLevels);
+        List<VoltageLevelGraph> graphs = buildAll(voltageLevels, vl -> buildVoltageLevelGraph(vl, useName, forVoltageLevelDiagram, index), parallel);
+        Map<String, VoltageLevelGraph> graphsById = new LinkedHashMap<>();
+        graphs.forEach(graph -> graphsById.put(graph.getVoltageLevelInfos().getId(), graph));
+        return graphsById;
+    }
+
+    /**
+     * Build the graphs of all the substations of the network
+     *
+     * @return the graphs indexed by substation id, in the order of the network substations
+     */
+    public Map<String, SubstationGraph> buildSubstationGraphs(boolean useName) {
+        return buildSubstationGraphs(substation -> true, useName, false);
+    }
+
+    /**
+     * Build the graphs of the substations of the network accepted by the filter. The graphs are the same as the ones
+     * built one by one with {@link #buildSubstationGraph(String, boolean)}.
+     *
+     * @param parallel if true, the graphs are built concurrently: the network must not be modified in the meantime
+     * @return the graphs indexed by substation id, in the order of the network substations
+     */
+    public Map<String, SubstationGraph> buildSubstationGraphs(Predicate<Substation> filter, boolean useName, boolean parallel) {
+        Objects.requireNonNull(filter);
+        List<Substation> substations = network.getSubstationStream().filter(filter).collect(Collectors.toList());
+        BranchIndex index = BranchIndex.ofSubstations(substations);
+        List<SubstationGraph> graphs = buildAll(substations, substation -> buildSubstationGraph(substation, useName, index), parallel);
+        Map<String, SubstationGraph> graphsById = new LinkedHashMap<>();
+        graphs.forEach(graph -> graphsById.put(graph.getSubstationId(), graph));
+        return graphsById;
+    }
 
+    private <T, G> List<G> buildAll(List<T> containers, Function<T, G> builder, boolean parallel) {
+        if (!parallel) {
+            return containers.stream().map(builder).collect(Collectors.toList());
+        }
+        // the working variant is thread local when the multi-thread access is allowed: it is set on the threads of a
+        // dedicated executor, which end with the build, so that it does not leak into the tasks of a shared pool
+        VariantManager variantManager = network.getVariantManager();
+        String variantId = variantManager.getWorkingVariantId();
+        boolean variantPerThread = variantManager.isVariantMultiThreadAccessAllowed();
+        int nbThreads = Math.max(1, Math.min(containers.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<CompletableFuture<G>> futures = containers.stream()
+                    .map(container -> CompletableFuture.supplyAsync(() -> {
+                        if (variantPerThread) {
+                            variantManager.setWorkingVariant(variantId);
+                        }
+                        return builder.apply(container);
+                    }, executor))
+                    .collect(Collectors.toList());
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private VoltageLevelGraph buildVoltageLevelGraph(VoltageLevel vl, boolean useName, boolean forVoltageLevelDiagram, BranchIndex index) {
+        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos(vl.getId(), vl.getName(), vl.getNominalV()), useName, forVoltageLevelDiagram);
+        buildGraph(graph, vl, index);
         return graph;
     }
 
-    private void buildGraph(VoltageLevelGraph graph, VoltageLevel vl) {
+    private void buildGraph(VoltageLevelGraph graph, VoltageLevel vl, BranchIndex index) {
         LOGGER.info("Building '{}' graph...", vl.getId());
 
         switch (vl.getTopologyKind()) {
@@ -95,7 +283,7 @@ public class NetworkGraphBuilder implements GraphBuilder {
         }
 
         // Add snake edges in the same voltage level
-        addSnakeEdges(graph, vl);
+        addSnakeEdges(graph, vl, index);
 
         LOGGER.info("{} nodes, {} edges", graph.getNodes().size(), graph.getEdges().size());
 
@@ -104,20 +292,10 @@ public class NetworkGraphBuilder implements GraphBuilder {
         handleConnectedComponents(graph);
     }
 
-    private void addSnakeEdges(VoltageLevelGraph graph, VoltageLevel vl) {
-        addLineEdges(graph, vl.getConnectableStream(Line.class)
-                .filter(NetworkGraphBuilder::isInternalToVoltageLevel)
-                .collect(Collectors.toList()));
-
-        add2wtEdges(graph, vl.getConnectableStream(TwoWindingsTransformer.class)
-                .filter(NetworkGraphBuilder::isInternalToVoltageLevel)
-                .collect(Collectors.toList()));
-
-        add3wtEdges(graph, vl.getConnectableStream(ThreeWindingsTransformer.class)
-                .filter(t -> t.getLeg1().getTerminal().getVoltageLevel().getId().equals(t.getLeg2().getTerminal().getVoltageLevel().getId())
-                        && t.getLeg2().getTerminal().getVoltageLevel().getId().equals(t.getLeg3().getTerminal().getVoltageLevel().getId()))
-                .collect(Collectors.toList()));
-
+    private void addSnakeEdges(VoltageLevelGraph graph, VoltageLevel vl, BranchIndex index) {
+        addLineEdges(graph, index.linesByVoltageLevel.getOrDefault(vl.getId(), Collections.emptyList()));
+        add2wtEdges(graph, index.twoWtsByVoltageLevel.getOrDefault(vl.getId(), Collections.emptyList()));
+        add3wtEdges(graph, index.threeWtsByVoltageLevel.getOrDefault(vl.getId(), Collections.emptyList()));
     }
 
     public SubstationGraph buildSubstationGraph(String id, boolean useName) {
@@ -128,43 +306,30 @@ public class NetworkGraphBuilder implements GraphBuilder {
         }
 
         // build the substation graph from the substation
-        SubstationGraph graph = SubstationGraph.create(substation.getId());
-        buildSubstationGraph(graph, substation, useName);
-
-        return graph;
+        return buildSubstationGraph(substation, useName, BranchIndex.of(substation));
     }
 
-    private void buildSubstationGraph(SubstationGraph graph, Substation substation, boolean useName) {
+    private SubstationGraph buildSubstationGraph(Substation substation, boolean useName, BranchIndex index) {
+        SubstationGraph graph = SubstationGraph.create(substation.getId());
+
         // building the graph for each voltageLevel (ordered by descending voltageLevel nominalV)
         substation.getVoltageLevelStream()
                 .sorted(Comparator.comparing(VoltageLevel::getNominalV)
                         .reversed())
-                .forEach(v -> {
-                    VoltageLevelGraph vlGraph = VoltageLevelGraph.create(new VoltageLevelInfos(v.getId(), v.getName(), v.getNominalV()), useName, false);
-                    buildGraph(vlGraph, v);
-                    graph.addNode(vlGraph);
-                });
+                .forEach(v -> graph.addNode(buildVoltageLevelGraph(v, useName, false, index)));
 
         // Add snake edges between different voltageLevels in the same substation
-        addSnakeEdges(graph, substation);
+        addSnakeEdges(graph, substation, index);
 
         LOGGER.info("Number of node : {} ", graph.getNodes().size());
-    }
 
-    private void addSnakeEdges(SubstationGraph graph, Substation substation) {
-        addLineEdges(graph, substation.getVoltageLevelStream()
-                .flatMap(voltageLevel -> voltageLevel.getConnectableStream(Line.class))
-                .filter(NetworkGraphBuilder::isInternalToSubstation)
-                .filter(NetworkGraphBuilder::isNotInternalToVoltageLevel)
-                .collect(Collectors.toList()));
-
-        add2wtEdges(graph, substation.getTwoWindingsTransformerStream()
-                .filter(NetworkGraphBuilder::isNotInternalToVoltageLevel)
-                .collect(Collectors.toList()));
+        return graph;
+    }
 
-        add3wtEdges(graph, substation.getThreeWindingsTransformerStream()
-                .filter(NetworkGraphBuilder::isNotInternalToVoltageLevel)
-                .collect(Collectors.toList()));
+    private void addSnakeEdges(SubstationGraph graph, Substation substation, BranchIndex index) {
+        addLineEdges(graph, index.linesBySubstation.getOrDefault(substation.getId(), Collections.emptyList()));
+        add2wtEdges(graph, index.twoWtsBySubstation.getOrDefault(substation.getId(), Collections.emptyList()));
+        add3wtEdges(graph, index.threeWtsBySubstation.getOrDefault(substation.getId(), Collections.emptyList()));
     }
 
     private abstract static class AbstractGraphBuilder extends DefaultTopologyVisitor {
@@ -586,18 +751,18 @@ public class NetworkGraphBuilder implements GraphBuilder {
      * @return true if connected, false otherwise
      */
     private void handleConnectedComponents(VoltageLevelGraph graph) {
-        List<Set<Node>> connectedSets = new ConnectivityInspector<>(graph.toJgrapht()).connectedSets();
+        List<List<Node>> connectedSets = graph.getConnectivityIndex().getComponents();
         if (connectedSets.size() != 1) {
             LOGGER.warn("{} connected components found", connectedSets.size());
             connectedSets.stream()
-                    .sorted(Comparator.comparingInt(Set::size))
+                    .sorted(Comparator.comparingInt(List::size))
                     .map(setNodes -> setNodes.stream().map(Node::getId).collect(Collectors.toSet()))
                     .forEach(strings -> LOGGER.warn("   - {}", strings));
         }
         connectedSets.forEach(s -> ensureOneBusInConnectedComponent(graph, s));
     }
 
-    private void ensureOneBusInConnectedComponent(VoltageLevelGraph graph, Set<Node> nodes) {
+    private void ensureOneBusInConnectedComponent(VoltageLevelGraph graph, List<Node> nodes) {
         if (nodes.stream().anyMatch(node -> node.getType() == Node.NodeType.BUS)) {
             return;
         }
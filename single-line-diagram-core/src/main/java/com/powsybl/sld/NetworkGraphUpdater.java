@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.SubstationGraph;
+import com.powsybl.sld.model.SwitchNode;
+import com.powsybl.sld.model.VoltageLevelGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Keeps graphs built from a network up to date with the changes of the network, by listening to them.
+ * <p>
+ * The changes of switch states are patched in place on the switch nodes of the graphs, as they do not change the
+ * structure of the graphs; the connection and disconnection of the terminals of a node-breaker voltage level are
+ * changes of switch states. The other attribute changes, for instance of flows or voltages, do not change the graphs,
+ * and are only notified to the listeners so that the values of the diagrams can be refreshed. The creation or the
+ * removal of an equipment changes the structure of the graphs of its voltage levels: these graphs are invalidated, that
+ * is no longer updated, and have to be rebuilt and laid out again.
+ * <p>
+ * Only the changes of the working variant of the network at creation of the updater are taken into account. The
+ * graphs have to be registered once their diagrams are built, so that the fictitious switches inserted by the cell
+ * detection are updated too. The updater is not thread-safe: it is called by the thread modifying the network.
+ *
+ * @author agent <agent at local>
+ */
+public class NetworkGraphUpdater implements NetworkListener, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkGraphUpdater.class);
+
+    private static final String OPEN_ATTRIBUTE = "open";
+
+    public interface Listener {
+
+        /**
+         * Called when the state of a switch node of the graph has been patched: the layout of the graph is still
+         * valid, but the styles depending on the topology have to be computed again, the style providers caching
+         * them, as {@link com.powsybl.sld.util.TopologicalStyleProvider}, having to be reset with
+         * {@link com.powsybl.sld.svg.DiagramStyleProvider#reset()}
+         */
+        default void onSwitchStateChanged(VoltageLevelGraph graph, SwitchNode switchNode) {
+        }
+
+        /**
+         * Called when an attribute of an equipment of the graph voltage level changed, which does not change the graph
+         */
+        default void onValuesChanged(VoltageLevelGraph graph, String equipmentId, String attribute) {
+        }
+
+        /**
+         * Called when the graph is invalidated by a structural change of its voltage level
+         */
+        default void onGraphInvalidated(VoltageLevelGraph graph) {
+        }
+    }
+
+    private final Network network;
+
+    private final String variantId;
+
+    private final Map<String, List<VoltageLevelGraph>> graphsByVoltageLevel = new HashMap<>();
+
+    private final Map<String, List<VoltageLevelGraph>> graphsByEquipment = new HashMap<>();
+
+    private final Map<String, List<SwitchNode>> switchNodesById = new HashMap<>();
+
+    private final Set<VoltageLevelGraph> invalidatedGraphs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public NetworkGraphUpdater(Network network) {
+        this.network = Objects.requireNonNull(network);
+        this.variantId = network.getVariantManager().getWorkingVariantId();
+        network.addListener(this);
+    }
+
+    public NetworkGraphUpdater addListener(Listener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers the given graph, so that it is patched from the changes of its voltage level. Registering a graph
+     * again replaces its previous registration.
+     */
+    public NetworkGraphUpdater register(VoltageLevelGraph graph) {
+        Objects.requireNonNull(graph);
+        unregister(graph);
+        String voltageLevelId = graph.getVoltageLevelInfos().getId();
+        graphsByVoltageLevel.computeIfAbsent(voltageLevelId, k -> new ArrayList<>()).add(graph);
+        for (Node node : graph.getNodes()) {
+            if (node.getEquipmentId() != null) {
+                List<VoltageLevelGraph> graphs = graphsByEquipment.computeIfAbsent(node.getEquipmentId(), k -> new ArrayList<>());
+                if (graphs.stream().noneMatch(g -> g == graph)) {
+                    graphs.add(graph);
+                }
+            }
+            if (node instanceof SwitchNode && !node.isFictitious()) {
+                List<SwitchNode> switchNodes = switchNodesById.computeIfAbsent(node.getId(), k -> new ArrayList<>());
+                switchNodes.add((SwitchNode) node);
+                // the fictitious switches inserted between a switch and the buses it links have the same state
+                for (SwitchNode fictitiousSwitch : graph.getFictitiousSwitches((SwitchNode) node)) {
+                    if (graph.getNode(fictitiousSwitch.getId()) != fictitiousSwitch) {
+                        throw new IllegalStateException("Fictitious switch '" + fictitiousSwitch.getId() + "' of switch '"
+                                + node.getId() + "' not found in the graph");
+                    }
+                    switchNodes.add(fictitiousSwitch);
+                }
+            }
+        }
+        return this;
+    }
+
+    public NetworkGraphUpdater register(SubstationGraph graph) {
+        Objects.requireNonNull(graph).getNodes().forEach(this::register);
+        return this;
+    }
+
+    public void unregister(VoltageLevelGraph graph) {
+        List<VoltageLevelGraph> graphs = graphsByVoltageLevel.get(graph.getVoltageLevelInfos().getId());
+        if (graphs != null && graphs.removeIf(g -> g == graph)) {
+            invalidatedGraphs.remove(graph);
+            switchNodesById.values().forEach(switchNodes -> switchNodes.removeIf(n -> n.getGraph() == graph));
+            switchNodesById.values().removeIf(List::isEmpty);
+            graphsByEquipment.values().forEach(equipmentGraphs -> equipmentGraphs.removeIf(g -> g == graph));
+            graphsByEquipment.values().removeIf(List::isEmpty);
+            if (graphs.isEmpty()) {
+                graphsByVoltageLevel.remove(graph.getVoltageLevelInfos().getId());
+            }
+        }
+    }
+
+    /**
+     * Returns true if the graph has been invalidated by a structural change since it was registered
+     */
+    public boolean isInvalidated(VoltageLevelGraph graph) {
+        return invalidatedGraphs.contains(graph);
+    }
+
+    @Override
+    public void close() {
+        network.removeListener(this);
+    }
+
+    @Override
+    public void onCreation(Identifiable identifiable) {
+        invalidate(identifiable);
+    }
+
+    @Override
+    public void onRemoval(Identifiable identifiable) {
+        invalidate(identifiable);
+    }
+
+    @Override
+    public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+        update(identifiable, attribute, newValue);
+    }
+
+    @Override
+    public void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        if (this.variantId.equals(variantId)) {
+            update(identifiable, attribute, newValue);
+        }
+    }
+
+    private void update(Identifiable<?> identifiable, String attribute, Object newValue) {
+        if (identifiable instanceof Switch && OPEN_ATTRIBUTE.equals(attribute)) {
+            boolean open = (Boolean) newValue;
+            for (SwitchNode switchNode : switchNodesById.getOrDefault(identifiable.getId(), Collections.emptyList())) {
+                switchNode.setOpen(open);
+                listeners.forEach(l -> l.onSwitchStateChanged(switchNode.getGraph(), switchNode));
+            }
+        } else {
+            for (VoltageLevelGraph graph : getGraphs(identifiable)) {
+                listeners.forEach(l -> l.onValuesChanged(graph, identifiable.getId(), attribute));
+            }
+        }
+    }
+
+    private void invalidate(Identifiable<?> identifiable) {
+        for (VoltageLevelGraph graph : getGraphs(identifiable)) {
+            LOGGER.debug("Graph of voltage level '{}' invalidated by '{}'", graph.getVoltageLevelInfos().getId(), identifiable.getId());
+            unregister(graph);
+            invalidatedGraphs.add(graph);
+            listeners.forEach(l -> l.onGraphInvalidated(graph));
+        }
+    }
+
+    /**
+     * Returns the registered graphs containing the given identifiable, or the graphs of its voltage levels if it is
+     * not in any graph yet
+     */
+    private List<VoltageLevelGraph> getGraphs(Identifiable<?> identifiable) {
+        // a removed equipment is detached from its voltage levels, but is still in the graphs
+        List<VoltageLevelGraph> graphs = new ArrayList<>(graphsByEquipment.getOrDefault(identifiable.getId(), Collections.emptyList()));
+        for (VoltageLevel vl : getVoltageLevels(identifiable)) {
+            for (VoltageLevelGraph graph : graphsByVoltageLevel.getOrDefault(vl.getId(), Collections.emptyList())) {
+                if (graphs.stream().noneMatch(g -> g == graph)) {
+                    graphs.add(graph);
+                }
+            }
+        }
+        return graphs;
+    }
+
+    private static List<VoltageLevel> getVoltageLevels(Identifiable<?> identifiable) {
+        List<VoltageLevel> voltageLevels = new ArrayList<>();
+        if (identifiable instanceof Connectable) {
+            for (Terminal terminal : ((Connectable<?>) identifiable).getTerminals()) {
+                voltageLevels.add(terminal.getVoltageLevel());
+            }
+        } else if (identifiable instanceof Switch) {
+            voltageLevels.add(((Switch) identifiable).getVoltageLevel());
+        } else if (identifiable instanceof Bus) {
+            voltageLevels.add(((Bus) identifiable).getVoltageLevel());
+        }
+        voltageLevels.removeIf(Objects::isNull);
+        return voltageLevels;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld;
+
+import com.powsybl.sld.model.Node;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rotation angles of the nodes of a diagram, saved before its first write and restored before the next ones, as the
+ * SVG writer rotates some nodes while drawing them
+ *
+ * @author agent <agent at local>
+ */
+final class RotationAngles {
+
+    private final Map<Node, Double> angles = new IdentityHashMap<>();
+
+    RotationAngles(Stream<Node> nodes) {
+        nodes.forEach(node -> angles.put(node, node.getRotationAngle()));
+    }
+
+    void restore() {
+        angles.forEach(Node::setRotationAngle);
+    }
+}
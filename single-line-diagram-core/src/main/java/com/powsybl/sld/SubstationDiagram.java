@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -32,6 +33,8 @@ public final class SubstationDiagram {
 
     private final SubstationLayout subLayout;
 
+    private RotationAngles rotationAngles;
+
     private SubstationDiagram(SubstationGraph graph, SubstationLayout layout) {
         this.subGraph = Objects.requireNonNull(graph);
         this.subLayout = Objects.requireNonNull(layout);
@@ -95,7 +98,7 @@ public final class SubstationDiagram {
                 metadataWriter);
     }
 
-    public void writeSvg(String prefixId,
+    public synchronized void writeSvg(String prefixId,
                          SVGWriter writer,
                          DiagramLabelProvider initProvider,
                          DiagramStyleProvider styleProvider,
@@ -107,6 +110,15 @@ public final class SubstationDiagram {
 
         subLayout.run(writer.getLayoutParameters());
 
+        // the diagram can be written again, with the same result
+        if (rotationAngles == null) {
+            rotationAngles = new RotationAngles(Stream.concat(
+                    subGraph.getNodes().stream().flatMap(g -> Stream.concat(g.getNodes().stream(), g.getMultiTermNodes().stream())),
+                    subGraph.getMultiTermNodes().stream()));
+        } else {
+            rotationAngles.restore();
+        }
+
         // write SVG file
         LOGGER.info("Writing SVG and JSON metadata files...");
 
@@ -22,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * @author Benoit Jeanson <benoit.jeanson at rte-france.com>
@@ -37,6 +38,8 @@ public final class VoltageLevelDiagram {
 
     private final VoltageLevelLayout vlLayout;
 
+    private RotationAngles rotationAngles;
+
     private VoltageLevelDiagram(VoltageLevelGraph graph, VoltageLevelLayout layout) {
         this.graph = Objects.requireNonNull(graph);
         this.vlLayout = Objects.requireNonNull(layout);
@@ -91,7 +94,7 @@ public final class VoltageLevelDiagram {
         }
     }
 
-    public void writeSvg(String prefixId,
+    public synchronized void writeSvg(String prefixId,
                          SVGWriter writer,
                          DiagramLabelProvider initProvider,
                          DiagramStyleProvider styleProvider,
@@ -105,6 +108,13 @@ public final class VoltageLevelDiagram {
         // calculate coordinate
         vlLayout.run(writer.getLayoutParameters());
 
+        // the diagram can be written again, with the same result
+        if (rotationAngles == null) {
+            rotationAngles = new RotationAngles(Stream.concat(graph.getNodes().stream(), graph.getMultiTermNodes().stream()));
+        } else {
+            rotationAngles.restore();
+        }
+
         // write SVG file
         LOGGER.info("Writing SVG and JSON metadata files...");
 
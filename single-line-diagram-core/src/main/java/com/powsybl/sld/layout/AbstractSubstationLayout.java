@@ -10,7 +10,12 @@ import com.powsybl.sld.model.Coord;
 import com.powsybl.sld.model.VoltageLevelGraph;
 import com.powsybl.sld.model.SubstationGraph;
 
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import static com.powsybl.sld.model.Coord.Dimension.X;
 import static com.powsybl.sld.model.Coord.Dimension.Y;
@@ -23,29 +28,59 @@ public abstract class AbstractSubstationLayout extends AbstractLayout implements
 
     private final SubstationGraph graph;
     protected VoltageLevelLayoutFactory vLayoutFactory;
+    private final Executor executor;
+
+    // created at the first run, then reused: the cells of a voltage level graph are only detected once
+    private final Map<VoltageLevelGraph, VoltageLevelLayout> vLayouts = new ConcurrentHashMap<>();
 
     public AbstractSubstationLayout(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory) {
+        this(graph, vLayoutFactory, null);
+    }
+
+    /**
+     * @param executor executor used to lay out the voltage levels concurrently, or null to lay them out one after another
+     */
+    public AbstractSubstationLayout(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory, Executor executor) {
         this.graph = graph;
         this.vLayoutFactory = Objects.requireNonNull(vLayoutFactory);
+        this.executor = executor;
     }
 
     public SubstationGraph getGraph() {
         return graph;
     }
 
+    /**
+     * Lays out the voltage levels one after another, or concurrently if an executor was given. In the latter case the
+     * voltage level layouts are first created for all the voltage levels, then the voltage levels are placed in the
+     * substation, and finally the voltage level layouts are run: the size of a voltage level graph must therefore be
+     * known once its layout is created, see {@link VoltageLevelLayoutFactory#create}. The voltage level layouts are
+     * created at the first run only, so that the layout can be run again on the same graph.
+     */
     @Override
     public void run(LayoutParameters layoutParameters) {
+        List<VoltageLevelGraph> vlGraphs = getGraph().getNodes();
+        if (executor == null || vlGraphs.size() < 2) {
+            runSequentially(layoutParameters, vlGraphs);
+        } else {
+            runConcurrently(layoutParameters, vlGraphs);
+        }
+
+        // Calculate all the coordinates for the middle nodes and the snake lines between the voltageLevel graphs
+        manageSnakeLines(layoutParameters);
+    }
+
+    private void runSequentially(LayoutParameters layoutParameters, List<VoltageLevelGraph> vlGraphs) {
         // Calculate all the coordinates for the voltageLevel graphs in the substation graph
         double graphX = layoutParameters.getHorizontalSubstationPadding();
         double graphY = layoutParameters.getVerticalSubstationPadding();
 
-        for (VoltageLevelGraph vlGraph : getGraph().getNodes()) {
+        for (VoltageLevelGraph vlGraph : vlGraphs) {
             vlGraph.setX(graphX);
             vlGraph.setY(graphY);
 
             // Calculate the objects coordinates inside the voltageLevel graph
-            VoltageLevelLayout vLayout = vLayoutFactory.create(vlGraph);
-            vLayout.run(layoutParameters);
+            getVoltageLevelLayout(vlGraph).run(layoutParameters);
 
             // Calculate the global coordinate of the voltageLevel graph
             Coord posVLGraph = calculateCoordVoltageLevel(layoutParameters, vlGraph);
@@ -53,9 +88,61 @@ public abstract class AbstractSubstationLayout extends AbstractLayout implements
             graphX += posVLGraph.get(X) + getHorizontalSubstationPadding(layoutParameters);
             graphY += posVLGraph.get(Y) + getVerticalSubstationPadding(layoutParameters);
         }
+    }
 
-        // Calculate all the coordinates for the middle nodes and the snake lines between the voltageLevel graphs
-        manageSnakeLines(layoutParameters);
+    private void runConcurrently(LayoutParameters layoutParameters, List<VoltageLevelGraph> vlGraphs) {
+        // Detect the cells and organize the blocks of each voltageLevel graph
+        forEachVoltageLevel(vlGraphs, this::getVoltageLevelLayout);
+
+        // Calculate all the coordinates for the voltageLevel graphs in the substation graph, from the bus positions
+        // given by the block organization, as the objects coordinates inside a graph depend on its coordinates
+        double graphX = layoutParameters.getHorizontalSubstationPadding();
+        double graphY = layoutParameters.getVerticalSubstationPadding();
+        for (VoltageLevelGraph vlGraph : vlGraphs) {
+            vlGraph.setX(graphX);
+            vlGraph.setY(graphY);
+
+            // Calculate the global coordinate of the voltageLevel graph
+            Coord posVLGraph = calculateCoordVoltageLevel(layoutParameters, vlGraph);
+
+            graphX += posVLGraph.get(X) + getHorizontalSubstationPadding(layoutParameters);
+            graphY += posVLGraph.get(Y) + getVerticalSubstationPadding(layoutParameters);
+        }
+
+        // Calculate the objects coordinates inside the voltageLevel graphs
+        forEachVoltageLevel(vlGraphs, vlGraph -> vLayouts.get(vlGraph).run(layoutParameters));
+    }
+
+    private VoltageLevelLayout getVoltageLevelLayout(VoltageLevelGraph vlGraph) {
+        VoltageLevelLayout vLayout = vLayouts.get(vlGraph);
+        if (vLayout == null) {
+            // not computeIfAbsent, which would lock the other voltage levels of the same bin while detecting the cells
+            vLayout = vLayoutFactory.create(vlGraph);
+            vLayouts.put(vlGraph, vLayout);
+        }
+        return vLayout;
+    }
+
+    /**
+     * Apply the given action to each of the given voltageLevel graphs, concurrently if an executor was given.
+     * The action must only change the given voltageLevel graph.
+     */
+    protected void forEachVoltageLevel(Collection<VoltageLevelGraph> vlGraphs, Consumer<VoltageLevelGraph> action) {
+        if (executor == null || vlGraphs.size() < 2) {
+            vlGraphs.forEach(action);
+            return;
+        }
+        CompletableFuture<?>[] futures = vlGraphs.stream()
+                .map(vlGraph -> CompletableFuture.runAsync(() -> action.accept(vlGraph), executor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     protected abstract Coord calculateCoordVoltageLevel(LayoutParameters layoutParameters, VoltageLevelGraph vlGraph);
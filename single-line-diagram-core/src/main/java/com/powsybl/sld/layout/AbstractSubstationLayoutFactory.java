@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.layout;
+
+import java.util.concurrent.Executor;
+
+/**
+ * @author agent <agent at local>
+ */
+public abstract class AbstractSubstationLayoutFactory implements SubstationLayoutFactory {
+
+    private Executor executor;
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the executor used by the created layouts to lay out concurrently the voltage levels of the substation, for
+     * instance a {@link java.util.concurrent.ForkJoinPool}. If none, which is the default, the voltage levels are laid
+     * out one after another. With an executor, the voltage level layout factory has to give the size of the graphs
+     * when creating their layouts, see {@link VoltageLevelLayoutFactory#create}.
+     */
+    public AbstractSubstationLayoutFactory setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+}
@@ -8,8 +8,7 @@ package com.powsybl.sld.layout;
 
 import com.powsybl.sld.model.VoltageLevelGraph;
 import com.powsybl.sld.model.Node;
-
-import java.util.List;
+import com.powsybl.sld.model.Polyline;
 
 /**
  * @author Slimane Amar <slimane.amar at rte-france.com>
@@ -27,8 +26,8 @@ public abstract class AbstractVoltageLevelLayout extends AbstractLayout implemen
     }
 
     @Override
-    protected List<Double> calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2,
-                                                      InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
+    protected Polyline calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2,
+                                                  InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
         return calculatePolylineSnakeLineForHorizontalLayout(layoutParam, node1, node2, infosNbSnakeLines, increment);
     }
 
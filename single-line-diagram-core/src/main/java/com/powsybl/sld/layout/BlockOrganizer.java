@@ -13,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.powsybl.sld.model.Block.Extremity.*;
 import static com.powsybl.sld.model.Cell.CellType.*;
@@ -66,18 +67,24 @@ public class BlockOrganizer {
      */
     public void organize(VoltageLevelGraph graph) {
         LOGGER.info("Organizing graph cells into blocks");
-        graph.getCells().stream()
+        List<BusCell> busCells = graph.getCells().stream()
                 .filter(cell -> cell.getType().isBusCell())
                 .map(BusCell.class::cast)
-                .forEach(cell -> {
-                    CellBlockDecomposer.determineBlocks(cell, exceptionIfPatternNotHandled);
-                    if (cell.getType() == INTERN) {
-                        ((InternCell) cell).organizeBlocks();
-                    }
-                });
+                .collect(Collectors.toList());
+
+        // the topology changes are done before taking the snapshot on which the blocks are determined
+        busCells.forEach(CellBlockDecomposer::extendSingleSwitchInternCell);
+        VoltageLevelGraphSnapshot snapshot = graph.createSnapshot();
+
+        busCells.forEach(cell -> {
+            CellBlockDecomposer.determineBlocks(cell, snapshot, exceptionIfPatternNotHandled);
+            if (cell.getType() == INTERN) {
+                ((InternCell) cell).organizeBlocks();
+            }
+        });
         graph.getCells().stream()
                 .filter(cell -> cell.getType() == SHUNT)
-                .forEach(cell -> CellBlockDecomposer.determineBlocks(cell, exceptionIfPatternNotHandled));
+                .forEach(cell -> CellBlockDecomposer.determineBlocks(cell, snapshot, exceptionIfPatternNotHandled));
 
         if (stack) {
             determineStackableBlocks(graph);
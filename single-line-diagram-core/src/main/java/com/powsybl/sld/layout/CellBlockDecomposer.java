@@ -12,9 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -35,18 +34,23 @@ final class CellBlockDecomposer {
      * Search BlockPrimary and build Block hierarchy by merging blocks together; also
      * list blocks connected to busbar
      *
-     * @param cell Cell we are working on
+     * @param cell     Cell we are working on
+     * @param snapshot snapshot of the graph from which the cell topology is read, which must have been created after
+     *                 calling {@link #extendSingleSwitchInternCell} on the cell
      */
-
-    static void determineBlocks(Cell cell, boolean exceptionIfPatternNotHandled) {
+    static void determineBlocks(Cell cell, VoltageLevelGraphSnapshot snapshot, boolean exceptionIfPatternNotHandled) {
         if (cell.getType() == Cell.CellType.SHUNT) {
             determineShuntCellBlocks((ShuntCell) cell);
         } else {
-            determineBusCellBlocks((BusCell) cell, exceptionIfPatternNotHandled);
+            determineComplexCell((BusCell) cell, snapshot, exceptionIfPatternNotHandled);
         }
     }
 
-    private static void determineBusCellBlocks(BusCell busCell, boolean exceptionIfPatternNotHandled) {
+    /**
+     * Extend the intern cells made of a single switch between two buses, so that their blocks can be determined: this
+     * changes the topology of the graph.
+     */
+    static void extendSingleSwitchInternCell(BusCell busCell) {
         if (busCell.getType() == Cell.CellType.INTERN && busCell.getNodes().size() == 3) {
             SwitchNode switchNode = (SwitchNode) busCell.getNodes().get(1);
             busCell.getGraph().extendSwitchBetweenBus(switchNode);
@@ -57,7 +61,6 @@ final class CellBlockDecomposer {
                     .filter(node -> node != switchNode)
                     .collect(Collectors.toList()));
         }
-        determineComplexCell(busCell, exceptionIfPatternNotHandled);
     }
 
     private static void determineShuntCellBlocks(ShuntCell shuntCell) {
@@ -65,18 +68,20 @@ final class CellBlockDecomposer {
         shuntCell.setRootBlock(bpy);
     }
 
-    private static void determineComplexCell(BusCell busCell, boolean exceptionIfPatternNotHandled) {
-        List<Block> blocks = createPrimaryBlock(busCell);
+    private static void determineComplexCell(BusCell busCell, VoltageLevelGraphSnapshot snapshot, boolean exceptionIfPatternNotHandled) {
+        List<Block> blocks = createPrimaryBlock(busCell, snapshot);
         mergeBlocks(busCell, blocks, exceptionIfPatternNotHandled);
     }
 
-    private static List<Block> createPrimaryBlock(BusCell busCell) {
-        Set<Node> alreadyTreated = new HashSet<>();
+    private static List<Block> createPrimaryBlock(BusCell busCell, VoltageLevelGraphSnapshot snapshot) {
+        BitSet cellNodes = new BitSet(snapshot.getNodeCount());
+        busCell.getNodes().forEach(node -> cellNodes.set(snapshot.getNodeId(node)));
+        BitSet alreadyTreated = new BitSet(snapshot.getNodeCount());
         List<Block> blocks = new ArrayList<>();
-        Node currentNode = busCell.getBusNodes().get(0);
+        int currentNode = snapshot.getNodeId(busCell.getBusNodes().get(0));
 
         // Search all primary blocks
-        rElaboratePrimaryBlocks(busCell, currentNode, alreadyTreated, blocks);
+        rElaboratePrimaryBlocks(busCell, snapshot, cellNodes, currentNode, alreadyTreated, blocks);
 
         return blocks;
     }
@@ -213,51 +218,52 @@ final class CellBlockDecomposer {
      * feeder): FICTITIOUS - FEEDER.
      * Otherwise it is instantiated as BodyPrimaryBlock.
      * @param busCell         the busCell on which we elaborate primary blocks
-     * @param firstNode       first node for the primary block (non-switch node)
-     * @param alreadyTreated  set of already treated nodes (we always check the second element of the primary pattern)
+     * @param snapshot        the snapshot of the graph containing the busCell nodes
+     * @param cellNodes       the ids of the busCell nodes in the snapshot
+     * @param firstNode       id of the first node for the primary block (non-switch node)
+     * @param alreadyTreated  ids of already treated nodes (we always check the second element of the primary pattern)
      * @param blocks          the list of elaborated primary blocks
      */
-    private static void rElaboratePrimaryBlocks(BusCell busCell, Node firstNode,
-                                                Set<Node> alreadyTreated, List<Block> blocks) {
-
-        firstNode.getListNodeAdjInCell(busCell).forEach(node2 -> {
-
-            if (!alreadyTreated.contains(node2)) {
+    private static void rElaboratePrimaryBlocks(BusCell busCell, VoltageLevelGraphSnapshot snapshot, BitSet cellNodes,
+                                                int firstNode, BitSet alreadyTreated, List<Block> blocks) {
 
-                // Piling up switches starting from node2
-                List<SwitchNode> switches = new ArrayList<>();
-                Node currentNode = node2;
-                Node parentCurrentNode = firstNode;
-                while (currentNode instanceof SwitchNode) {
-                    switches.add((SwitchNode) currentNode);
-                    List<Node> adjacentNodes = currentNode.getAdjacentNodes();
-                    Node nextNode = adjacentNodes.get(adjacentNodes.get(0).equals(parentCurrentNode) ? 1 : 0);
-                    parentCurrentNode = currentNode;
-                    currentNode = nextNode;
-                }
-                Node lastNode = currentNode; // first non-switch node (corresponds to node2 if node2 is not a switch)
+        for (int k = snapshot.getNeighboursStart(firstNode); k < snapshot.getNeighboursEnd(firstNode); k++) {
+            int node2 = snapshot.getNeighbour(k);
+            if (!cellNodes.get(node2) || alreadyTreated.get(node2)) {
+                continue;
+            }
 
-                // The nodes pattern for a PrimaryBlock
-                List<Node> primaryPattern = new ArrayList<>();
-                primaryPattern.add(firstNode);   // BUS|FICTITIOUS|FEEDER|SHUNT
-                primaryPattern.addAll(switches); // n * SWITCH (with n >= 0)
-                primaryPattern.add(lastNode);    // BUS|FICTITIOUS|FEEDER|SHUNT
+            // Piling up switches starting from node2, which are marked as already treated on the way
+            List<Node> primaryPattern = new ArrayList<>();
+            primaryPattern.add(snapshot.getNode(firstNode)); // BUS|FICTITIOUS|FEEDER|SHUNT
+            int currentNode = node2;
+            int parentCurrentNode = firstNode;
+            while (snapshot.getType(currentNode) == Node.NodeType.SWITCH) {
+                primaryPattern.add(snapshot.getNode(currentNode)); // n * SWITCH (with n >= 0)
+                alreadyTreated.set(currentNode);
+                int start = snapshot.getNeighboursStart(currentNode);
+                int nextNode = snapshot.getNeighbour(snapshot.getNeighbour(start) == parentCurrentNode ? start + 1 : start);
+                parentCurrentNode = currentNode;
+                currentNode = nextNode;
+            }
+            int lastNode = currentNode; // first non-switch node (corresponds to node2 if node2 is not a switch)
+            primaryPattern.add(snapshot.getNode(lastNode)); // BUS|FICTITIOUS|FEEDER|SHUNT
 
-                // Create a PrimaryBlock from that pattern
-                PrimaryBlock primaryBlock = AbstractPrimaryBlock.createPrimaryBlock(primaryPattern, busCell);
-                blocks.add(primaryBlock);
+            // Create a PrimaryBlock from that pattern
+            PrimaryBlock primaryBlock = AbstractPrimaryBlock.createPrimaryBlock(primaryPattern, busCell);
+            blocks.add(primaryBlock);
 
-                // Update already treated nodes
-                // We also consider firstNode as alreadyTreated: we do not want to come back to it as the search started from it
-                alreadyTreated.addAll(primaryPattern);
+            // Update already treated nodes
+            // We also consider firstNode as alreadyTreated: we do not want to come back to it as the search started from it
+            alreadyTreated.set(firstNode);
+            alreadyTreated.set(lastNode);
 
-                // Continue to search for other blocks
-                if (lastNode.getType() != Node.NodeType.BUS) {
-                    // If we reach a busbar, we know we do not need to go further:
-                    // we're either in another BusCell or back to the busbar we started the search with
-                    rElaboratePrimaryBlocks(busCell, lastNode, alreadyTreated, blocks);
-                }
+            // Continue to search for other blocks
+            if (snapshot.getType(lastNode) != Node.NodeType.BUS) {
+                // If we reach a busbar, we know we do not need to go further:
+                // we're either in another BusCell or back to the busbar we started the search with
+                rElaboratePrimaryBlocks(busCell, snapshot, cellNodes, lastNode, alreadyTreated, blocks);
             }
-        });
+        }
     }
 }
@@ -12,6 +12,9 @@ import com.powsybl.sld.model.*;
 import org.jgrapht.Graph;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -23,6 +26,7 @@ import static com.powsybl.sld.model.Coord.Dimension.Y;
  */
 public class ForceSubstationLayout extends AbstractSubstationLayout {
     private ForceSubstationLayoutFactory.CompactionType compactionType;
+    private final Consumer<ForceLayout<VoltageLevelGraph, Object>> forceLayoutConfigurer;
 
     public static class ForceInfoCalcPoints extends InfoCalcPoints {
         private String vId1;
@@ -66,8 +70,28 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
     public ForceSubstationLayout(SubstationGraph substationGraph,
                                  VoltageLevelLayoutFactory voltageLevelLayoutFactory,
                                  ForceSubstationLayoutFactory.CompactionType compactionType) {
-        super(substationGraph, voltageLevelLayoutFactory);
+        this(substationGraph, voltageLevelLayoutFactory, compactionType, null);
+    }
+
+    public ForceSubstationLayout(SubstationGraph substationGraph,
+                                 VoltageLevelLayoutFactory voltageLevelLayoutFactory,
+                                 ForceSubstationLayoutFactory.CompactionType compactionType,
+                                 Executor executor) {
+        this(substationGraph, voltageLevelLayoutFactory, compactionType, executor, forceLayout -> { });
+    }
+
+    /**
+     * @param forceLayoutConfigurer applied to the force layout of the voltage levels before executing it, for instance
+     *                              to bound its duration
+     */
+    public ForceSubstationLayout(SubstationGraph substationGraph,
+                                 VoltageLevelLayoutFactory voltageLevelLayoutFactory,
+                                 ForceSubstationLayoutFactory.CompactionType compactionType,
+                                 Executor executor,
+                                 Consumer<ForceLayout<VoltageLevelGraph, Object>> forceLayoutConfigurer) {
+        super(substationGraph, voltageLevelLayoutFactory, executor);
         this.compactionType = compactionType;
+        this.forceLayoutConfigurer = Objects.requireNonNull(forceLayoutConfigurer);
     }
 
     @Override
@@ -77,6 +101,7 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
         // Executing force layout algorithm
         ForceLayout<VoltageLevelGraph, Object> forceLayout = new ForceLayout<>(graph);
+        forceLayoutConfigurer.accept(forceLayout);
         forceLayout.execute();
 
         // Memorizing the voltage levels coordinates calculated by the force layout algorithm
@@ -87,10 +112,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
         }
 
         // Creating and applying the voltage levels layout with these coordinates
-        Map<VoltageLevelGraph, VoltageLevelLayout> graphsLayouts = new HashMap<>();
-        coordsVoltageLevels.entrySet().stream().forEach(e -> {
-            VoltageLevelLayout vlLayout = vLayoutFactory.create(e.getKey());
-            graphsLayouts.put(e.getKey(), vlLayout);
+        Map<VoltageLevelGraph, VoltageLevelLayout> graphsLayouts = new ConcurrentHashMap<>();
+        forEachVoltageLevel(coordsVoltageLevels.keySet(), g -> {
+            VoltageLevelLayout vlLayout = vLayoutFactory.create(g);
+            graphsLayouts.put(g, vlLayout);
             vlLayout.run(layoutParameters);
         });
 
@@ -141,7 +166,7 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
         // Finally, running the voltage levels layout a second time with the new adapted voltage levels coordinates
         // (here, we keep the cells and blocks already detected before, and we only recompute the nodes coordinates)
-        coordsVoltageLevels.keySet().stream().forEach(g -> {
+        forEachVoltageLevel(coordsVoltageLevels.keySet(), g -> {
             g.resetCoords();
             graphsLayouts.get(g).run(layoutParameters);
         });
@@ -166,15 +191,15 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
             List<Edge> adjacentEdges = multiNode.getAdjacentEdges();
             List<Node> adjacentNodes = multiNode.getAdjacentNodes();
             if (adjacentNodes.size() == 2) {
-                List<Double> pol = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(0), adjacentNodes.get(1), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
+                Polyline pol = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(0), adjacentNodes.get(1), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
                 Coord coordNodeFict = new Coord(-1, -1);
                 ((TwtEdge) adjacentEdges.get(0)).setSnakeLine(splitPolyline2(pol, 1, coordNodeFict));
                 ((TwtEdge) adjacentEdges.get(1)).setSnakeLine(splitPolyline2(pol, 2, null));
                 multiNode.setX(coordNodeFict.get(X), false);
                 multiNode.setY(coordNodeFict.get(Y), false);
             } else if (adjacentNodes.size() == 3) {
-                List<Double> pol1 = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(0), adjacentNodes.get(1), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
-                List<Double> pol2 = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(1), adjacentNodes.get(2), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
+                Polyline pol1 = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(0), adjacentNodes.get(1), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
+                Polyline pol2 = calculatePolylineSnakeLine(layoutParameters, adjacentNodes.get(1), adjacentNodes.get(2), nbSnakeLinesTopBottom, nbSnakeLinesBetween);
                 Coord coordNodeFict = new Coord(-1, -1);
                 ((TwtEdge) adjacentEdges.get(0)).setSnakeLine(splitPolyline3(pol1, pol2, 1, coordNodeFict));
                 ((TwtEdge) adjacentEdges.get(1)).setSnakeLine(splitPolyline3(pol1, pol2, 2, null));
@@ -191,10 +216,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
     }
 
-    private List<Double> calculatePolylineSnakeLine(LayoutParameters layoutParameters,
-                                                    Node node1, Node node2,
-                                                    Map<String, Map<BusCell.Direction, Integer>> nbSnakeLinesTopBottom,
-                                                    Map<String, Integer> nbSnakeLinesBetween) {
+    private Polyline calculatePolylineSnakeLine(LayoutParameters layoutParameters,
+                                                Node node1, Node node2,
+                                                Map<String, Map<BusCell.Direction, Integer>> nbSnakeLinesTopBottom,
+                                                Map<String, Integer> nbSnakeLinesBetween) {
         ForceInfoCalcPoints info = new ForceInfoCalcPoints();
         info.setLayoutParam(layoutParameters);
         info.setVId1(node1.getGraph().getVoltageLevelInfos().getId());
@@ -215,8 +240,8 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
         return calculatePolylinePoints(info);
     }
 
-    public static List<Double> calculatePolylinePoints(ForceInfoCalcPoints info) {
-        List<Double> pol = new ArrayList<>();
+    public static Polyline calculatePolylinePoints(ForceInfoCalcPoints info) {
+        Polyline pol = new Polyline();
 
         LayoutParameters layoutParam = info.getLayoutParam();
         BusCell.Direction dNode1 = info.getdNode1();
@@ -244,10 +269,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
                     double yDecal = Math.max(initY1 + decalV1, initY2 + decalV2);
 
-                    pol.addAll(Arrays.asList(x1, y1,
-                            x1, yDecal,
-                            x2, yDecal,
-                            x2, y2));
+                    pol.append(x1, y1)
+                            .append(x1, yDecal)
+                            .append(x2, yDecal)
+                            .append(x2, y2);
                 } else {  // BOTTOM to TOP
                     if (y1 < y2) {
                         nbSnakeLinesTopBottom.get(vId1).compute(dNode1, (k, v) -> v + 1);
@@ -257,10 +282,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
                         double yDecal = Math.max(initY1 + decalV1, initY2 - decalV2);
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, yDecal,
-                                x2, yDecal,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, yDecal)
+                                .append(x2, yDecal)
+                                .append(x2, y2);
                     } else {
                         nbSnakeLinesTopBottom.get(vId1).compute(dNode1, (k, v) -> v + 1);
                         nbSnakeLinesTopBottom.get(vId2).compute(dNode2, (k, v) -> v + 1);
@@ -270,12 +295,12 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
                         double decalV2 = nbSnakeLinesTopBottom.get(vId2).get(dNode2) * layoutParam.getVerticalSnakeLinePadding();
                         double xBetweenGraph = xMaxGraph - (nbSnakeLinesBetween.get(idMaxGraph) * layoutParam.getHorizontalSnakeLinePadding());
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, initY1 + decalV1,
-                                xBetweenGraph, initY1 + decalV1,
-                                xBetweenGraph, initY2 - decalV2,
-                                x2, initY2 - decalV2,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, initY1 + decalV1)
+                                .append(xBetweenGraph, initY1 + decalV1)
+                                .append(xBetweenGraph, initY2 - decalV2)
+                                .append(x2, initY2 - decalV2)
+                                .append(x2, y2);
                     }
                 }
                 break;
@@ -289,10 +314,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
                     double yDecal = Math.min(initY1 - decalV1, initY2 - decalV2);
 
-                    pol.addAll(Arrays.asList(x1, y1,
-                            x1, yDecal,
-                            x2, yDecal,
-                            x2, y2));
+                    pol.append(x1, y1)
+                            .append(x1, yDecal)
+                            .append(x2, yDecal)
+                            .append(x2, y2);
                 } else {  // TOP to BOTTOM
                     if (y1 > y2) {
                         nbSnakeLinesTopBottom.get(vId1).compute(dNode1, (k, v) -> v + 1);
@@ -302,10 +327,10 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
                         double yDecal = Math.min(initY1 - decalV1, initY2 + decalV2);
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, yDecal,
-                                x2, yDecal,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, yDecal)
+                                .append(x2, yDecal)
+                                .append(x2, y2);
                     } else {
                         nbSnakeLinesTopBottom.get(vId1).compute(dNode1, (k, v) -> v + 1);
                         nbSnakeLinesTopBottom.get(vId2).compute(dNode2, (k, v) -> v + 1);
@@ -315,12 +340,12 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
 
                         double xBetweenGraph = xMaxGraph - (nbSnakeLinesBetween.get(idMaxGraph) * layoutParam.getHorizontalSnakeLinePadding());
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, initY1 - decalV1,
-                                xBetweenGraph, initY1 - decalV1,
-                                xBetweenGraph, initY2 + decalV2,
-                                x2, initY2 + decalV2,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, initY1 - decalV1)
+                                .append(xBetweenGraph, initY1 - decalV1)
+                                .append(xBetweenGraph, initY2 + decalV2)
+                                .append(x2, initY2 + decalV2)
+                                .append(x2, y2);
                     }
                 }
                 break;
@@ -330,24 +355,25 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
     }
 
     @Override
-    protected List<Double> splitPolyline3(List<Double> pol1, List<Double> pol2, int numPart, Coord coord) {
-        List<Double> res = new ArrayList<>();
+    protected Polyline splitPolyline3(Polyline pol1, Polyline pol2, int numPart, Coord coord) {
+        Polyline res;
 
         if (numPart == 1 || numPart == 2) {
             res = super.splitPolyline3(pol1, pol2, numPart, coord);
         } else {
+            int nbPoints1 = pol1.getPointCount();
+            int nbPoints2 = pol2.getPointCount();
+            res = new Polyline();
             // the third new edge now begins with the fictitious node point
-            res.add(pol1.get(pol1.size() - 4));
-            res.add(pol1.get(pol1.size() - 3));
+            res.append(pol1.getX(nbPoints1 - 2), pol1.getY(nbPoints1 - 2));
             // then we add an intermediate point with the absciss of the third point in the original second polyline
             // and the ordinate of the fictitious node
-            res.add(pol2.get(4));
-            res.add(pol1.get(pol1.size() - 3));
+            res.append(pol2.getX(2), pol1.getY(nbPoints1 - 2));
             // then we had the last three or two points of the original second polyline
-            if (pol2.size() > 8) {
-                res.addAll(pol2.subList(pol2.size() - 6, pol2.size()));
+            if (nbPoints2 > 4) {
+                res.append(pol2, nbPoints2 - 3, nbPoints2);
             } else {
-                res.addAll(pol2.subList(pol2.size() - 2, pol2.size()));
+                res.append(pol2, nbPoints2 - 1, nbPoints2);
             }
         }
 
@@ -355,9 +381,9 @@ public class ForceSubstationLayout extends AbstractSubstationLayout {
     }
 
     @Override
-    protected List<Double> calculatePolylineSnakeLine(LayoutParameters layoutParameters, Node node1, Node node2,
-                                                      InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
-        return Collections.emptyList();
+    protected Polyline calculatePolylineSnakeLine(LayoutParameters layoutParameters, Node node1, Node node2,
+                                                  InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
+        return new Polyline();
     }
 
     @Override
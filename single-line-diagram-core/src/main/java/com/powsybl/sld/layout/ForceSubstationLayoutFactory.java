@@ -6,12 +6,17 @@
  */
 package com.powsybl.sld.layout;
 
+import com.powsybl.sld.force.layout.ForceLayout;
 import com.powsybl.sld.model.SubstationGraph;
+import com.powsybl.sld.model.VoltageLevelGraph;
+
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
-public class ForceSubstationLayoutFactory implements SubstationLayoutFactory {
+public class ForceSubstationLayoutFactory extends AbstractSubstationLayoutFactory {
 
     public enum CompactionType {
         NONE,
@@ -20,13 +25,23 @@ public class ForceSubstationLayoutFactory implements SubstationLayoutFactory {
     }
 
     private CompactionType compactionType;
+    private Consumer<ForceLayout<VoltageLevelGraph, Object>> forceLayoutConfigurer = forceLayout -> { };
 
     public ForceSubstationLayoutFactory(CompactionType compactionType) {
         this.compactionType = compactionType;
     }
 
+    /**
+     * Set the configuration applied to the force layout of the voltage levels, for instance its maximum duration or
+     * its adaptive cooling
+     */
+    public ForceSubstationLayoutFactory setForceLayoutConfigurer(Consumer<ForceLayout<VoltageLevelGraph, Object>> forceLayoutConfigurer) {
+        this.forceLayoutConfigurer = Objects.requireNonNull(forceLayoutConfigurer);
+        return this;
+    }
+
     @Override
     public SubstationLayout create(SubstationGraph substationGraph, VoltageLevelLayoutFactory vLayoutFactory) {
-        return new ForceSubstationLayout(substationGraph, vLayoutFactory, compactionType);
+        return new ForceSubstationLayout(substationGraph, vLayoutFactory, compactionType, getExecutor(), forceLayoutConfigurer);
     }
 }
@@ -7,18 +7,85 @@
 package com.powsybl.sld.layout;
 
 import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.VoltageLevelGraphSnapshot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
+ * Depth-first traversal of the nodes of a graph, which cannot go through a set of outside nodes.
+ * <p>
+ * The nodes are given dense indices, so that the outside nodes and the nodes already reached are kept in bitsets, and
+ * the traversal is iterative, so that it does not depend on the size of the stack. A traversal instance keeps its
+ * outside nodes from one run to the next, which avoids copying them for each run. It is not thread-safe.
+ * <p>
+ * When created from a {@link VoltageLevelGraphSnapshot}, the traversal uses the node ids and the adjacency arrays of
+ * the snapshot instead of indexing the nodes and walking their edges.
+ *
  * @author Benoit Jeanson <benoit.jeanson at rte-france.com>
  */
 public final class GraphTraversal {
 
-    private GraphTraversal() {
+    private final VoltageLevelGraphSnapshot snapshot;
+
+    // nodes indices when there is no snapshot
+    private final Map<Node, Integer> nodeIndexes = new HashMap<>();
+
+    private final BitSet outsideNodes = new BitSet();
+
+    // nodes added to the result of the current run
+    private final BitSet resultNodes = new BitSet();
+
+    // nodes to visit of all the frames of the depth-first search, stacked
+    private final List<Node> nodesToVisit = new ArrayList<>();
+
+    // for each frame of the depth-first search, its first node to visit in nodesToVisit, then the next one
+    private int[] frameStarts = new int[16];
+    private int[] frameNexts = new int[16];
+
+    public GraphTraversal() {
+        this.snapshot = null;
+    }
+
+    /**
+     * @param nodes the nodes to index beforehand, the other nodes being indexed as they are reached
+     */
+    public GraphTraversal(Collection<Node> nodes) {
+        this.snapshot = null;
+        nodes.forEach(this::getIndex);
+    }
+
+    /**
+     * @param snapshot the snapshot of the graph to traverse, which must contain all the nodes given to this traversal
+     */
+    public GraphTraversal(VoltageLevelGraphSnapshot snapshot) {
+        this.snapshot = Objects.requireNonNull(snapshot);
+    }
+
+    public GraphTraversal addOutsideNode(Node node) {
+        outsideNodes.set(getIndex(node));
+        return this;
+    }
+
+    public GraphTraversal addOutsideNodes(Collection<? extends Node> nodes) {
+        nodes.forEach(this::addOutsideNode);
+        return this;
+    }
+
+    public GraphTraversal removeOutsideNode(Node node) {
+        outsideNodes.clear(getIndex(node));
+        return this;
+    }
+
+    public boolean isOutside(Node node) {
+        return outsideNodes.get(getIndex(node));
     }
 
     /**
@@ -26,44 +93,131 @@ public final class GraphTraversal {
      * @param extremityCriteria    criteria applied to node returning if we reach an extremity node (the node is included in the result)
      * @param unsuccessfulCriteria criteria applied to node returning if the traversal is to be invalidated
      * @param nodesResult          the resulting list of nodes
-     * @param outsideNodes         nodes already visited
      * @return true if no unsuccessfulCriteria reached or node outside
      **/
+    public boolean traverse(Node node,
+                            Predicate<Node> extremityCriteria,
+                            Predicate<Node> unsuccessfulCriteria,
+                            List<Node> nodesResult) {
+        nodesResult.forEach(n -> resultNodes.set(getIndex(n)));
+        try {
+            return depthFirstSearch(node, extremityCriteria, unsuccessfulCriteria, nodesResult);
+        } finally {
+            nodesResult.forEach(n -> resultNodes.clear(getIndex(n)));
+            nodesToVisit.clear();
+        }
+    }
 
-    static boolean run(Node node,
-                       Predicate<Node> extremityCriteria,
-                       Predicate<Node> unsuccessfulCriteria,
-                       List<Node> nodesResult,
-                       List<Node> outsideNodes) {
+    public List<Node> traverse(Node node, Predicate<Node> extremityCriteria) {
+        List<Node> nodesResult = new ArrayList<>();
+        traverse(node, extremityCriteria, n -> false, nodesResult);
+        return nodesResult;
+    }
 
-        if (outsideNodes.contains(node)) {
+    /**
+     * The nodes to visit from a node are those adjacent to it which are neither outside nor already in the result when
+     * the node is reached, as in the original recursive traversal, so that the result is the same, order included.
+     */
+    private boolean depthFirstSearch(Node node,
+                                     Predicate<Node> extremityCriteria,
+                                     Predicate<Node> unsuccessfulCriteria,
+                                     List<Node> nodesResult) {
+        if (isOutside(node)) {
             return false;
         }
-        nodesResult.add(node);
-        List<Node> nodesToVisit = node.getAdjacentNodes().stream()
-                .filter(n -> !outsideNodes.contains(n) && !nodesResult.contains(n))
-                .collect(Collectors.toList());
-        if (nodesToVisit.isEmpty()) {
-            return true;
-        }
-        for (Node n : nodesToVisit) {
+        int depth = 0;
+        pushFrame(node, nodesResult, depth++);
+        while (depth > 0) {
+            int frame = depth - 1;
+            if (frameNexts[frame] == nodesToVisit.size()) {
+                // all the nodes to visit from that frame have been handled
+                popFrame(frame);
+                depth--;
+                continue;
+            }
+            Node n = nodesToVisit.get(frameNexts[frame]++);
             if (unsuccessfulCriteria.test(n)) {
                 return false;
             } else if (extremityCriteria.test(n)) {
-                nodesResult.add(n);
-            } else if (!run(n, extremityCriteria, unsuccessfulCriteria, nodesResult, outsideNodes)) {
-                return false;
+                addToResult(n, getIndex(n), nodesResult);
+            } else {
+                // as the nodes to visit of that frame are stacked after those of the current frame, the current frame
+                // is resumed once they have all been handled
+                pushFrame(n, nodesResult, depth++);
             }
         }
         return true;
     }
 
+    private void pushFrame(Node node, List<Node> nodesResult, int frame) {
+        int nodeIndex = getIndex(node);
+        addToResult(node, nodeIndex, nodesResult);
+        if (frame == frameStarts.length) {
+            frameStarts = Arrays.copyOf(frameStarts, 2 * frame);
+            frameNexts = Arrays.copyOf(frameNexts, 2 * frame);
+        }
+        frameStarts[frame] = nodesToVisit.size();
+        frameNexts[frame] = nodesToVisit.size();
+        if (snapshot != null) {
+            for (int k = snapshot.getNeighboursStart(nodeIndex); k < snapshot.getNeighboursEnd(nodeIndex); k++) {
+                int index = snapshot.getNeighbour(k);
+                if (!outsideNodes.get(index) && !resultNodes.get(index)) {
+                    nodesToVisit.add(snapshot.getNode(index));
+                }
+            }
+        } else {
+            for (int i = 0; i < node.getAdjacentNodeCount(); i++) {
+                Node adj = node.getAdjacentNode(i);
+                int index = getIndex(adj);
+                if (!outsideNodes.get(index) && !resultNodes.get(index)) {
+                    nodesToVisit.add(adj);
+                }
+            }
+        }
+    }
+
+    private void popFrame(int frame) {
+        nodesToVisit.subList(frameStarts[frame], nodesToVisit.size()).clear();
+    }
+
+    private void addToResult(Node node, int nodeIndex, List<Node> nodesResult) {
+        nodesResult.add(node);
+        resultNodes.set(nodeIndex);
+    }
+
+    private int getIndex(Node node) {
+        if (snapshot != null) {
+            int id = snapshot.getNodeId(node);
+            if (id < 0) {
+                throw new IllegalArgumentException("Node " + node.getId() + " is not in the graph snapshot");
+            }
+            return id;
+        }
+        return nodeIndexes.computeIfAbsent(node, n -> nodeIndexes.size());
+    }
+
+    /**
+     * @param node                 the entry point for the exploration
+     * @param extremityCriteria    criteria applied to node returning if we reach an extremity node (the node is included in the result)
+     * @param unsuccessfulCriteria criteria applied to node returning if the traversal is to be invalidated
+     * @param nodesResult          the resulting list of nodes
+     * @param outsideNodes         nodes already visited
+     * @return true if no unsuccessfulCriteria reached or node outside
+     **/
+
+    static boolean run(Node node,
+                       Predicate<Node> extremityCriteria,
+                       Predicate<Node> unsuccessfulCriteria,
+                       List<Node> nodesResult,
+                       List<Node> outsideNodes) {
+        return new GraphTraversal().addOutsideNodes(outsideNodes)
+                .traverse(node, extremityCriteria, unsuccessfulCriteria, nodesResult);
+    }
+
     static List<Node> run(Node node,
                           Predicate<Node> extremityCriteria,
                           List<Node> outsideNodes) {
-        List<Node> nodesResult = new ArrayList<>();
-        run(node, extremityCriteria, n -> false, nodesResult, outsideNodes);
-        return nodesResult;
+        return new GraphTraversal().addOutsideNodes(outsideNodes).traverse(node, extremityCriteria);
     }
 
 }
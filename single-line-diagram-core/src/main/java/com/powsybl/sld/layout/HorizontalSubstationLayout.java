@@ -9,9 +9,10 @@ package com.powsybl.sld.layout;
 import com.powsybl.sld.model.Coord;
 import com.powsybl.sld.model.VoltageLevelGraph;
 import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.Polyline;
 import com.powsybl.sld.model.SubstationGraph;
 
-import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
@@ -23,9 +24,13 @@ public class HorizontalSubstationLayout extends AbstractSubstationLayout {
         super(graph, vLayoutFactory);
     }
 
+    public HorizontalSubstationLayout(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory, Executor executor) {
+        super(graph, vLayoutFactory, executor);
+    }
+
     @Override
-    protected List<Double> calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2,
-                                                      InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
+    protected Polyline calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2,
+                                                  InfosNbSnakeLines infosNbSnakeLines, boolean increment) {
         return calculatePolylineSnakeLineForHorizontalLayout(layoutParam, node1, node2, infosNbSnakeLines, increment);
     }
 
@@ -11,10 +11,10 @@ import com.powsybl.sld.model.SubstationGraph;
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
-public class HorizontalSubstationLayoutFactory implements SubstationLayoutFactory {
+public class HorizontalSubstationLayoutFactory extends AbstractSubstationLayoutFactory {
 
     @Override
     public SubstationLayout create(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory) {
-        return new HorizontalSubstationLayout(graph, vLayoutFactory);
+        return new HorizontalSubstationLayout(graph, vLayoutFactory, getExecutor());
     }
 }
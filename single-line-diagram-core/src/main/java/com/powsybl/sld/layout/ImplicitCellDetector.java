@@ -10,9 +10,7 @@ import com.powsybl.sld.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -56,17 +54,24 @@ public class ImplicitCellDetector implements CellDetector {
 
         LOGGER.info("Detecting cells...");
 
-        List<Node> allocatedNodes = new ArrayList<>();
+        // the detection runs on a snapshot of the cleaned graph, the cells being made of its nodes
+        VoltageLevelGraphSnapshot snapshot = graph.createSnapshot();
+
+        // the nodes allocated to a cell are outside of the next traversals
+        GraphTraversal traversal = new GraphTraversal(snapshot);
         // **************INTERN CELL*******************
         List<Node.NodeType> exclusionTypes = new ArrayList<>();
         exclusionTypes.add(Node.NodeType.FEEDER);
         List<Node.NodeType> stopTypes = new ArrayList<>();
         stopTypes.add(Node.NodeType.BUS);
-        detectCell(graph, stopTypes, exclusionTypes, true, allocatedNodes);
+        detectCell(graph, snapshot, stopTypes, exclusionTypes, true, traversal);
 
         // ****************EXTERN AND SHUNT CELLS******
         stopTypes.add(Node.NodeType.FEEDER);
-        detectCell(graph, stopTypes, new ArrayList<>(), false, allocatedNodes);
+        detectCell(graph, snapshot, stopTypes, new ArrayList<>(), false, traversal);
+
+        int[] cellIndexes = new int[snapshot.getNodeCount()];
+        Arrays.fill(cellIndexes, -1);
         for (ExternCell cell : graph.getCells().stream()
 
                 .filter(cell -> cell instanceof ExternCell)
@@ -74,10 +79,10 @@ public class ImplicitCellDetector implements CellDetector {
                 .collect(Collectors.toList())) {
 
             //*****************EXTERN CELL
-            if (!isPureExternCell(graph, cell)) {
+            if (!isPureExternCell(cell, snapshot, cellIndexes)) {
                 //*****************SHUNT CELL
                 //in that case the cell is splitted into 2 EXTERN Cells and 1 SHUNT CELL
-                detectAndTypeShunt(graph, cell);
+                detectAndTypeShunt(graph, snapshot, cell);
             }
         }
         graph.getCells().forEach(Cell::getFullId);
@@ -106,46 +111,142 @@ public class ImplicitCellDetector implements CellDetector {
      * @param typeStops      is the types of node that stops the exploration
      * @param exclusionTypes is the types when reached considers the exploration unsuccessful
      * @param isCellIntern   when the exploration is for the identification of internCell enables to instantiate InternCell class instead of Cell
-     * @param allocatedNodes is the list of nodes already allocated to a cell.
+     * @param traversal      is the traversal whose outside nodes are the nodes already allocated to a cell.
      **/
     private void detectCell(VoltageLevelGraph graph,
+                            VoltageLevelGraphSnapshot snapshot,
                             List<Node.NodeType> typeStops,
                             List<Node.NodeType> exclusionTypes,
                             boolean isCellIntern,
-                            List<Node> allocatedNodes) {
-        graph.getNodeBuses().forEach(bus -> bus.getAdjacentNodes().forEach(adj -> {
-            List<Node> cellNodes = new ArrayList<>();
-            List<Node> outsideNodes = new ArrayList<>(allocatedNodes);
-            outsideNodes.add(bus);
-            if (GraphTraversal.run(
-                    adj, node -> typeStops.contains(node.getType()), node -> exclusionTypes.contains(node.getType()),
-                    cellNodes, outsideNodes)) {
-                cellNodes.add(0, bus);
-                Cell cell = isCellIntern ? new InternCell(graph, exceptionIfPatternNotHandled) : new ExternCell(graph);
-                cell.setNodes(cellNodes);
-                allocatedNodes.addAll(cellNodes.stream()
-                        .filter(node -> node.getType() != Node.NodeType.BUS)
-                        .collect(Collectors.toList()));
+                            GraphTraversal traversal) {
+        for (BusNode bus : graph.getNodeBuses()) {
+            int busId = snapshot.getNodeId(bus);
+            for (int k = snapshot.getNeighboursStart(busId); k < snapshot.getNeighboursEnd(busId); k++) {
+                detectCellFromBus(graph, bus, snapshot.getNode(snapshot.getNeighbour(k)), typeStops, exclusionTypes, isCellIntern, traversal);
             }
-        }));
+        }
+    }
+
+    private void detectCellFromBus(VoltageLevelGraph graph, BusNode bus, Node adj,
+                                   List<Node.NodeType> typeStops,
+                                   List<Node.NodeType> exclusionTypes,
+                                   boolean isCellIntern,
+                                   GraphTraversal traversal) {
+        List<Node> cellNodes = new ArrayList<>();
+        traversal.addOutsideNode(bus);
+        boolean cellFound = traversal.traverse(
+                adj, node -> typeStops.contains(node.getType()), node -> exclusionTypes.contains(node.getType()),
+                cellNodes);
+        traversal.removeOutsideNode(bus);
+        if (cellFound) {
+            cellNodes.add(0, bus);
+            Cell cell = isCellIntern ? new InternCell(graph, exceptionIfPatternNotHandled) : new ExternCell(graph);
+            cell.setNodes(cellNodes);
+            traversal.addOutsideNodes(cellNodes.stream()
+                    .filter(node -> node.getType() != Node.NodeType.BUS)
+                    .collect(Collectors.toList()));
+        }
     }
 
     /**
      * Check if the cell is a pure extern and return true in that case, else false (suspected shunt)
      *
-     * @param cell : the cell to analyse
+     * @param graph : the graph containing the cell nodes
+     * @param cell  : the cell to analyse
      **/
-    private boolean isPureExternCell(VoltageLevelGraph graph, ExternCell cell) {
+    boolean isPureExternCell(VoltageLevelGraph graph, ExternCell cell) {
+        VoltageLevelGraphSnapshot snapshot = graph.createSnapshot();
+        int[] cellIndexes = new int[snapshot.getNodeCount()];
+        Arrays.fill(cellIndexes, -1);
+        return isPureExternCell(cell, snapshot, cellIndexes);
+    }
+
+    /**
+     * Check if the cell is a pure extern and return true in that case, else false (suspected shunt)
+     *
+     * @param cell        : the cell to analyse
+     * @param snapshot    : the snapshot of the graph containing the cell nodes
+     * @param cellIndexes : indices of the snapshot nodes in the cell, all equal to -1 before and after the call
+     **/
+    private boolean isPureExternCell(ExternCell cell, VoltageLevelGraphSnapshot snapshot, int[] cellIndexes) {
         /*Explore the graph of the candidate cell. Remove successively one node, assess if it splits the graph into n>1 branches
         if so, then check if each component is exclusively reaching FEEDER or exclusively reaching BUS
         And verify you have at least one of them
         Return true in that case else false meaning there is one shunt
+        The components obtained when removing each node are all deduced from a single depth-first search of the cell
+        (Tarjan's articulation points algorithm): a node splits its component into the subtrees of its children whose
+        low-link is not above the node, and the rest of the component if not empty.
         */
-        for (Node n : cell.getNodes()) {
-            List<Node> nodes = new ArrayList<>(cell.getNodes());
-            nodes.remove(n);
-            List<List<Node>> connexComponents = graph.getConnexComponents(nodes);
-            if (checkExternComponents(connexComponents)) {
+        List<Node> cellNodes = cell.getNodes();
+        int[] ids = new int[cellNodes.size()];
+        int nbNodes = 0;
+        BitSet duplicatedNodes = new BitSet();
+        for (Node n : cellNodes) {
+            int id = snapshot.getNodeId(n);
+            if (cellIndexes[id] < 0) {
+                cellIndexes[id] = nbNodes;
+                ids[nbNodes++] = id;
+            } else {
+                duplicatedNodes.set(cellIndexes[id]);
+            }
+        }
+        int[][] adjacency = new int[nbNodes][];
+        int[] kinds = new int[nbNodes];
+        for (int i = 0; i < nbNodes; i++) {
+            int id = ids[i];
+            int[] adjacentIndexes = new int[snapshot.getDegree(id)];
+            int nbAdjacent = 0;
+            for (int k = snapshot.getNeighboursStart(id); k < snapshot.getNeighboursEnd(id); k++) {
+                int j = cellIndexes[snapshot.getNeighbour(k)];
+                if (j >= 0) {
+                    adjacentIndexes[nbAdjacent++] = j;
+                }
+            }
+            adjacency[i] = Arrays.copyOf(adjacentIndexes, nbAdjacent);
+            kinds[i] = componentKind(snapshot.getType(id) == Node.NodeType.FEEDER ? 1 : 0,
+                    snapshot.getType(id) == Node.NodeType.BUS ? 1 : 0);
+        }
+        int[] localIndexes = new int[cellNodes.size()];
+        for (int n = 0; n < cellNodes.size(); n++) {
+            localIndexes[n] = cellIndexes[snapshot.getNodeId(cellNodes.get(n))];
+        }
+        for (int i = 0; i < nbNodes; i++) {
+            cellIndexes[ids[i]] = -1;
+        }
+
+        CellDepthFirstSearch dfs = new CellDepthFirstSearch(adjacency, kinds);
+
+        // kinds of all the connected components of the cell
+        int[] componentKindCounts = new int[4];
+        for (int c = 0; c < dfs.nbComponents; c++) {
+            componentKindCounts[dfs.componentKinds[c]]++;
+        }
+        int componentsMask = kindsMask(componentKindCounts);
+
+        for (int i : localIndexes) {
+            if (duplicatedNodes.get(i)) {
+                // removing one occurrence of the node does not remove it from the cell
+                if (isExternSplit(dfs.nbComponents, componentsMask)) {
+                    return true;
+                }
+                continue;
+            }
+            int c = dfs.components[i];
+
+            componentKindCounts[dfs.componentKinds[c]]--;
+            int otherComponentsMask = kindsMask(componentKindCounts);
+            componentKindCounts[dfs.componentKinds[c]]++;
+
+            int restSize = dfs.componentSizes[c] - 1 - dfs.separatedSizes[i];
+            int nbParts = dfs.separatedCounts[i] + dfs.nbComponents - 1;
+            int partsMask = dfs.separatedKindsMasks[i] | otherComponentsMask;
+            if (restSize > 0) {
+                int restFeeders = dfs.componentFeeders[c] - (kinds[i] & 1) - dfs.separatedFeeders[i];
+                int restBuses = dfs.componentBuses[c] - ((kinds[i] >> 1) & 1) - dfs.separatedBuses[i];
+                nbParts++;
+                partsMask |= 1 << componentKind(restFeeders, restBuses);
+            }
+            if (isExternSplit(nbParts, partsMask)) {
                 return true;
             }
         }
@@ -153,49 +254,153 @@ public class ImplicitCellDetector implements CellDetector {
     }
 
     /**
-     * @param connexComponents components partition to analyse
-     * @return true if this partition reflects an extern cell
+     * @return the kind of a component with the given numbers of feeders and buses: bit 0 set if it reaches a feeder,
+     * bit 1 set if it reaches a bus
      */
-    private boolean checkExternComponents(List<List<Node>> connexComponents) {
-        if (connexComponents.size() > 1) {
-            boolean hasDepartBranch = false;
-            boolean hasBusBranch = false;
-            boolean hasMixBranch = false;
-            for (List<Node> nodesConnex : connexComponents) {
-                List<Node.NodeType> types = nodesConnex.stream()
-                        .map(Node::getType)
-                        .distinct().filter(t -> t == Node.NodeType.FEEDER || t == Node.NodeType.BUS)
-                        .collect(Collectors.toList());
-                if (types.size() == 2) {
-                    hasMixBranch = true;
-                } else if (types.isEmpty()) {
-                    return false;
-                } else if (types.get(0).equals(Node.NodeType.FEEDER)) {
-                    hasDepartBranch = true;
-                } else {
-                    hasBusBranch = true;
+    private static int componentKind(int nbFeeders, int nbBuses) {
+        return (nbFeeders > 0 ? 1 : 0) | (nbBuses > 0 ? 2 : 0);
+    }
+
+    private static int kindsMask(int[] kindCounts) {
+        int mask = 0;
+        for (int kind = 0; kind < kindCounts.length; kind++) {
+            if (kindCounts[kind] > 0) {
+                mask |= 1 << kind;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param nbParts   number of components of the partition to analyse
+     * @param kindsMask mask of the kinds of these components
+     * @return true if this partition reflects an extern cell: several components, each one exclusively reaching
+     * FEEDERs or exclusively reaching BUSes, and at least one of each
+     */
+    private static boolean isExternSplit(int nbParts, int kindsMask) {
+        return nbParts > 1
+                && (kindsMask & (1 << componentKind(0, 0))) == 0
+                && (kindsMask & (1 << componentKind(1, 0))) != 0
+                && (kindsMask & (1 << componentKind(0, 1))) != 0
+                && (kindsMask & (1 << componentKind(1, 1))) == 0;
+    }
+
+    /**
+     * Iterative depth-first search of the nodes of a cell, computing for each node the components separated from the
+     * rest of its component when removing it, that is the subtrees of its children whose low-link is not above it.
+     */
+    private static final class CellDepthFirstSearch {
+
+        private int nbComponents;
+        private final int[] components;
+        private final int[] componentSizes;
+        private final int[] componentFeeders;
+        private final int[] componentBuses;
+        private final int[] componentKinds;
+
+        private final int[] separatedCounts;
+        private final int[] separatedSizes;
+        private final int[] separatedFeeders;
+        private final int[] separatedBuses;
+        private final int[] separatedKindsMasks;
+
+        private CellDepthFirstSearch(int[][] adjacency, int[] kinds) {
+            int nbNodes = adjacency.length;
+            components = new int[nbNodes];
+            componentSizes = new int[nbNodes];
+            componentFeeders = new int[nbNodes];
+            componentBuses = new int[nbNodes];
+            componentKinds = new int[nbNodes];
+            separatedCounts = new int[nbNodes];
+            separatedSizes = new int[nbNodes];
+            separatedFeeders = new int[nbNodes];
+            separatedBuses = new int[nbNodes];
+            separatedKindsMasks = new int[nbNodes];
+
+            int[] discovery = new int[nbNodes];
+            Arrays.fill(discovery, -1);
+            int[] lowLinks = new int[nbNodes];
+            int[] parents = new int[nbNodes];
+            int[] nextAdjacent = new int[nbNodes];
+            int[] subtreeSizes = new int[nbNodes];
+            int[] subtreeFeeders = new int[nbNodes];
+            int[] subtreeBuses = new int[nbNodes];
+            int[] stack = new int[nbNodes];
+            int time = 0;
+
+            for (int root = 0; root < nbNodes; root++) {
+                if (discovery[root] >= 0) {
+                    continue;
                 }
+                int component = nbComponents++;
+                int top = 0;
+                discovery[root] = lowLinks[root] = time++;
+                parents[root] = -1;
+                components[root] = component;
+                stack[top++] = root;
+                while (top > 0) {
+                    int u = stack[top - 1];
+                    if (nextAdjacent[u] < adjacency[u].length) {
+                        int v = adjacency[u][nextAdjacent[u]++];
+                        if (discovery[v] < 0) {
+                            discovery[v] = lowLinks[v] = time++;
+                            parents[v] = u;
+                            components[v] = component;
+                            stack[top++] = v;
+                        } else {
+                            // the edge to the parent may be taken into account, as it does not change which nodes
+                            // separate their children subtrees
+                            lowLinks[u] = Math.min(lowLinks[u], discovery[v]);
+                        }
+                        continue;
+                    }
+                    top--;
+                    subtreeSizes[u]++;
+                    subtreeFeeders[u] += kinds[u] & 1;
+                    subtreeBuses[u] += (kinds[u] >> 1) & 1;
+                    int p = parents[u];
+                    if (p >= 0) {
+                        lowLinks[p] = Math.min(lowLinks[p], lowLinks[u]);
+                        subtreeSizes[p] += subtreeSizes[u];
+                        subtreeFeeders[p] += subtreeFeeders[u];
+                        subtreeBuses[p] += subtreeBuses[u];
+                        if (lowLinks[u] >= discovery[p]) {
+                            separatedCounts[p]++;
+                            separatedSizes[p] += subtreeSizes[u];
+                            separatedFeeders[p] += subtreeFeeders[u];
+                            separatedBuses[p] += subtreeBuses[u];
+                            separatedKindsMasks[p] |= 1 << componentKind(subtreeFeeders[u], subtreeBuses[u]);
+                        }
+                    }
+                }
+                componentSizes[component] = subtreeSizes[root];
+                componentFeeders[component] = subtreeFeeders[root];
+                componentBuses[component] = subtreeBuses[root];
+                componentKinds[component] = componentKind(subtreeFeeders[root], subtreeBuses[root]);
             }
-            return hasBusBranch && hasDepartBranch && !hasMixBranch;
         }
-        return false;
     }
 
     /**
      * @param cell the nodes of a cell that is suppected to be a shunt
      **/
-    private void detectAndTypeShunt(VoltageLevelGraph graph, Cell cell) {
-
-        List<Node> externalNodes = graph.getNodes()
-                .stream()
-                .filter(node -> !cell.getNodes().contains(node))
-                .collect(Collectors.toList());
+    private void detectAndTypeShunt(VoltageLevelGraph graph, VoltageLevelGraphSnapshot snapshot, Cell cell) {
+
+        // the nodes inserted in the graph by the previous shunt cells creations are not in the snapshot, but they are
+        // only adjacent to the nodes of these shunt cells, which are external to this cell
+        Set<Node> cellNodes = new HashSet<>(cell.getNodes());
+        GraphTraversal traversal = new GraphTraversal(snapshot);
+        for (int id = 0; id < snapshot.getNodeCount(); id++) {
+            if (!cellNodes.contains(snapshot.getNode(id))) {
+                traversal.addOutsideNode(snapshot.getNode(id));
+            }
+        }
 
         for (Node n : cell.getNodes().stream()
-                .filter(n -> n.getAdjacentNodes().size() > 2).collect(Collectors.toList())) {
+                .filter(n -> n.getAdjacentNodeCount() > 2).collect(Collectors.toList())) {
             // optimisation : a Shunt node has necessarily 3 ore more adjacent nodes
 
-            List<Node> cellNodesExtern1 = checkCandidateShuntNode(n, externalNodes);
+            List<Node> cellNodesExtern1 = checkCandidateShuntNode(n, traversal);
             if (cellNodesExtern1 != null) {
                 // create the 1st new external cell
                 cell.removeAllNodes(cellNodesExtern1.stream()
@@ -218,8 +423,7 @@ public class ImplicitCellDetector implements CellDetector {
 
                 cellNodesExtern2.removeAll(cellNodesExtern2.stream()
                         .filter(node -> node.getType() == Node.NodeType.BUS
-                                && node.getAdjacentNodes().stream().noneMatch(
-                                cellNodesExtern2::contains))
+                                && noneAdjacentIn(node, cellNodesExtern2))
                         .collect(Collectors.toList()));
 
                 ExternCell newExternCell2 = new ExternCell(graph);
@@ -233,7 +437,10 @@ public class ImplicitCellDetector implements CellDetector {
         }
     }
 
-    private List<Node> checkCandidateShuntNode(Node n, List<Node> externalNodes) {
+    /**
+     * @param traversal the traversal whose outside nodes are the nodes external to the cell, left unchanged
+     */
+    private List<Node> checkCandidateShuntNode(Node n, GraphTraversal traversal) {
         List<Node.NodeType> kindToFilter = Arrays.asList(Node.NodeType.BUS,
                 Node.NodeType.FEEDER,
                 Node.NodeType.SHUNT);
@@ -246,19 +453,19 @@ public class ImplicitCellDetector implements CellDetector {
         and returned in the cellNodesExtern
          */
 
-        List<Node> visitedNodes = new ArrayList<>(externalNodes);
+        List<Node> visitedNodes = new ArrayList<>();
         visitedNodes.add(n); //removal of the node to explore branches from it
+        traversal.addOutsideNode(n);
 
         List<Node> cellNodesExtern = new ArrayList<>();
         boolean hasFeederBranch = false;
         boolean hasBusBranch = false;
         boolean hasMixBranch = false;
 
-        List<Node> adjList = new ArrayList<>(n.getAdjacentNodes());
-        adjList.removeAll(visitedNodes);
-        for (Node adj : adjList) {
-            if (!visitedNodes.contains(adj)) {
-                List<Node> resultNodes = GraphTraversal.run(adj, node -> kindToFilter.contains(node.getType()), visitedNodes);
+        for (int i = 0; i < n.getAdjacentNodeCount(); i++) {
+            Node adj = n.getAdjacentNode(i);
+            if (!traversal.isOutside(adj)) {
+                List<Node> resultNodes = traversal.traverse(adj, node -> kindToFilter.contains(node.getType()));
 
                 List<Node.NodeType> types = resultNodes.stream() // what are the types of terminal node of the branch
                         .map(Node::getType)
@@ -275,26 +482,43 @@ public class ImplicitCellDetector implements CellDetector {
                         cellNodesExtern.addAll(resultNodes);
                     }
                 }
-                visitedNodes.addAll(resultNodes.stream()
+                resultNodes.stream()
                         .filter(m -> m.getType() != Node.NodeType.BUS)
-                        .collect(Collectors.toList()));
+                        .forEach(m -> {
+                            visitedNodes.add(m);
+                            traversal.addOutsideNode(m);
+                        });
 
             }
         }
+        visitedNodes.forEach(traversal::removeOutsideNode);
         return (hasBusBranch && hasFeederBranch && hasMixBranch) ? cellNodesExtern : null;
     }
 
+    private static boolean noneAdjacentIn(Node node, List<Node> nodes) {
+        for (int i = 0; i < node.getAdjacentNodeCount(); i++) {
+            if (nodes.contains(node.getAdjacentNode(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private List<Node> createShuntCellNodes(Node n, ExternCell cellExtern1) {
         List<Node> shuntCellNodes = new ArrayList<>();
         shuntCellNodes.add(n);
-        Node currentNode = n.getAdjacentNodes().stream()
-                .filter(node -> !cellExtern1.getNodes().contains(node))
-                .findAny().orElse(null);
+        List<Node> cellExtern1Nodes = cellExtern1.getNodes();
+        Node currentNode = null;
+        for (int i = 0; i < n.getAdjacentNodeCount() && currentNode == null; i++) {
+            if (!cellExtern1Nodes.contains(n.getAdjacentNode(i))) {
+                currentNode = n.getAdjacentNode(i);
+            }
+        }
         if (currentNode != null) {
-            while (currentNode.getAdjacentNodes().size() == 2) {
+            while (currentNode.getAdjacentNodeCount() == 2) {
                 shuntCellNodes.add(currentNode);
-                currentNode = shuntCellNodes.contains(currentNode.getAdjacentNodes().get(0))
-                        ? currentNode.getAdjacentNodes().get(1) : currentNode.getAdjacentNodes().get(0);
+                currentNode = shuntCellNodes.contains(currentNode.getAdjacentNode(0))
+                        ? currentNode.getAdjacentNode(1) : currentNode.getAdjacentNode(0);
             }
             shuntCellNodes.add(currentNode);
             currentNode.setType(Node.NodeType.SHUNT);
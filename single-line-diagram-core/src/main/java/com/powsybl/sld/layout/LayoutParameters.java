@@ -75,6 +75,10 @@ public class LayoutParameters {
 
     private boolean cssInternal = false;
 
+    private int svgPrecision = -1;
+
+    private boolean addValueIds = false;
+
     @JsonIgnore
     private Map<String, ComponentSize> componentsSize;
 
@@ -187,6 +191,8 @@ public class LayoutParameters {
         highlightLineState = other.highlightLineState;
         addNodesInfos = other.addNodesInfos;
         feederArrowSymmetry = other.feederArrowSymmetry;
+        svgPrecision = other.svgPrecision;
+        addValueIds = other.addValueIds;
     }
 
     public double getTranslateX() {
@@ -502,4 +508,30 @@ public class LayoutParameters {
         this.cssInternal = cssInternal;
         return this;
     }
+
+    public int getSvgPrecision() {
+        return svgPrecision;
+    }
+
+    /**
+     * Set the number of decimals of the coordinates written in the SVG. A negative value, the default, writes the
+     * coordinates with their full precision.
+     */
+    public LayoutParameters setSvgPrecision(int svgPrecision) {
+        this.svgPrecision = svgPrecision;
+        return this;
+    }
+
+    public boolean isAddValueIds() {
+        return addValueIds;
+    }
+
+    /**
+     * Set whether the labels of the feeder values are given the ids of their value slots, so that the values of a
+     * written SVG can be refreshed from a {@link com.powsybl.sld.svg.DiagramValues} payload.
+     */
+    public LayoutParameters setAddValueIds(boolean addValueIds) {
+        this.addValueIds = addValueIds;
+        return this;
+    }
 }
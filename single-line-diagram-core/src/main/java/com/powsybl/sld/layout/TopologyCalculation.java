@@ -11,6 +11,7 @@ import com.powsybl.sld.model.Node;
 import com.powsybl.sld.model.SwitchNode;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,19 +34,20 @@ public final class TopologyCalculation {
     public static List<TopologicallyConnectedNodesSet> run(VoltageLevelGraph graph) {
         List<TopologicallyConnectedNodesSet> topologicallyConnectedNodesSets = new ArrayList<>();
         List<Node> nodesToVisit = graph.getNodes();
-        List<Node> visitedNodes = new ArrayList<>();
+        GraphTraversal traversal = new GraphTraversal(nodesToVisit);
         Node node = identifyNonOpenNode(nodesToVisit);
         while (node != null) {
             List<SwitchNode> openSwitches = new ArrayList<>();
-            List<Node> connectedNodes = GraphTraversal
-                    .run(node, n -> extremityCriteria(n, openSwitches), visitedNodes);
+            List<Node> connectedNodes = traversal.traverse(node, n -> extremityCriteria(n, openSwitches));
+            Set<Node> connectedNodesSet = new HashSet<>(connectedNodes);
             Set<SwitchNode> borderSwitchNodes = openSwitches.stream()
-                    .filter(n -> isBorderSwitchNode(n, connectedNodes))
+                    .filter(n -> isBorderSwitchNode(n, connectedNodesSet))
                     .collect(Collectors.toSet());
             topologicallyConnectedNodesSets.add(new TopologicallyConnectedNodesSet(connectedNodes, borderSwitchNodes));
             connectedNodes.removeAll(borderSwitchNodes);
-            visitedNodes.addAll(connectedNodes); //a border switch is part of 2 connectedNodesSets
-            nodesToVisit.removeAll(connectedNodes);
+            traversal.addOutsideNodes(connectedNodes); //a border switch is part of 2 connectedNodesSets
+            connectedNodesSet.removeAll(borderSwitchNodes);
+            nodesToVisit.removeAll(connectedNodesSet);
             node = identifyNonOpenNode(nodesToVisit);
         }
         return topologicallyConnectedNodesSets;
@@ -64,8 +66,13 @@ public final class TopologyCalculation {
         return remainingNodes.stream().filter(n -> !isOpenSwitchNode(n)).findFirst().orElse(null);
     }
 
-    private static boolean isBorderSwitchNode(SwitchNode switchNode, List<Node> connectedNodes) {
-        return !connectedNodes.containsAll(switchNode.getAdjacentNodes());
+    private static boolean isBorderSwitchNode(SwitchNode switchNode, Set<Node> connectedNodes) {
+        for (int i = 0; i < switchNode.getAdjacentNodeCount(); i++) {
+            if (!connectedNodes.contains(switchNode.getAdjacentNode(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static boolean isOpenSwitchNode(Node node) {
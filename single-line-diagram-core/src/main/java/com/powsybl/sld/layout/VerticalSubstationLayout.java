@@ -8,9 +8,7 @@ package com.powsybl.sld.layout;
 
 import com.powsybl.sld.model.*;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.Executor;
 
 import static com.powsybl.sld.model.Position.Dimension.H;
 
@@ -23,6 +21,10 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
         super(graph, vLayoutFactory);
     }
 
+    public VerticalSubstationLayout(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory, Executor executor) {
+        super(graph, vLayoutFactory, executor);
+    }
+
     /**
      * Calculate relative coordinate of voltageLevels in the substation
      */
@@ -36,8 +38,8 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
      * Calculate polyline points of a snakeLine in the substation graph
      */
     @Override
-    protected List<Double> calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2, InfosNbSnakeLines infosNbSnakeLines,
-                                                      boolean increment) {
+    protected Polyline calculatePolylineSnakeLine(LayoutParameters layoutParam, Node node1, Node node2, InfosNbSnakeLines infosNbSnakeLines,
+                                                  boolean increment) {
 
         if (node1.getGraph() == node2.getGraph()) { // in the same VL (so far always horizontal layout)
             String graphId = node1.getGraph().getId();
@@ -49,7 +51,7 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
             infosNbSnakeLines.getNbSnakeLinesTopBottom().put(BusCell.Direction.TOP, currentNbTop);
 
             // Calculate the snakeline as an horizontal layout
-            List<Double> snakeLine = calculatePolylineSnakeLineForHorizontalLayout(layoutParam, node1, node2, infosNbSnakeLines, increment);
+            Polyline snakeLine = calculatePolylineSnakeLineForHorizontalLayout(layoutParam, node1, node2, infosNbSnakeLines, increment);
 
             // Update the vertical layout maps
             Integer updatedNbLinesBottom = infosNbSnakeLines.getNbSnakeLinesTopBottom().get(BusCell.Direction.BOTTOM);
@@ -83,7 +85,7 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
                 layoutParam.getInitialXBus() +
                 (Math.max(maxH1, maxH2)) * layoutParam.getCellWidth();
 
-        List<Double> pol = new ArrayList<>();
+        Polyline pol = new Polyline();
         switch (dNode1) {
             case BOTTOM:
                 if (dNode2 == BusCell.Direction.BOTTOM) {  // BOTTOM to BOTTOM
@@ -96,12 +98,12 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
 
                     infosNbSnakeLines.getNbSnakeLinesLeftRight().compute(Side.RIGHT, (k, v) -> v + 1);
                     double xSnakeLine = maxH + infosNbSnakeLines.getNbSnakeLinesLeftRight().get(Side.RIGHT) * layoutParam.getHorizontalSnakeLinePadding();
-                    pol.addAll(Arrays.asList(x1, y1,
-                        x1, initY1 + decal1V,
-                        xSnakeLine, initY1 + decal1V,
-                        xSnakeLine, initY2 + decal2V,
-                        x2, initY2 + decal2V,
-                        x2, y2));
+                    pol.append(x1, y1)
+                            .append(x1, initY1 + decal1V)
+                            .append(xSnakeLine, initY1 + decal1V)
+                            .append(xSnakeLine, initY2 + decal2V)
+                            .append(x2, initY2 + decal2V)
+                            .append(x2, y2);
                 } else {  // BOTTOM to TOP
                     if (!getGraph().graphAdjacents(node1.getGraph(), node2.getGraph())) {
                         if (increment) {
@@ -113,12 +115,12 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
                         double decal2V = infosNbSnakeLines.getNbSnakeLinesTopVL().get(node2.getGraph().getVoltageLevelInfos().getId()) * layoutParam.getVerticalSnakeLinePadding();
                         double xSnakeLine = maxH + infosNbSnakeLines.getNbSnakeLinesLeftRight().get(Side.RIGHT) * layoutParam.getHorizontalSnakeLinePadding();
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, initY1 + decal1V,
-                                xSnakeLine, initY1 + decal1V,
-                                xSnakeLine, initY2 - decal2V,
-                                x2, initY2 - decal2V,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, initY1 + decal1V)
+                                .append(xSnakeLine, initY1 + decal1V)
+                                .append(xSnakeLine, initY2 - decal2V)
+                                .append(x2, initY2 - decal2V)
+                                .append(x2, y2);
                     } else {  // node1 and node2 adjacent and node1 before node2
                         if (increment) {
                             infosNbSnakeLines.getNbSnakeLinesBottomVL().compute(node1.getGraph().getVoltageLevelInfos().getId(), (k, v) -> v + 1);
@@ -128,10 +130,10 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
                         double decal2V = infosNbSnakeLines.getNbSnakeLinesTopVL().get(node2.getGraph().getVoltageLevelInfos().getId()) * layoutParam.getVerticalSnakeLinePadding();
                         double ySnakeLine = Math.max(initY1 + decal1V, initY2 - decal2V);
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, ySnakeLine,
-                                x2, ySnakeLine,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, ySnakeLine)
+                                .append(x2, ySnakeLine)
+                                .append(x2, y2);
                     }
                 }
                 break;
@@ -147,12 +149,12 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
 
                     infosNbSnakeLines.getNbSnakeLinesLeftRight().compute(Side.LEFT, (k, v) -> v + 1);
                     double xSnakeLine = xMinGraph - infosNbSnakeLines.getNbSnakeLinesLeftRight().get(Side.LEFT) * layoutParam.getHorizontalSnakeLinePadding();
-                    pol.addAll(Arrays.asList(x1, y1,
-                        x1, initY1 - decal1V,
-                        xSnakeLine, initY1 - decal1V,
-                        xSnakeLine, initY2 - decal2V,
-                        x2, initY2 - decal2V,
-                        x2, y2));
+                    pol.append(x1, y1)
+                            .append(x1, initY1 - decal1V)
+                            .append(xSnakeLine, initY1 - decal1V)
+                            .append(xSnakeLine, initY2 - decal2V)
+                            .append(x2, initY2 - decal2V)
+                            .append(x2, y2);
 
                 } else {  // TOP to BOTTOM
                     if (!getGraph().graphAdjacents(node2.getGraph(), node1.getGraph())) {
@@ -165,12 +167,12 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
                         double decal2V = infosNbSnakeLines.getNbSnakeLinesBottomVL().get(node2.getGraph().getVoltageLevelInfos().getId()) * layoutParam.getVerticalSnakeLinePadding();
                         double xSnakeLine = xMinGraph - infosNbSnakeLines.getNbSnakeLinesLeftRight().get(Side.LEFT) * layoutParam.getHorizontalSnakeLinePadding();
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, initY1 - decal1V,
-                                xSnakeLine, initY1 - decal1V,
-                                xSnakeLine, initY2 + decal2V,
-                                x2, initY2 + decal2V,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, initY1 - decal1V)
+                                .append(xSnakeLine, initY1 - decal1V)
+                                .append(xSnakeLine, initY2 + decal2V)
+                                .append(x2, initY2 + decal2V)
+                                .append(x2, y2);
                     } else {  // node1 and node2 adjacent and node2 before node1
                         if (increment) {
                             infosNbSnakeLines.getNbSnakeLinesTopVL().compute(node1.getGraph().getVoltageLevelInfos().getId(), (k, v) -> v + 1);
@@ -180,10 +182,10 @@ public class VerticalSubstationLayout extends AbstractSubstationLayout {
                         double decal2V = infosNbSnakeLines.getNbSnakeLinesBottomVL().get(node2.getGraph().getVoltageLevelInfos().getId()) * layoutParam.getVerticalSnakeLinePadding();
                         double ySnakeLine = Math.max(initY1 - decal1V, initY2 + decal2V);
 
-                        pol.addAll(Arrays.asList(x1, y1,
-                                x1, ySnakeLine,
-                                x2, ySnakeLine,
-                                x2, y2));
+                        pol.append(x1, y1)
+                                .append(x1, ySnakeLine)
+                                .append(x2, ySnakeLine)
+                                .append(x2, y2);
                     }
                 }
                 break;
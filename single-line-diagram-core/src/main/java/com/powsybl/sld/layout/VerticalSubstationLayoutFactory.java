@@ -11,10 +11,10 @@ import com.powsybl.sld.model.SubstationGraph;
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
-public class VerticalSubstationLayoutFactory implements SubstationLayoutFactory {
+public class VerticalSubstationLayoutFactory extends AbstractSubstationLayoutFactory {
 
     @Override
     public SubstationLayout create(SubstationGraph graph, VoltageLevelLayoutFactory vLayoutFactory) {
-        return new VerticalSubstationLayout(graph, vLayoutFactory);
+        return new VerticalSubstationLayout(graph, vLayoutFactory, getExecutor());
     }
 }
@@ -15,5 +15,10 @@ import com.powsybl.sld.model.VoltageLevelGraph;
  */
 public interface VoltageLevelLayoutFactory {
 
+    /**
+     * Creates the layout of the given graph. When the voltage levels of a substation are laid out concurrently, the
+     * voltage level graphs are placed in the substation between the creation and the run of their layouts: the
+     * factories supporting it must set the bus positions of the graph, which give its size, when creating the layout.
+     */
     VoltageLevelLayout create(VoltageLevelGraph graph);
 }
@@ -25,6 +25,7 @@ class LBSClusterSide {
     private final Side side;
     private final List<Link> myLinks = new ArrayList<>();
     private LBSClusterSide otherSameRoot;
+    private Set<BusNode> busNodeSet;
 
     LBSClusterSide(LBSCluster lbsCluster, Side side) {
         this.lbsCluster = Objects.requireNonNull(lbsCluster);
@@ -36,7 +37,11 @@ class LBSClusterSide {
     }
 
     Set<BusNode> getBusNodeSet() {
-        return new LinkedHashSet<>(lbsCluster.laneSideBuses(side));
+        // the lanes of a cluster only change when it is merged, and then its sides are replaced
+        if (busNodeSet == null) {
+            busNodeSet = Collections.unmodifiableSet(new LinkedHashSet<>(lbsCluster.laneSideBuses(side)));
+        }
+        return busNodeSet;
     }
 
     List<InternCell> getCandidateFlatCellList() {
@@ -104,10 +109,6 @@ class LBSClusterSide {
         myLinks.add(link);
     }
 
-    void removeLink(Link link) {
-        myLinks.remove(link);
-    }
-
     List<Link> getLinks() {
         return myLinks;
     }
@@ -51,6 +51,7 @@ class Link implements Comparable<Link> {
     private final LBSClusterSide lbsClusterSide2;
     private final Map<LinkCategory, Integer> categoryToWeight = new EnumMap<>(LinkCategory.class);
     private int nb;
+    private boolean removed;
 
     Link(LBSClusterSide lbsClusterSide1, LBSClusterSide lbsClusterSide2, int nb) {
         this.lbsClusterSide1 = lbsClusterSide1;
@@ -154,8 +155,11 @@ class Link implements Comparable<Link> {
     }
 
     void removeMe() {
-        lbsClusterSide1.removeLink(this);
-        lbsClusterSide2.removeLink(this);
+        removed = true;
+    }
+
+    boolean isRemoved() {
+        return removed;
     }
 
     @Override
@@ -14,15 +14,21 @@ import java.util.*;
 
 /**
  * Manages the links between a list of lbsClusterSides.
+ * <p>
+ * The links are kept in a priority queue from the strongest to the weakest. When two clusters are merged, only the
+ * links of the four sides of these clusters are invalidated: they are marked as removed and skipped when reaching the
+ * head of the queue, instead of being removed from the queue, and the links of the sides of the merged cluster are
+ * added. The strength of a link is assessed once, when it is built.
  *
  * @author Benoit Jeanson <benoit.jeanson at rte-france.com>
  */
 final class Links {
 
-    private final List<LBSClusterSide> lbsClusterSides = new LinkedList<>();
-    private final TreeSet<Link> linkSet = new TreeSet<>();
+    private final Set<LBSClusterSide> lbsClusterSides = new LinkedHashSet<>();
+    private final PriorityQueue<Link> linkQueue = new PriorityQueue<>(Comparator.reverseOrder());
     private HorizontalBusLaneManager hblManager;
     private int linkCounter = 0;
+    private int liveLinkCount = 0;
 
     private Links(HorizontalBusLaneManager hblManager) {
         this.hblManager = hblManager;
@@ -51,12 +57,17 @@ final class Links {
     private void buildNewLink(LBSClusterSide lbsClusterSide1, LBSClusterSide lbsClusterSide2) {
         if (!lbsClusterSide1.hasSameRoot(lbsClusterSide2)) {
             Link linkToAdd = new Link(lbsClusterSide1, lbsClusterSide2, linkCounter++);
-            linkSet.add(linkToAdd);
+            linkQueue.add(linkToAdd);
+            liveLinkCount++;
         }
     }
 
     Link getStrongestLink() {
-        return linkSet.last();
+        // the removed links are dropped lazily, when they reach the head of the queue
+        while (linkQueue.peek().isRemoved()) {
+            linkQueue.poll();
+        }
+        return linkQueue.peek();
     }
 
     void mergeLink(Link link) {
@@ -71,18 +82,23 @@ final class Links {
 
     private void removeLBSClusterSide(LBSClusterSide lbsClusterSide) {
         lbsClusterSides.remove(lbsClusterSide);
-        List<Link> linksCopy = new ArrayList<>(lbsClusterSide.getLinks());
-        linksCopy.forEach(link -> {
-            link.removeMe();
-            linkSet.remove(link);
-        });
+        for (Link link : lbsClusterSide.getLinks()) {
+            if (!link.isRemoved()) {
+                link.removeMe();
+                liveLinkCount--;
+            }
+        }
+        // purging the queue once most of its links are removed keeps its size proportional to the live links
+        if (linkQueue.size() > 2 * liveLinkCount + lbsClusterSides.size()) {
+            linkQueue.removeIf(Link::isRemoved);
+        }
     }
 
     boolean isEmpty() {
-        return linkSet.isEmpty();
+        return liveLinkCount == 0;
     }
 
     LBSCluster getFinalLBSCluster() {
-        return lbsClusterSides.get(0).getCluster();
+        return lbsClusterSides.iterator().next().getCluster();
     }
 }
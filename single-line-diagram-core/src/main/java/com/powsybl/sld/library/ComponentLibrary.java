@@ -35,6 +35,14 @@ public interface ComponentLibrary {
 
     Map<String, List<Element>> getSvgElements(String type);
 
+    /**
+     * Pre-serialized forms of the SVG elements returned by {@link #getSvgElements(String)}, indexed the same way.
+     * Returns null if the library does not provide such forms for the given type.
+     */
+    default Map<String, List<SvgFragment>> getSvgFragments(String type) {
+        return null;
+    }
+
     ComponentSize getSize(String type);
 
     boolean isAllowRotation(String type);
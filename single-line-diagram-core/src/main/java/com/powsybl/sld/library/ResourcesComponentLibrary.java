@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Library of resources components, that is, the SVG image files representing the components, together with the styles
@@ -39,6 +40,8 @@ public class ResourcesComponentLibrary implements ComponentLibrary {
 
     private final Map<String, Map<String, List<Element>>> svgDocuments = new HashMap<>();
 
+    private final Map<String, Map<String, List<SvgFragment>>> svgFragments = new HashMap<>();
+
     private final Map<String, Component> components = new HashMap<>();
 
     private final List<String> cssFilenames = new ArrayList<>();
@@ -81,7 +84,10 @@ public class ResourcesComponentLibrary implements ComponentLibrary {
                 LOGGER.debug("Reading subComponent {}", resourceName);
                 try {
                     Document doc = db.parse(getClass().getResourceAsStream(resourceName));
-                    svgDocuments.computeIfAbsent(componentType, k -> new TreeMap<>()).put(s.getName(), getElements(doc));
+                    List<Element> elements = getElements(doc);
+                    svgDocuments.computeIfAbsent(componentType, k -> new TreeMap<>()).put(s.getName(), elements);
+                    svgFragments.computeIfAbsent(componentType, k -> new TreeMap<>()).put(s.getName(),
+                        elements.stream().map(SvgFragment::create).collect(Collectors.toUnmodifiableList()));
                 } catch (SAXException e) {
                     throw new UncheckedSaxException(e);
                 } catch (IOException e) {
@@ -117,6 +123,12 @@ public class ResourcesComponentLibrary implements ComponentLibrary {
         return svgDocuments.get(type);
     }
 
+    @Override
+    public Map<String, List<SvgFragment>> getSvgFragments(String type) {
+        Objects.requireNonNull(type);
+        return svgFragments.get(type);
+    }
+
     @Override
     public List<AnchorPoint> getAnchorPoints(String type) {
         Objects.requireNonNull(type);
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.library;
+
+import com.powsybl.sld.util.IndentedXmlSerializer;
+import com.powsybl.sld.util.PreSerializedElement;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable pre-serialized form of a SVG element of a component. Only the attributes which may be changed when
+ * inserting the component in a diagram (id, class and transform) are kept apart: all the other attributes and the
+ * children of the element are serialized once for all. Setting one of these other attributes on the placeholder
+ * replaces the pre-serialized one.
+ * <p>
+ * The fragment is inserted in a document as an empty placeholder element, carrying the fragment as user data, and
+ * is written verbatim by {@link IndentedXmlSerializer}.
+ *
+ * @author agent <agent at local>
+ */
+public final class SvgFragment implements PreSerializedElement {
+
+    private static final Set<String> PLACEHOLDER_ATTRIBUTES = Set.of("id", "class", "transform");
+
+    private final String tagName;
+
+    private final Map<String, String> placeholderAttributes;
+
+    private final List<String> attributeNames;
+
+    private final List<String> serializedAttributes;
+
+    private final List<String> contentLines;
+
+    private SvgFragment(String tagName, Map<String, String> placeholderAttributes, List<String> attributeNames,
+                        List<String> serializedAttributes, List<String> contentLines) {
+        this.tagName = tagName;
+        this.placeholderAttributes = placeholderAttributes;
+        this.attributeNames = attributeNames;
+        this.serializedAttributes = serializedAttributes;
+        this.contentLines = contentLines;
+    }
+
+    public static SvgFragment create(Element element) {
+        Objects.requireNonNull(element);
+        Map<String, String> placeholderAttributes = new LinkedHashMap<>();
+        List<String> attributeNames = new ArrayList<>();
+        List<String> serializedAttributes = new ArrayList<>();
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            if (PLACEHOLDER_ATTRIBUTES.contains(attr.getName())) {
+                placeholderAttributes.put(attr.getName(), attr.getValue());
+            } else {
+                StringWriter attrWriter = new StringWriter();
+                new IndentedXmlSerializer(attrWriter).writeAttribute(attr.getName(), attr.getValue());
+                attributeNames.add(attr.getName());
+                serializedAttributes.add(attrWriter.toString());
+            }
+        }
+
+        StringWriter contentWriter = new StringWriter();
+        new IndentedXmlSerializer(contentWriter).writeContent(element, 0);
+        List<String> contentLines = Arrays.asList(contentWriter.toString().split(Pattern.quote(IndentedXmlSerializer.LINE_SEPARATOR), -1));
+
+        return new SvgFragment(element.getTagName(),
+            Collections.unmodifiableMap(placeholderAttributes),
+            Collections.unmodifiableList(attributeNames),
+            Collections.unmodifiableList(serializedAttributes),
+            Collections.unmodifiableList(contentLines));
+    }
+
+    /**
+     * Create the empty element standing for this fragment in the given document. Its attributes can be changed as for
+     * a copy of the original element.
+     */
+    public Element createPlaceholder(Document document) {
+        Element placeholder = document.createElement(tagName);
+        placeholderAttributes.forEach(placeholder::setAttribute);
+        placeholder.setUserData(PreSerializedElement.USER_DATA_KEY, this, null);
+        return placeholder;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    @Override
+    public List<String> getAttributeNames() {
+        return attributeNames;
+    }
+
+    @Override
+    public List<String> getSerializedAttributes() {
+        return serializedAttributes;
+    }
+
+    @Override
+    public List<String> getContentLines() {
+        return contentLines;
+    }
+}
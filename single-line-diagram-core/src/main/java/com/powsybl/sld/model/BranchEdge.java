@@ -6,14 +6,12 @@
  */
 package com.powsybl.sld.model;
 
-import java.util.List;
-
 /**
  * @author Slimane Amar <slimane.amar at rte-france.com>
  */
 public interface BranchEdge {
 
-    List<Double> getSnakeLine();
+    Polyline getSnakeLine();
 
-    void setSnakeLine(List<Double> snakeLine);
+    void setSnakeLine(Polyline snakeLine);
 }
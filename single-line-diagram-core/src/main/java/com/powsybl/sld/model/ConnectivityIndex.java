@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Connected components of a set of nodes, computed with a union-find structure in near-linear time.
+ * <p>
+ * Only the edges between two nodes of the set are taken into account. The components are numbered and their nodes
+ * listed in the order of the given nodes, so that the result is deterministic. The index is a snapshot: it is not
+ * updated when the graph changes afterwards.
+ *
+ * @author agent <agent at local>
+ */
+public final class ConnectivityIndex {
+
+    /**
+     * Filter excluding the open switches, which disconnect the nodes on each side of them
+     */
+    public static final Predicate<Node> NOT_OPEN_SWITCH = node -> node.getType() != Node.NodeType.SWITCH || !node.isOpen();
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Node, Integer> nodeIndexes = new HashMap<>();
+    private final int[] components;
+    private final int componentCount;
+    private List<List<Node>> componentsNodes;
+
+    private ConnectivityIndex(Collection<? extends Node> nodesIn, Predicate<Node> nodeFilter) {
+        for (Node node : nodesIn) {
+            if (nodeFilter.test(node) && nodeIndexes.putIfAbsent(node, nodes.size()) == null) {
+                nodes.add(node);
+            }
+        }
+
+        int nbNodes = nodes.size();
+        int[] parents = new int[nbNodes];
+        int[] sizes = new int[nbNodes];
+        for (int i = 0; i < nbNodes; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+        for (int i = 0; i < nbNodes; i++) {
+            Node node = nodes.get(i);
+            for (int k = 0; k < node.getAdjacentNodeCount(); k++) {
+                Integer j = nodeIndexes.get(node.getAdjacentNode(k));
+                if (j != null) {
+                    union(parents, sizes, i, j);
+                }
+            }
+        }
+
+        // components numbered in the order of their first node
+        components = new int[nbNodes];
+        int[] rootComponents = new int[nbNodes];
+        Arrays.fill(rootComponents, -1);
+        int count = 0;
+        for (int i = 0; i < nbNodes; i++) {
+            int root = find(parents, i);
+            if (rootComponents[root] < 0) {
+                rootComponents[root] = count++;
+            }
+            components[i] = rootComponents[root];
+        }
+        componentCount = count;
+    }
+
+    /**
+     * Returns the connectivity index of the given nodes
+     */
+    public static ConnectivityIndex of(Collection<? extends Node> nodes) {
+        return of(nodes, node -> true);
+    }
+
+    /**
+     * Returns the connectivity index of the given nodes accepted by the filter, the other nodes cutting the paths
+     * going through them
+     */
+    public static ConnectivityIndex of(Collection<? extends Node> nodes, Predicate<Node> nodeFilter) {
+        return new ConnectivityIndex(Objects.requireNonNull(nodes), Objects.requireNonNull(nodeFilter));
+    }
+
+    private static int find(int[] parents, int i) {
+        int root = i;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        // path compression
+        int j = i;
+        while (parents[j] != root) {
+            int next = parents[j];
+            parents[j] = root;
+            j = next;
+        }
+        return root;
+    }
+
+    private static void union(int[] parents, int[] sizes, int i, int j) {
+        int rootI = find(parents, i);
+        int rootJ = find(parents, j);
+        if (rootI == rootJ) {
+            return;
+        }
+        // union by size
+        if (sizes[rootI] < sizes[rootJ]) {
+            parents[rootI] = rootJ;
+            sizes[rootJ] += sizes[rootI];
+        } else {
+            parents[rootJ] = rootI;
+            sizes[rootI] += sizes[rootJ];
+        }
+    }
+
+    public boolean contains(Node node) {
+        return nodeIndexes.containsKey(node);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns the number of the component of the given node, from 0 to the number of components excluded, or -1 if
+     * the node is not indexed
+     */
+    public int getComponentNumber(Node node) {
+        Integer i = nodeIndexes.get(node);
+        return i != null ? components[i] : -1;
+    }
+
+    /**
+     * Returns true if both nodes are indexed and connected
+     */
+    public boolean areConnected(Node node1, Node node2) {
+        int component1 = getComponentNumber(node1);
+        return component1 >= 0 && component1 == getComponentNumber(node2);
+    }
+
+    /**
+     * Returns the nodes of the component of the given node, or an empty list if the node is not indexed
+     */
+    public List<Node> getComponent(Node node) {
+        int component = getComponentNumber(node);
+        return component >= 0 ? getComponents().get(component) : Collections.emptyList();
+    }
+
+    /**
+     * Returns the nodes of each component, the components being sorted by their number
+     */
+    public List<List<Node>> getComponents() {
+        if (componentsNodes == null) {
+            List<List<Node>> result = new ArrayList<>(componentCount);
+            for (int c = 0; c < componentCount; c++) {
+                result.add(new ArrayList<>());
+            }
+            for (int i = 0; i < nodes.size(); i++) {
+                result.get(components[i]).add(nodes.get(i));
+            }
+            result.replaceAll(Collections::unmodifiableList);
+            componentsNodes = Collections.unmodifiableList(result);
+        }
+        return componentsNodes;
+    }
+}
@@ -19,6 +19,6 @@ public class FictitiousNode extends Node {
     }
 
     public int getCardinality() {
-        return this.getAdjacentNodes().size() - (getType() == NodeType.SHUNT ? 1 : 0);
+        return getAdjacentNodeCount() - (getType() == NodeType.SHUNT ? 1 : 0);
     }
 }
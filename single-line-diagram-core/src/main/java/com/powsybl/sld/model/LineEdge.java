@@ -12,8 +12,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Massimo Ferraro <massimo.ferraro@techrain.eu>
@@ -45,19 +43,20 @@ public class LineEdge extends AbstractBranchEdge {
     }
 
     @Override
-    public List<Double> getSnakeLine() {
-        return getPoints()
-                .stream()
-                .flatMap(point -> Stream.of(point.getX(), point.getY()))
-                .collect(Collectors.toList());
+    public Polyline getSnakeLine() {
+        Polyline snakeLine = new Polyline();
+        for (Point point : points) {
+            snakeLine.append(point.getX(), point.getY());
+        }
+        return snakeLine;
     }
 
     @Override
-    public void setSnakeLine(List<Double> snakeLine) {
+    public void setSnakeLine(Polyline snakeLine) {
         Objects.requireNonNull(snakeLine);
-        points = new ArrayList<>();
-        for (int i = 0; i < snakeLine.size(); i += 2) {
-            addPoint(snakeLine.get(i), snakeLine.get(i + 1));
+        points = new ArrayList<>(snakeLine.getPointCount());
+        for (int i = 0; i < snakeLine.getPointCount(); i++) {
+            addPoint(snakeLine.getX(i), snakeLine.getY(i));
         }
     }
 
@@ -13,7 +13,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -140,10 +140,37 @@ public class Node implements BaseNode {
         this.label = label;
     }
 
+    /**
+     * Returns a new list of the adjacent nodes. In loops, prefer {@link #getAdjacentNodeCount()} and
+     * {@link #getAdjacentNode(int)}, or {@link #forEachAdjacentNode}, which do not allocate anything.
+     */
     public List<Node> getAdjacentNodes() {
-        return adjacentEdges.stream()
-                .map(edge -> edge.getNode1() == Node.this ? edge.getNode2() : edge.getNode1())
-                .collect(Collectors.toList());
+        List<Node> adjacentNodes = new ArrayList<>(adjacentEdges.size());
+        for (Edge edge : adjacentEdges) {
+            adjacentNodes.add(getOppositeNode(edge));
+        }
+        return adjacentNodes;
+    }
+
+    public int getAdjacentNodeCount() {
+        return adjacentEdges.size();
+    }
+
+    /**
+     * Returns the adjacent node at the given position, in the order of {@link #getAdjacentNodes()}
+     */
+    public Node getAdjacentNode(int index) {
+        return getOppositeNode(adjacentEdges.get(index));
+    }
+
+    public void forEachAdjacentNode(Consumer<Node> action) {
+        for (Edge edge : adjacentEdges) {
+            action.accept(getOppositeNode(edge));
+        }
+    }
+
+    private Node getOppositeNode(Edge edge) {
+        return edge.getNode1() == this ? edge.getNode2() : edge.getNode1();
     }
 
     public List<Edge> getAdjacentEdges() {
@@ -159,7 +186,8 @@ public class Node implements BaseNode {
     }
 
     public Stream<Node> getListNodeAdjInCell(Cell cell) {
-        return getAdjacentNodes().stream().filter(n -> cell.getNodes().contains(n));
+        List<Node> cellNodes = cell.getNodes();
+        return getAdjacentNodes().stream().filter(cellNodes::contains);
     }
 
     @Override
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import java.util.Arrays;
+
+/**
+ * Polyline points x1, y1, x2, y2... stored in a growable array of primitive doubles, so that no coordinate is boxed
+ * when computing, splitting and writing the wires and snake lines of a diagram.
+ *
+ * @author agent <agent at local>
+ */
+public final class Polyline {
+
+    private static final int DEFAULT_CAPACITY = 12;
+
+    private double[] coordinates;
+
+    private int size;
+
+    public Polyline() {
+        this.coordinates = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Create a polyline from the given coordinates x1, y1, x2, y2...
+     */
+    public Polyline(double... coordinates) {
+        if (coordinates.length % 2 != 0) {
+            throw new IllegalArgumentException("Odd number of polyline coordinates: " + coordinates.length);
+        }
+        this.coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length, DEFAULT_CAPACITY));
+        this.size = coordinates.length;
+    }
+
+    public int getPointCount() {
+        return size / 2;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getX(int point) {
+        return coordinates[checkPoint(point)];
+    }
+
+    public double getY(int point) {
+        return coordinates[checkPoint(point) + 1];
+    }
+
+    public Polyline setPoint(int point, double x, double y) {
+        int i = checkPoint(point);
+        coordinates[i] = x;
+        coordinates[i + 1] = y;
+        return this;
+    }
+
+    public Polyline append(double x, double y) {
+        ensureCapacity(size + 2);
+        coordinates[size++] = x;
+        coordinates[size++] = y;
+        return this;
+    }
+
+    /**
+     * Append the points of the given polyline, from point <code>fromPoint</code> (inclusive) to point
+     * <code>toPoint</code> (exclusive)
+     */
+    public Polyline append(Polyline other, int fromPoint, int toPoint) {
+        if (fromPoint < 0 || toPoint > other.getPointCount() || fromPoint > toPoint) {
+            throw new IndexOutOfBoundsException("Invalid points range [" + fromPoint + ", " + toPoint + "[ for " + other.getPointCount() + " points");
+        }
+        int length = 2 * (toPoint - fromPoint);
+        ensureCapacity(size + length);
+        System.arraycopy(other.coordinates, 2 * fromPoint, coordinates, size, length);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Returns a new polyline made of the points of this polyline, from point <code>fromPoint</code> (inclusive) to
+     * point <code>toPoint</code> (exclusive)
+     */
+    public Polyline split(int fromPoint, int toPoint) {
+        return new Polyline().append(this, fromPoint, toPoint);
+    }
+
+    /**
+     * Translate in place all the points of this polyline
+     */
+    public Polyline translate(double dx, double dy) {
+        for (int i = 0; i < size; i += 2) {
+            coordinates[i] += dx;
+            coordinates[i + 1] += dy;
+        }
+        return this;
+    }
+
+    /**
+     * Returns a new polyline with the same points in reverse order
+     */
+    public Polyline reverse() {
+        Polyline reversed = new Polyline();
+        reversed.ensureCapacity(size);
+        for (int i = size - 2; i >= 0; i -= 2) {
+            reversed.coordinates[reversed.size++] = coordinates[i];
+            reversed.coordinates[reversed.size++] = coordinates[i + 1];
+        }
+        return reversed;
+    }
+
+    public Polyline copy() {
+        return split(0, getPointCount());
+    }
+
+    /**
+     * Returns a copy of the coordinates x1, y1, x2, y2... of this polyline
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(coordinates, size);
+    }
+
+    private int checkPoint(int point) {
+        if (point < 0 || point >= getPointCount()) {
+            throw new IndexOutOfBoundsException("Point " + point + " out of polyline with " + getPointCount() + " points");
+        }
+        return 2 * point;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, Math.max(capacity, 2 * coordinates.length));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Polyline)) {
+            return false;
+        }
+        Polyline other = (Polyline) o;
+        return Arrays.equals(coordinates, 0, size, other.coordinates, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            long bits = Double.doubleToLongBits(coordinates[i]);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -46,10 +46,10 @@ public class SwitchNode extends Node {
 
     public Node getOtherAdjNode(Node adj) {
         // a switch node has 2 and only 2 adjacent nodes.
-        if (getAdjacentNodes().size() != 2) {
+        if (getAdjacentNodeCount() != 2) {
             throw new PowsyblException("Error switch node not having exactly 2 adjacent nodes " + getId());
         }
-        return getAdjacentNodes().get(getAdjacentNodes().get(0).equals(adj) ? 1 : 0);
+        return getAdjacentNode(getAdjacentNode(0).equals(adj) ? 1 : 0);
     }
 
     @Override
@@ -9,8 +9,6 @@ package com.powsybl.sld.model;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -18,19 +16,19 @@ import java.util.Objects;
  */
 public class TwtEdge extends AbstractBranchEdge {
 
-    private List<Double> snakeLine = new ArrayList<>();
+    private Polyline snakeLine = new Polyline();
 
     public TwtEdge(Node node1, Node node2) {
         super(node1, node2);
     }
 
     @Override
-    public List<Double> getSnakeLine() {
+    public Polyline getSnakeLine() {
         return snakeLine;
     }
 
     @Override
-    public void setSnakeLine(List<Double> snakeLine) {
+    public void setSnakeLine(Polyline snakeLine) {
         this.snakeLine = Objects.requireNonNull(snakeLine);
     }
 
@@ -46,8 +44,8 @@ public class TwtEdge extends AbstractBranchEdge {
         generator.writeEndArray();
         if (generateCoordsInJson) {
             generator.writeArrayFieldStart("snakeLine");
-            for (Double point : snakeLine) {
-                generator.writeNumber(point);
+            for (double coordinate : snakeLine.toArray()) {
+                generator.writeNumber(coordinate);
             }
             generator.writeEndArray();
         }
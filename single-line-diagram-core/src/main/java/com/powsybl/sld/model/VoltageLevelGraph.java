@@ -40,17 +40,21 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
 
     private final boolean useName;
 
-    private final List<Node> nodes = new ArrayList<>();
+    // linked sets, so that nodes and edges are removed in constant time while iterated in insertion order
+    private final Set<Node> nodes = new LinkedHashSet<>();
 
-    private final List<Edge> edges = new ArrayList<>();
+    private final Set<Edge> edges = new LinkedHashSet<>();
 
     private final SortedSet<Cell> cells = new TreeSet<>(
             Comparator.comparingInt(Cell::getNumber)); // cells sorted to avoid randomness
 
-    private final Map<Node.NodeType, List<Node>> nodesByType = new EnumMap<>(Node.NodeType.class);
+    private final Map<Node.NodeType, Set<Node>> nodesByType = new EnumMap<>(Node.NodeType.class);
 
     private final Map<String, Node> nodesById = new HashMap<>();
 
+    // fictitious switches inserted between a switch and the buses it links, by extended switch
+    private final Map<SwitchNode, List<SwitchNode>> fictitiousSwitchesBySwitch = new HashMap<>();
+
     private int maxHorizontalBusPosition = 0;
     private int maxVerticalBusPosition = 0;
 
@@ -107,14 +111,13 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
                 .collect(Collectors.toList());
         for (Node n : fictitiousNodesToRemove) {
             if (n.getAdjacentEdges().size() == 2) {
-                List<Node> adjNodes = n.getAdjacentNodes();
-                Node node1 = adjNodes.get(0);
-                Node node2 = adjNodes.get(1);
+                Node node1 = n.getAdjacentNode(0);
+                Node node2 = n.getAdjacentNode(1);
                 LOGGER.info("Remove fictitious node {} between {} and {}", n.getId(), node1.getId(), node2.getId());
                 removeNode(n);
                 addEdge(node1, node2);
             } else {
-                LOGGER.info("Working on fictitious node {} with {} adjacent nodes", n.getId(), n.getAdjacentNodes().size());
+                LOGGER.info("Working on fictitious node {} with {} adjacent nodes", n.getId(), n.getAdjacentNodeCount());
                 Node busNode = n.getAdjacentNodes().stream().filter(node -> node.getType() == Node.NodeType.BUS).findFirst().orElse(null);
                 if (busNode != null) {
                     n.getAdjacentNodes().stream().filter(node -> !node.equals(busNode)).forEach(node -> {
@@ -179,13 +182,13 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
             throw new AssertionError("The node cannot be added, it is already in the graph");
         }
         nodes.add(node);
-        nodesByType.computeIfAbsent(node.getType(), nodeType -> new ArrayList<>()).add(node);
+        nodesByType.computeIfAbsent(node.getType(), nodeType -> new LinkedHashSet<>()).add(node);
         nodesById.put(node.getId(), node);
     }
 
     public void removeNode(Node node) {
         nodes.remove(node);
-        nodesByType.computeIfAbsent(node.getType(), nodeType -> new ArrayList<>()).remove(node);
+        nodesByType.computeIfAbsent(node.getType(), nodeType -> new LinkedHashSet<>()).remove(node);
         nodesById.remove(node.getId());
         for (Edge edge : new ArrayList<>(node.getAdjacentEdges())) {
             removeEdge(edge);
@@ -239,29 +242,33 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
     }
 
     /**
-     * Resolve when one EQ is connected with 2 switchs component
+     * Returns the connected components of the given nodes, considering only the edges between them. The components
+     * are sorted by their first node in the given list, and their nodes are in the order of the given list.
      */
-    private void rIdentifyConnexComponent(Node node, List<Node> nodesIn, List<Node> connexComponent) {
-        if (!connexComponent.contains(node)) {
-            connexComponent.add(node);
-            node.getAdjacentNodes()
-                    .stream()
-                    .filter(nodesIn::contains)
-                    .forEach(n -> rIdentifyConnexComponent(n, nodesIn, connexComponent));
-        }
+    public List<List<Node>> getConnexComponents(List<Node> nodesIn) {
+        return ConnectivityIndex.of(nodesIn).getComponents().stream()
+                .map(ArrayList::new)
+                .collect(Collectors.toList());
     }
 
-    public List<List<Node>> getConnexComponents(List<Node> nodesIn) {
-        List<Node> nodesToHandle = new ArrayList<>(nodesIn);
-        List<List<Node>> result = new ArrayList<>();
-        while (!nodesToHandle.isEmpty()) {
-            Node n = nodesToHandle.get(0);
-            List<Node> connexComponent = new ArrayList<>();
-            rIdentifyConnexComponent(n, nodesIn, connexComponent);
-            nodesToHandle.removeAll(connexComponent);
-            result.add(connexComponent);
-        }
-        return result;
+    /**
+     * Returns the connectivity index of the nodes of this graph accepted by the given filter, for instance
+     * {@link ConnectivityIndex#NOT_OPEN_SWITCH}
+     */
+    public ConnectivityIndex getConnectivityIndex(Predicate<Node> nodeFilter) {
+        return ConnectivityIndex.of(nodes, nodeFilter);
+    }
+
+    public ConnectivityIndex getConnectivityIndex() {
+        return ConnectivityIndex.of(nodes);
+    }
+
+    /**
+     * Returns an immutable compressed snapshot of the current topology of this graph, on which the layout algorithms
+     * can run without walking the node and edge objects
+     */
+    public VoltageLevelGraphSnapshot createSnapshot() {
+        return new VoltageLevelGraphSnapshot(nodes);
     }
 
     public void setMaxBusPosition() {
@@ -305,7 +312,7 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
      */
     public void insertFictitiousNodesAtFeeders() {
         List<Node> nodesToAdd = new ArrayList<>();
-        List<Node> feederNodes = nodesByType.computeIfAbsent(Node.NodeType.FEEDER, nodeType -> new ArrayList<>());
+        Set<Node> feederNodes = nodesByType.computeIfAbsent(Node.NodeType.FEEDER, nodeType -> new LinkedHashSet<>());
         for (Node feederNode : feederNodes) {
             List<Node> adjacentNodes = feederNode.getAdjacentNodes();
             if (isFeederConnectedToBus(feederNode)) {
@@ -335,21 +342,28 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
     }
 
     private boolean isFeederConnectedToBus(Node feederNode) {
-        List<Node> adjacentNodes = feederNode.getAdjacentNodes();
-        return adjacentNodes.size() == 1 && adjacentNodes.get(0).getType() == Node.NodeType.BUS;
+        return feederNode.getAdjacentNodeCount() == 1 && feederNode.getAdjacentNode(0).getType() == Node.NodeType.BUS;
     }
 
     private boolean isFeederConnectedToBusDisconnector(Node feederNode) {
-        List<Node> adjacentNodes = feederNode.getAdjacentNodes();
-        return adjacentNodes.size() == 1
-            && adjacentNodes.get(0).getType() == Node.NodeType.SWITCH
-            && ((SwitchNode) adjacentNodes.get(0)).getKind() == SwitchNode.SwitchKind.DISCONNECTOR
-            && adjacentNodes.get(0).getAdjacentNodes().stream().anyMatch(n -> n.getType() == Node.NodeType.BUS);
+        if (feederNode.getAdjacentNodeCount() != 1) {
+            return false;
+        }
+        Node adjacentNode = feederNode.getAdjacentNode(0);
+        if (adjacentNode.getType() != Node.NodeType.SWITCH || ((SwitchNode) adjacentNode).getKind() != SwitchNode.SwitchKind.DISCONNECTOR) {
+            return false;
+        }
+        for (int i = 0; i < adjacentNode.getAdjacentNodeCount(); i++) {
+            if (adjacentNode.getAdjacentNode(i).getType() == Node.NodeType.BUS) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean isFeeder3WT(Node feederNode) {
-        List<Node> adjacentNodes = feederNode.getAdjacentNodes();
-        return adjacentNodes.size() == 1 && adjacentNodes.get(0).getComponentType().equals(ComponentTypeName.THREE_WINDINGS_TRANSFORMER);
+        return feederNode.getAdjacentNodeCount() == 1
+            && feederNode.getAdjacentNode(0).getComponentType().equals(ComponentTypeName.THREE_WINDINGS_TRANSFORMER);
     }
 
     private void addTripleNode(Node busNode, Node feederNode, List<Node> nodesToAdd) {
@@ -433,8 +447,17 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
 
     public void extendSwitchBetweenBus(SwitchNode nodeSwitch) {
         List<Node> copyAdj = new ArrayList<>(nodeSwitch.getAdjacentNodes());
-        addDoubleNode((BusNode) copyAdj.get(0), nodeSwitch, "0");
-        addDoubleNode((BusNode) copyAdj.get(1), nodeSwitch, "1");
+        SwitchNode fSwitch0 = addDoubleNode((BusNode) copyAdj.get(0), nodeSwitch, "0");
+        SwitchNode fSwitch1 = addDoubleNode((BusNode) copyAdj.get(1), nodeSwitch, "1");
+        fictitiousSwitchesBySwitch.put(nodeSwitch, Arrays.asList(fSwitch0, fSwitch1));
+    }
+
+    /**
+     * Returns the fictitious switches inserted between the given switch and the buses it links by
+     * {@link #extendSwitchBetweenBus}, or an empty list if the switch has not been extended.
+     */
+    public List<SwitchNode> getFictitiousSwitches(SwitchNode nodeSwitch) {
+        return fictitiousSwitchesBySwitch.getOrDefault(nodeSwitch, Collections.emptyList());
     }
 
     public InternalNode insertInternalNode(Node node1, Node node2, String id) {
@@ -446,7 +469,7 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
         return iNode;
     }
 
-    private void addDoubleNode(BusNode busNode, Node node, String suffix) {
+    private SwitchNode addDoubleNode(BusNode busNode, Node node, String suffix) {
         removeEdge(busNode, node);
         SwitchNode fNodeToBus = SwitchNode.createFictitious(VoltageLevelGraph.this, node.getId() + "fSwitch" + suffix, node.isOpen());
         addNode(fNodeToBus);
@@ -455,6 +478,7 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
         addEdge(busNode, fNodeToBus);
         addEdge(fNodeToBus, fNodeToSw);
         addEdge(fNodeToSw, node);
+        return fNodeToBus;
     }
 
     /**
@@ -465,13 +489,22 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
      * @param newNode:    node which will substitute the first one
      */
     public void substituteNode(Node nodeOrigin, Node newNode) {
-        while (!nodeOrigin.getAdjacentEdges().isEmpty()) {
-            Edge edge = nodeOrigin.getAdjacentEdges().get(0);
-            Node node1 = edge.getNode1() == nodeOrigin ? newNode : edge.getNode1();
-            Node node2 = edge.getNode2() == nodeOrigin ? newNode : edge.getNode2();
-            addEdge(node1, node2);
-            removeEdge(edge);
+        // the adjacent edges of the origin node are cleared at once when it is removed, instead of being removed one
+        // by one from the head of its adjacency list, which took a time quadratic in its degree
+        for (Edge edge : new ArrayList<>(nodeOrigin.getAdjacentEdges())) {
+            if (edges.remove(edge)) { // a loop edge is listed twice
+                Node node1 = edge.getNode1() == nodeOrigin ? newNode : edge.getNode1();
+                Node node2 = edge.getNode2() == nodeOrigin ? newNode : edge.getNode2();
+                addEdge(node1, node2);
+                if (edge.getNode1() != nodeOrigin) {
+                    edge.getNode1().removeAdjacentEdge(edge);
+                }
+                if (edge.getNode2() != nodeOrigin) {
+                    edge.getNode2().removeAdjacentEdge(edge);
+                }
+            }
         }
+        nodeOrigin.getAdjacentEdges().clear();
         removeNode(nodeOrigin);
     }
 
@@ -528,7 +561,7 @@ public class VoltageLevelGraph extends AbstractBaseGraph {
     }
 
     public List<BusNode> getNodeBuses() {
-        return nodesByType.computeIfAbsent(Node.NodeType.BUS, nodeType -> new ArrayList<>())
+        return nodesByType.computeIfAbsent(Node.NodeType.BUS, nodeType -> new LinkedHashSet<>())
                 .stream()
                 .map(BusNode.class::cast)
                 .collect(Collectors.toList());
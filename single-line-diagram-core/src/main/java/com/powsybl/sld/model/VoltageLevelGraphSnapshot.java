@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the topology of a {@link VoltageLevelGraph}, stored in compressed sparse row format.
+ * <p>
+ * The nodes are given ids from 0 to the number of nodes excluded, in the order of the graph nodes. The adjacent nodes
+ * of the node <code>i</code> are the ids stored in the neighbours array between the positions
+ * {@link #getNeighboursStart(int)} included and {@link #getNeighboursEnd(int)} excluded, in the order of
+ * {@link Node#getAdjacentNodes()}; the edges towards nodes which are not in the graph are left out. The node types are
+ * stored in an array indexed by the node ids.
+ * <p>
+ * The snapshot is not updated when the graph changes afterwards: the algorithms using it write their results back to
+ * the nodes of the graph, which are retrieved with {@link #getNode(int)}.
+ *
+ * @author agent <agent at local>
+ */
+public final class VoltageLevelGraphSnapshot {
+
+    private static final Node.NodeType[] NODE_TYPES = Node.NodeType.values();
+
+    private final Node[] nodes;
+    private final Map<Node, Integer> nodeIds;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final byte[] types;
+
+    VoltageLevelGraphSnapshot(Collection<Node> graphNodes) {
+        int nbNodes = graphNodes.size();
+        nodes = graphNodes.toArray(new Node[0]);
+        nodeIds = new HashMap<>(2 * nbNodes);
+        types = new byte[nbNodes];
+        for (int i = 0; i < nbNodes; i++) {
+            Node node = nodes[i];
+            nodeIds.put(node, i);
+            types[i] = (byte) node.getType().ordinal();
+        }
+
+        offsets = new int[nbNodes + 1];
+        for (int i = 0; i < nbNodes; i++) {
+            int degree = 0;
+            for (int k = 0; k < nodes[i].getAdjacentNodeCount(); k++) {
+                if (nodeIds.containsKey(nodes[i].getAdjacentNode(k))) {
+                    degree++;
+                }
+            }
+            offsets[i + 1] = offsets[i] + degree;
+        }
+        neighbours = new int[offsets[nbNodes]];
+        for (int i = 0; i < nbNodes; i++) {
+            int position = offsets[i];
+            for (int k = 0; k < nodes[i].getAdjacentNodeCount(); k++) {
+                Integer j = nodeIds.get(nodes[i].getAdjacentNode(k));
+                if (j != null) {
+                    neighbours[position++] = j;
+                }
+            }
+        }
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the id of the given node, or -1 if the node is not in the snapshot
+     */
+    public int getNodeId(Node node) {
+        Integer id = nodeIds.get(node);
+        return id != null ? id : -1;
+    }
+
+    public Node getNode(int id) {
+        return nodes[id];
+    }
+
+    public Node.NodeType getType(int id) {
+        return NODE_TYPES[types[id]];
+    }
+
+    public int getDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the position in the neighbours array of the first adjacent node of the given node
+     */
+    public int getNeighboursStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Returns the position in the neighbours array following the last adjacent node of the given node
+     */
+    public int getNeighboursEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the id of the node at the given position of the neighbours array
+     */
+    public int getNeighbour(int position) {
+        return neighbours[position];
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Base class of the provider decorators memoizing the results of the decorated provider during a write.
+ * <p>
+ * The results are cached only between {@link #beginWrite()} and the matching {@link #endWrite()}, which are called by
+ * the SVG writers around each write: outside a write the calls are delegated without caching. The decorators are not
+ * thread-safe: a decorator must not be used by several writes at the same time.
+ *
+ * @author agent <agent at local>
+ */
+abstract class AbstractCachingProvider {
+
+    private int writeDepth;
+
+    private long hitCount;
+
+    private long missCount;
+
+    /**
+     * Starts caching the results, until the matching call to {@link #endWrite()}
+     */
+    public void beginWrite() {
+        writeDepth++;
+    }
+
+    /**
+     * Ends a write, clearing the cached results if it is the outermost one
+     */
+    public void endWrite() {
+        if (writeDepth == 0) {
+            throw new IllegalStateException("No write in progress");
+        }
+        if (--writeDepth == 0) {
+            clearCaches();
+        }
+    }
+
+    public boolean isWriting() {
+        return writeDepth > 0;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    protected abstract void clearCaches();
+
+    protected <K, V> V get(Map<K, V> cache, K key, Function<K, V> loader) {
+        if (writeDepth == 0) {
+            return loader.apply(key);
+        }
+        V value = cache.get(key);
+        if (value != null) {
+            hitCount++;
+            return value;
+        }
+        missCount++;
+        value = loader.apply(key);
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the values of the given keys, loading the ones which are not cached in one call to the loader
+     */
+    protected <K, V> Map<K, V> getAll(Map<K, V> cache, Collection<? extends K> keys, Function<List<K>, Map<K, V>> loader) {
+        if (writeDepth == 0) {
+            return loader.apply(new ArrayList<>(keys));
+        }
+        List<K> missingKeys = new ArrayList<>();
+        for (K key : keys) {
+            if (cache.containsKey(key)) {
+                hitCount++;
+            } else {
+                missCount++;
+                missingKeys.add(key);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            loader.apply(missingKeys).forEach((key, value) -> {
+                if (value != null) {
+                    cache.put(key, value);
+                }
+            });
+        }
+        Map<K, V> values = new LinkedHashMap<>();
+        for (K key : keys) {
+            values.put(key, cache.get(key));
+        }
+        return values;
+    }
+}
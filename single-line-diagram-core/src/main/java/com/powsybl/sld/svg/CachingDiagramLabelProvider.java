@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.model.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Label provider memoizing the initial values, labels and decorators given by another label provider for each node
+ * during a write, see {@link AbstractCachingProvider}. The returned lists are copies of the cached ones.
+ *
+ * @author agent <agent at local>
+ */
+public class CachingDiagramLabelProvider extends AbstractCachingProvider implements DiagramLabelProvider {
+
+    private final DiagramLabelProvider delegate;
+
+    private final Map<Node, InitialValue> initialValues = new IdentityHashMap<>();
+
+    private final Map<Node, List<NodeLabel>> nodeLabels = new IdentityHashMap<>();
+
+    private final Map<Node, List<NodeDecorator>> nodeDecorators = new IdentityHashMap<>();
+
+    public CachingDiagramLabelProvider(DiagramLabelProvider delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    public DiagramLabelProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public InitialValue getInitialValue(Node node) {
+        return get(initialValues, node, delegate::getInitialValue);
+    }
+
+    @Override
+    public Map<Node, InitialValue> getInitialValues(Collection<? extends Node> nodes) {
+        return getAll(initialValues, nodes, delegate::getInitialValues);
+    }
+
+    @Override
+    public List<NodeLabel> getNodeLabels(Node node) {
+        return copy(get(nodeLabels, node, delegate::getNodeLabels));
+    }
+
+    @Override
+    public List<NodeDecorator> getNodeDecorators(Node node) {
+        return copy(get(nodeDecorators, node, delegate::getNodeDecorators));
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        // a null list, which the writer tolerates for the decorators, is given back as is
+        return list != null ? new ArrayList<>(list) : null;
+    }
+
+    @Override
+    protected void clearCaches() {
+        initialValues.clear();
+        nodeLabels.clear();
+        nodeDecorators.clear();
+    }
+}
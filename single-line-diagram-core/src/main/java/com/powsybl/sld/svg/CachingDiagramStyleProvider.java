@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.library.ComponentLibrary;
+import com.powsybl.sld.model.Edge;
+import com.powsybl.sld.model.LineEdge;
+import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.VoltageLevelGraph;
+
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Style provider memoizing the styles given by another style provider for each node and edge during a write, see
+ * {@link AbstractCachingProvider}.
+ * <p>
+ * The component library and the flags given to the provider are the ones of the SVG writer, which are the same
+ * during a write: they are not part of the cache keys. The returned lists are copies of the cached ones, as the
+ * writers add their own styles to them.
+ *
+ * @author agent <agent at local>
+ */
+public class CachingDiagramStyleProvider extends AbstractCachingProvider implements DiagramStyleProvider {
+
+    private final DiagramStyleProvider delegate;
+
+    private final Map<Edge, List<String>> wireStyles = new IdentityHashMap<>();
+
+    private final Map<Node, List<String>> nodeStyles = new IdentityHashMap<>();
+
+    private final Map<Node, Map<DiagramLabelProvider.NodeDecorator, List<String>>> nodeDecoratorStyles = new IdentityHashMap<>();
+
+    private final Map<LineEdge, List<String>> zoneLineStyles = new IdentityHashMap<>();
+
+    private final Map<Node, Map<String, List<String>>> nodeSubcomponentStyles = new IdentityHashMap<>();
+
+    private final Map<VoltageLevelGraph, List<ElectricalNodeInfo>> electricalNodesInfos = new IdentityHashMap<>();
+
+    public CachingDiagramStyleProvider(DiagramStyleProvider delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    public DiagramStyleProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<String> getSvgWireStyles(Edge edge, boolean highlightLineState) {
+        return new ArrayList<>(get(wireStyles, edge, e -> delegate.getSvgWireStyles(e, highlightLineState)));
+    }
+
+    @Override
+    public List<String> getSvgNodeStyles(Node node, ComponentLibrary componentLibrary, boolean showInternalNodes) {
+        return new ArrayList<>(get(nodeStyles, node, n -> delegate.getSvgNodeStyles(n, componentLibrary, showInternalNodes)));
+    }
+
+    @Override
+    public List<String> getSvgNodeDecoratorStyles(DiagramLabelProvider.NodeDecorator nodeDecorator, Node node, ComponentLibrary componentLibrary) {
+        Map<DiagramLabelProvider.NodeDecorator, List<String>> styles = isWriting()
+                ? nodeDecoratorStyles.computeIfAbsent(node, n -> new IdentityHashMap<>())
+                : Collections.emptyMap();
+        return new ArrayList<>(get(styles, nodeDecorator, d -> delegate.getSvgNodeDecoratorStyles(d, node, componentLibrary)));
+    }
+
+    @Override
+    public List<String> getZoneLineStyles(LineEdge edge, ComponentLibrary componentLibrary) {
+        return new ArrayList<>(get(zoneLineStyles, edge, e -> delegate.getZoneLineStyles(e, componentLibrary)));
+    }
+
+    @Override
+    public List<String> getSvgNodeSubcomponentStyles(Node node, String subComponentName) {
+        Map<String, List<String>> styles = isWriting()
+                ? nodeSubcomponentStyles.computeIfAbsent(node, n -> new HashMap<>())
+                : Collections.emptyMap();
+        return new ArrayList<>(get(styles, subComponentName, s -> delegate.getSvgNodeSubcomponentStyles(node, s)));
+    }
+
+    @Override
+    public List<ElectricalNodeInfo> getElectricalNodesInfos(VoltageLevelGraph graph) {
+        return new ArrayList<>(get(electricalNodesInfos, graph, delegate::getElectricalNodesInfos));
+    }
+
+    @Override
+    public void reset() {
+        clearCaches();
+        delegate.reset();
+    }
+
+    @Override
+    protected void clearCaches() {
+        wireStyles.clear();
+        nodeStyles.clear();
+        nodeDecoratorStyles.clear();
+        zoneLineStyles.clear();
+        nodeSubcomponentStyles.clear();
+        electricalNodesInfos.clear();
+    }
+
+    @Override
+    public List<String> getCssFilenames() {
+        return delegate.getCssFilenames();
+    }
+
+    @Override
+    public List<URL> getCssUrls() {
+        return delegate.getCssUrls();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.model.Polyline;
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * Formatter of the numbers written in SVG attributes (coordinates, points and transforms), appending them to a reused
+ * buffer without creating any intermediate String or boxed value.
+ * <p>
+ * With a negative precision, numbers are written as {@link Double#toString(double)} does, and transform matrix
+ * coefficients are rounded to 4 decimals, as the SVG writer always did. With a positive or zero precision, numbers are
+ * rounded to that number of decimals and written without trailing zeros.
+ * <p>
+ * A formatter is not thread-safe.
+ *
+ * @author agent <agent at local>
+ */
+public final class CoordinateFormatter {
+
+    private static final int MAX_PRECISION = 9;
+    private static final int LEGACY_MATRIX_PRECISION = 4;
+    private static final long[] POWERS_OF_TEN = new long[MAX_PRECISION + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final StringBuilder builder = new StringBuilder(64);
+
+    private final char[] digits = new char[20];
+
+    private int precision;
+
+    public CoordinateFormatter() {
+        this(-1);
+    }
+
+    public CoordinateFormatter(int precision) {
+        setPrecision(precision);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public CoordinateFormatter setPrecision(int precision) {
+        this.precision = Math.min(precision, MAX_PRECISION);
+        return this;
+    }
+
+    public String format(double value) {
+        builder.setLength(0);
+        append(value);
+        return builder.toString();
+    }
+
+    public String translate(double x, double y) {
+        builder.setLength(0);
+        builder.append("translate(");
+        append(x).append(',');
+        append(y).append(')');
+        return builder.toString();
+    }
+
+    public String rotate(double angle, double cx, double cy) {
+        builder.setLength(0);
+        builder.append("rotate(");
+        append(angle).append(',');
+        append(cx).append(',');
+        append(cy).append(')');
+        return builder.toString();
+    }
+
+    public String matrix(double a, double b, double c, double d, double e, double f) {
+        builder.setLength(0);
+        builder.append("matrix(");
+        appendMatrixCoefficient(a).append(',');
+        appendMatrixCoefficient(b).append(',');
+        appendMatrixCoefficient(c).append(',');
+        appendMatrixCoefficient(d).append(',');
+        appendMatrixCoefficient(e).append(',');
+        appendMatrixCoefficient(f).append(')');
+        return builder.toString();
+    }
+
+    /**
+     * Format the coordinates x1, y1, x2, y2... of the given polyline as a comma separated list, after translating them
+     */
+    public String points(Polyline polyline, double translateX, double translateY) {
+        builder.setLength(0);
+        for (int i = 0; i < polyline.getPointCount(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            append(polyline.getX(i) + translateX).append(',');
+            append(polyline.getY(i) + translateY);
+        }
+        return builder.toString();
+    }
+
+    private StringBuilder appendMatrixCoefficient(double value) {
+        return precision < 0 ? builder.append(Precision.round(value, LEGACY_MATRIX_PRECISION)) : append(value);
+    }
+
+    private StringBuilder append(double value) {
+        if (precision < 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            return builder.append(value);
+        }
+        double scaled = Math.abs(value) * POWERS_OF_TEN[precision];
+        if (scaled >= Long.MAX_VALUE) {
+            return builder.append(value);
+        }
+        long rounded = Math.round(scaled);
+        if (rounded != 0 && value < 0) {
+            builder.append('-');
+        }
+        long integerPart = rounded / POWERS_OF_TEN[precision];
+        long fractionalPart = rounded % POWERS_OF_TEN[precision];
+
+        appendDigits(integerPart, 1);
+        if (fractionalPart != 0) {
+            int decimals = precision;
+            while (fractionalPart % 10 == 0) {
+                fractionalPart /= 10;
+                decimals--;
+            }
+            builder.append('.');
+            appendDigits(fractionalPart, decimals);
+        }
+        return builder;
+    }
+
+    private void appendDigits(long value, int minDigits) {
+        int pos = digits.length;
+        long v = value;
+        do {
+            digits[--pos] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        while (digits.length - pos < minDigits) {
+            digits[--pos] = '0';
+        }
+        builder.append(digits, pos, digits.length - pos);
+    }
+}
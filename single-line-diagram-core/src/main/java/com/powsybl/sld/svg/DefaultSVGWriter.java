@@ -15,7 +15,6 @@ import com.powsybl.sld.svg.GraphMetadata.ArrowMetadata;
 import com.powsybl.sld.util.DomUtil;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.math3.util.Precision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.*;
@@ -29,6 +28,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -45,8 +45,8 @@ import static com.powsybl.sld.svg.DiagramStyles.*;
  */
 public class DefaultSVGWriter implements SVGWriter {
 
-    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
-    private static final String SVG_QUALIFIED_NAME = "svg";
+    protected static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    protected static final String SVG_QUALIFIED_NAME = "svg";
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultSVGWriter.class);
 
@@ -67,6 +67,8 @@ public class DefaultSVGWriter implements SVGWriter {
 
     protected final LayoutParameters layoutParameters;
 
+    private final ThreadLocal<CoordinateFormatter> coordinateFormatter = ThreadLocal.withInitial(CoordinateFormatter::new);
+
     public DefaultSVGWriter(ComponentLibrary componentLibrary, LayoutParameters layoutParameters) {
         this.componentLibrary = Objects.requireNonNull(componentLibrary);
         this.layoutParameters = Objects.requireNonNull(layoutParameters);
@@ -103,20 +105,42 @@ public class DefaultSVGWriter implements SVGWriter {
                                DiagramLabelProvider labelProvider,
                                DiagramStyleProvider styleProvider,
                                Writer writer) {
-        DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
+        return writeInScope(labelProvider, styleProvider, () -> {
+            DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
 
-        Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
+            Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
 
-        Set<String> listUsedComponentSVG = new HashSet<>();
-        addStyle(document, styleProvider, labelProvider, Collections.singletonList(graph), listUsedComponentSVG);
+            Set<String> listUsedComponentSVG = new HashSet<>();
+            addStyle(document, styleProvider, labelProvider, Collections.singletonList(graph), listUsedComponentSVG);
 
-        createDefsSVGComponents(document, listUsedComponentSVG);
+            createDefsSVGComponents(document, listUsedComponentSVG);
 
-        GraphMetadata metadata = writeGraph(prefixId, graph, document, labelProvider, styleProvider);
+            GraphMetadata metadata = writeGraph(prefixId, graph, document, labelProvider, styleProvider);
 
-        DomUtil.transformDocument(document, writer);
+            DomUtil.transformDocument(document, writer);
 
-        return metadata;
+            return metadata;
+        });
+    }
+
+    /**
+     * Runs the given write, the caching style and label providers keeping their results until it is done
+     */
+    protected static GraphMetadata writeInScope(DiagramLabelProvider labelProvider, DiagramStyleProvider styleProvider,
+                                                Supplier<GraphMetadata> write) {
+        List<AbstractCachingProvider> cachingProviders = new ArrayList<>(2);
+        if (labelProvider instanceof AbstractCachingProvider) {
+            cachingProviders.add((AbstractCachingProvider) labelProvider);
+        }
+        if (styleProvider instanceof AbstractCachingProvider) {
+            cachingProviders.add((AbstractCachingProvider) styleProvider);
+        }
+        cachingProviders.forEach(AbstractCachingProvider::beginWrite);
+        try {
+            return write.get();
+        } finally {
+            cachingProviders.forEach(AbstractCachingProvider::endWrite);
+        }
     }
 
     protected void addStyle(Document document, DiagramStyleProvider styleProvider, DiagramLabelProvider labelProvider,
@@ -174,7 +198,7 @@ public class DefaultSVGWriter implements SVGWriter {
                                        DiagramStyleProvider styleProvider) {
         GraphMetadata metadata = new GraphMetadata();
 
-        Element root = document.createElement(GROUP);
+        Element root = createRootElement(document);
 
         if (layoutParameters.isShowGrid() && graph.isPositionNodeBusesCalculated()) {
             root.appendChild(drawGrid(prefixId, graph, document, metadata));
@@ -188,6 +212,13 @@ public class DefaultSVGWriter implements SVGWriter {
         return metadata;
     }
 
+    /**
+     * Create the root group of the diagram, to which all the drawn elements are appended
+     */
+    protected Element createRootElement(Document document) {
+        return document.createElement(GROUP);
+    }
+
     protected void drawVoltageLevel(String prefixId,
                                     VoltageLevelGraph graph,
                                     Element root,
@@ -211,22 +242,26 @@ public class DefaultSVGWriter implements SVGWriter {
             return componentLibrary.getAnchorPoints(type);
         };
 
+        // the initial values of the feeders are fetched in one call, then given back to the drawing methods
+        DiagramLabelProvider graphInitProvider = new PrefetchedDiagramLabelProvider(initProvider,
+                initProvider.getInitialValues(DiagramValues.getArrowFeederNodes(graph)));
+
         List<Node> remainingNodes = graph.getNodes();
 
         List<Node> nodesToDraw = graph.getNodes().stream().filter(n -> n instanceof BusNode).collect(Collectors.toList());
-        drawNodes(prefixId, root, graph, metadata, anchorPointProvider, initProvider, styleProvider, nodesToDraw);
+        drawNodes(prefixId, root, graph, metadata, anchorPointProvider, graphInitProvider, styleProvider, nodesToDraw);
 
         remainingNodes.removeAll(nodesToDraw);
 
         List<Edge> remainingEdges = graph.getEdges();
 
         for (Cell cell : graph.getCells()) {
-            remainingEdges.removeAll(drawCell(prefixId, root, graph, cell, metadata, anchorPointProvider, initProvider,
+            remainingEdges.removeAll(drawCell(prefixId, root, graph, cell, metadata, anchorPointProvider, graphInitProvider,
                     styleProvider));
             remainingNodes.removeAll(cell.getNodes());
         }
-        drawEdges(prefixId, root, graph, remainingEdges, metadata, anchorPointProvider, initProvider, styleProvider);
-        drawNodes(prefixId, root, graph, metadata, anchorPointProvider, initProvider, styleProvider, remainingNodes);
+        drawEdges(prefixId, root, graph, remainingEdges, metadata, anchorPointProvider, graphInitProvider, styleProvider);
+        drawNodes(prefixId, root, graph, metadata, anchorPointProvider, graphInitProvider, styleProvider, remainingNodes);
 
         // Drawing the nodes outside the voltageLevel graphs (multi-terminal nodes)
         drawMultiTerminalNodes(prefixId, root, graph, metadata, styleProvider, anchorPointProvider);
@@ -297,21 +332,23 @@ public class DefaultSVGWriter implements SVGWriter {
                                DiagramLabelProvider labelProvider,
                                DiagramStyleProvider styleProvider,
                                Writer writer) {
-        DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
+        return writeInScope(labelProvider, styleProvider, () -> {
+            DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
 
-        Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
+            Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
 
-        Set<String> listUsedComponentSVG = new HashSet<>();
-        addStyle(document, styleProvider, labelProvider, graph.getNodes(), listUsedComponentSVG);
-        graph.getMultiTermNodes().forEach(n -> listUsedComponentSVG.add(n.getComponentType()));
+            Set<String> listUsedComponentSVG = new HashSet<>();
+            addStyle(document, styleProvider, labelProvider, graph.getNodes(), listUsedComponentSVG);
+            graph.getMultiTermNodes().forEach(n -> listUsedComponentSVG.add(n.getComponentType()));
 
-        createDefsSVGComponents(document, listUsedComponentSVG);
+            createDefsSVGComponents(document, listUsedComponentSVG);
 
-        GraphMetadata metadata = writeGraph(prefixId, graph, document, labelProvider, styleProvider);
+            GraphMetadata metadata = writeGraph(prefixId, graph, document, labelProvider, styleProvider);
 
-        DomUtil.transformDocument(document, writer);
+            DomUtil.transformDocument(document, writer);
 
-        return metadata;
+            return metadata;
+        });
     }
 
     @Override
@@ -319,6 +356,14 @@ public class DefaultSVGWriter implements SVGWriter {
         return layoutParameters;
     }
 
+    /**
+     * Get the formatter of the numbers written in the SVG, with the precision given by the layout parameters.
+     * The formatter returned is specific to the current thread.
+     */
+    protected CoordinateFormatter getCoordinateFormatter() {
+        return coordinateFormatter.get().setPrecision(layoutParameters.getSvgPrecision());
+    }
+
     @Override
     public ComponentLibrary getComponentLibrary() {
         return componentLibrary;
@@ -334,7 +379,7 @@ public class DefaultSVGWriter implements SVGWriter {
                                        DiagramStyleProvider styleProvider) {
         GraphMetadata metadata = new GraphMetadata();
 
-        Element root = document.createElement(GROUP);
+        Element root = createRootElement(document);
 
         // Drawing grid lines
         if (layoutParameters.isShowGrid()) {
@@ -396,7 +441,7 @@ public class DefaultSVGWriter implements SVGWriter {
         gridRoot.setAttribute("id", gridId);
         gridRoot.setAttribute(CLASS, DiagramStyles.GRID_STYLE_CLASS);
         gridRoot.setAttribute(TRANSFORM,
-                TRANSLATE + "(" + layoutParameters.getTranslateX() + "," + layoutParameters.getTranslateY() + ")");
+                getCoordinateFormatter().translate(layoutParameters.getTranslateX(), layoutParameters.getTranslateY()));
         // vertical lines
         for (int i = 0; i < maxH + 1; i++) {
             gridRoot.appendChild(drawGridVerticalLine(document, graph, maxV,
@@ -446,11 +491,12 @@ public class DefaultSVGWriter implements SVGWriter {
     }
 
     protected Element drawGridLine(Document document, double x1, double y1, double x2, double y2) {
+        CoordinateFormatter formatter = getCoordinateFormatter();
         Element line = document.createElement("line");
-        line.setAttribute("x1", Double.toString(x1));
-        line.setAttribute("x2", Double.toString(x2));
-        line.setAttribute("y1", Double.toString(y1));
-        line.setAttribute("y2", Double.toString(y2));
+        line.setAttribute("x1", formatter.format(x1));
+        line.setAttribute("x2", formatter.format(x2));
+        line.setAttribute("y1", formatter.format(y1));
+        line.setAttribute("y2", formatter.format(y2));
         return line;
     }
 
@@ -583,21 +629,22 @@ public class DefaultSVGWriter implements SVGWriter {
      * Drawing the voltageLevel graph busbar sections
      */
     protected Element drawBus(BusNode node, Element g) {
+        CoordinateFormatter formatter = getCoordinateFormatter();
         Element line = g.getOwnerDocument().createElement("line");
         line.setAttribute("x1", "0");
         line.setAttribute("y1", "0");
         if (node.isRotated()) {
             line.setAttribute("x2", "0");
-            line.setAttribute("y2", String.valueOf(node.getPxWidth()));
+            line.setAttribute("y2", formatter.format(node.getPxWidth()));
         } else {
-            line.setAttribute("x2", String.valueOf(node.getPxWidth()));
+            line.setAttribute("x2", formatter.format(node.getPxWidth()));
             line.setAttribute("y2", "0");
         }
 
         g.appendChild(line);
 
-        g.setAttribute(TRANSFORM, TRANSLATE + "(" + (layoutParameters.getTranslateX() + node.getX()) + ","
-                + (layoutParameters.getTranslateY() + node.getY()) + ")");
+        g.setAttribute(TRANSFORM, formatter.translate(layoutParameters.getTranslateX() + node.getX(),
+                layoutParameters.getTranslateY() + node.getY()));
 
         return line;
     }
@@ -606,9 +653,10 @@ public class DefaultSVGWriter implements SVGWriter {
      * Create a label text element at the given position
      */
     protected Element createLabelElement(String str, double xShift, double yShift, int shiftAngle, Element g) {
+        CoordinateFormatter formatter = getCoordinateFormatter();
         Element label = g.getOwnerDocument().createElement("text");
-        label.setAttribute("x", String.valueOf(xShift));
-        label.setAttribute("y", String.valueOf(yShift));
+        label.setAttribute("x", formatter.format(xShift));
+        label.setAttribute("y", formatter.format(yShift));
         label.setAttribute(TRANSFORM, ROTATE + "(" + shiftAngle + "," + 0 + "," + 0 + ")");
         label.setAttribute(CLASS, LABEL_STYLE_CLASS);
         Text text = g.getOwnerDocument().createTextNode(str);
@@ -652,12 +700,12 @@ public class DefaultSVGWriter implements SVGWriter {
                 FeederWithSideNode node1 = (FeederWithSideNode) adjacentNodes.get(0);
                 FeederWithSideNode node2 = (FeederWithSideNode) adjacentNodes.get(1);
                 List<Edge> edges = node.getAdjacentEdges();
-                List<Double> pol1 = ((TwtEdge) edges.get(0)).getSnakeLine();
-                List<Double> pol2 = ((TwtEdge) edges.get(1)).getSnakeLine();
+                Polyline pol1 = ((TwtEdge) edges.get(0)).getSnakeLine();
+                Polyline pol2 = ((TwtEdge) edges.get(1)).getSnakeLine();
                 if (!(pol1.isEmpty() || pol2.isEmpty())) {
                     // get points for the line supporting the svg component
-                    double x1 = pol1.get(pol1.size() - 4); // absciss of the first polyline second last point
-                    double x2 = pol2.get(2);  // absciss of the second polyline third point
+                    double x1 = pol1.getX(pol1.getPointCount() - 2); // absciss of the first polyline second last point
+                    double x2 = pol2.getX(1);  // absciss of the second polyline second point
 
                     if (x1 == x2) {
                         // vertical line supporting the svg component
@@ -711,7 +759,7 @@ public class DefaultSVGWriter implements SVGWriter {
             ComponentSize componentSize = componentLibrary.getSize(ARROW);
             double cx = componentSize.getWidth() / 2;
             double cy = componentSize.getHeight() / 2;
-            e.setAttribute(TRANSFORM, ROTATE + "(" + angle + "," + cx + "," + cy + ")");
+            e.setAttribute(TRANSFORM, getCoordinateFormatter().rotate(angle, cx, cy));
         }
     }
 
@@ -731,15 +779,22 @@ public class DefaultSVGWriter implements SVGWriter {
         Map<String, List<Element>> subComponents = componentLibrary.getSvgElements(componentType);
         subComponents.forEach(layoutParameters.isAvoidSVGComponentsDuplication() ?
             (subComponentName, svgSubComponent) -> insertSubcomponentReference(g, elementAttributesSetter, componentType, subComponentName, subComponents.size()) :
-            (subComponentName, svgSubComponent) -> insertDuplicatedSubcomponent(g, elementAttributesSetter, subComponentName, svgSubComponent)
+            (subComponentName, svgSubComponent) -> insertDuplicatedSubcomponent(g, elementAttributesSetter, componentType, subComponentName, svgSubComponent)
         );
     }
 
-    private void insertDuplicatedSubcomponent(Element g, BiConsumer<Element, String> elementAttributesSetter, String subComponentName, List<Element> svgSubComponent) {
-        svgSubComponent.forEach(e -> {
-            Element clonedElement = (Element) e.cloneNode(true);
-            setAttributesAndInsertElement(g, elementAttributesSetter, subComponentName, clonedElement);
-        });
+    private void insertDuplicatedSubcomponent(Element g, BiConsumer<Element, String> elementAttributesSetter, String componentType, String subComponentName, List<Element> svgSubComponent) {
+        copySvgElements(g.getOwnerDocument(), componentType, subComponentName, svgSubComponent)
+            .forEach(e -> setAttributesAndInsertElement(g, elementAttributesSetter, subComponentName, e));
+    }
+
+    /**
+     * Copy the SVG elements of the given component library subcomponent, in order to insert them in the document
+     */
+    protected List<Element> copySvgElements(Document document, String componentType, String subComponentName, List<Element> svgElements) {
+        List<Element> copies = new ArrayList<>(svgElements.size());
+        svgElements.forEach(e -> copies.add((Element) e.cloneNode(true)));
+        return copies;
     }
 
     private void insertSubcomponentReference(Element g, BiConsumer<Element, String> elementAttributesSetter, String componentType, String subComponentName, int nbSubComponents) {
@@ -774,7 +829,7 @@ public class DefaultSVGWriter implements SVGWriter {
         replaceId(g, elt, prefixId);
         ComponentSize size = componentLibrary.getSize(componentType);
         if (node.getType() != Node.NodeType.SWITCH && node.isRotated()) {
-            elt.setAttribute(TRANSFORM, ROTATE + "(" + node.getRotationAngle() + "," + size.getWidth() / 2 + "," + size.getHeight() / 2 + ")");
+            elt.setAttribute(TRANSFORM, getCoordinateFormatter().rotate(node.getRotationAngle(), size.getWidth() / 2, size.getHeight() / 2));
         }
         List<String> subComponentStyles = styleProvider.getSvgNodeSubcomponentStyles(node, subComponent);
         componentLibrary.getSubComponentStyleClass(componentType, subComponent).ifPresent(subComponentStyles::add);
@@ -816,8 +871,7 @@ public class DefaultSVGWriter implements SVGWriter {
     private String getTransformStringDecorator(Node node, LabelPosition decoratorPosition, ComponentSize decoratorSize) {
         String transform;
         if (node.isRotated() && node.getType() == Node.NodeType.SWITCH) {
-            double[] matrix = getDecoratorTransformMatrix(node, decoratorPosition, decoratorSize);
-            transform = transformMatrixToString(matrix, 4);
+            transform = getDecoratorTransformMatrixString(node, decoratorPosition, decoratorSize);
         } else {
             ComponentSize componentSize = componentLibrary.getSize(node.getComponentType());
             double dX = componentSize.getWidth() / 2 + decoratorPosition.getdX();
@@ -826,7 +880,7 @@ public class DefaultSVGWriter implements SVGWriter {
                 dX -= decoratorSize.getWidth() / 2;
                 dY -= decoratorSize.getHeight() / 2;
             }
-            transform = TRANSLATE + "(" + dX + "," + dY + ")";
+            transform = getCoordinateFormatter().translate(dX, dY);
         }
         return transform;
     }
@@ -842,8 +896,7 @@ public class DefaultSVGWriter implements SVGWriter {
 
         String trans;
         if (!node.isRotated()) {
-            double[] translate = getNodeTranslate(node);
-            trans = TRANSLATE + "(" + translate[0] + "," + translate[1] + ")";
+            trans = getCoordinateFormatter().translate(getNodeTranslateX(node), getNodeTranslateY(node));
         } else {
             // afester javafx library does not handle more than one transformation, yet, so
             // combine the couple of transformations, translation+rotation, in a single matrix transformation
@@ -852,35 +905,45 @@ public class DefaultSVGWriter implements SVGWriter {
         g.setAttribute(TRANSFORM, trans);
     }
 
-    private double[] getNodeTranslate(Node node) {
+    private double getNodeTranslateX(Node node) {
         ComponentSize componentSize = componentLibrary.getSize(node.getComponentType());
-        double translateX = layoutParameters.getTranslateX() + node.getX() - componentSize.getWidth() / 2;
-        double translateY = layoutParameters.getTranslateY() + node.getY() - componentSize.getHeight() / 2;
-        return new double[]{translateX, translateY};
+        return layoutParameters.getTranslateX() + node.getX() - componentSize.getWidth() / 2;
     }
 
-    private double[] getDecoratorTransformMatrix(Node node, LabelPosition decoratorPosition, ComponentSize decoratorSize) {
+    private double getNodeTranslateY(Node node) {
         ComponentSize componentSize = componentLibrary.getSize(node.getComponentType());
-        double[] translateNode = getNodeTranslate(node);
-        double[] matrixNode = getTransformMatrix(componentSize.getWidth(), componentSize.getHeight(), node.getRotationAngle() * Math.PI / 180,
-                layoutParameters.getTranslateX() + node.getX(), layoutParameters.getTranslateY() + node.getY());
-        double translateDecoratorX = translateNode[0] + componentSize.getWidth() / 2 + decoratorPosition.getdX();
-        double translateDecoratorY = translateNode[1] + componentSize.getHeight() / 2 + decoratorPosition.getdY();
+        return layoutParameters.getTranslateY() + node.getY() - componentSize.getHeight() / 2;
+    }
+
+    private String getDecoratorTransformMatrixString(Node node, LabelPosition decoratorPosition, ComponentSize decoratorSize) {
+        ComponentSize componentSize = componentLibrary.getSize(node.getComponentType());
+        double width = componentSize.getWidth();
+        double height = componentSize.getHeight();
+
+        // transform matrix of the node: (cos, sin, -sin, cos, e, f)
+        double angle = node.getRotationAngle() * Math.PI / 180;
+        double cosRo = Math.cos(angle);
+        double sinRo = Math.sin(angle);
+        double e = layoutParameters.getTranslateX() + node.getX() - width / 2 * cosRo + height / 2 * sinRo;
+        double f = layoutParameters.getTranslateY() + node.getY() - width / 2 * sinRo - height / 2 * cosRo;
+
+        double translateDecoratorX = getNodeTranslateX(node) + width / 2 + decoratorPosition.getdX();
+        double translateDecoratorY = getNodeTranslateY(node) + height / 2 + decoratorPosition.getdY();
         if (decoratorPosition.isCentered()) {
             translateDecoratorX -= decoratorSize.getWidth() / 2;
             translateDecoratorY -= decoratorSize.getHeight() / 2;
         }
-        double t1 = +matrixNode[3] * (translateDecoratorX - matrixNode[4]) - matrixNode[2] * (translateDecoratorY - matrixNode[5]);
-        double t2 = -matrixNode[1] * (translateDecoratorX - matrixNode[4]) + matrixNode[0] * (translateDecoratorY - matrixNode[5]);
-        return new double[]{matrixNode[3], -matrixNode[1], -matrixNode[2], matrixNode[0], t1, t2};
+        double t1 = +cosRo * (translateDecoratorX - e) + sinRo * (translateDecoratorY - f);
+        double t2 = -sinRo * (translateDecoratorX - e) + cosRo * (translateDecoratorY - f);
+        return getCoordinateFormatter().matrix(cosRo, -sinRo, sinRo, cosRo, t1, t2);
     }
 
-    protected void transformArrow(List<Double> points, ComponentSize componentSize, double shift, Element g) {
+    protected void transformArrow(Polyline points, ComponentSize componentSize, double shift, Element g) {
 
-        double x1 = points.get(0);
-        double y1 = points.get(1);
-        double x2 = points.get(2);
-        double y2 = points.get(3);
+        double x1 = points.getX(0);
+        double y1 = points.getY(0);
+        double x2 = points.getX(1);
+        double y2 = points.getY(1);
 
         double dx = x2 - x1;
         double dy = y2 - y1;
@@ -888,9 +951,9 @@ public class DefaultSVGWriter implements SVGWriter {
 
         // Case of wires with non-direct straight lines: if wire distance between first 2 points is too small to display
         // the arrow, checks if the distance between the 2nd and the 3rd points is big enough
-        if (points.size() > 4 && distancePoints < 3 * componentSize.getHeight()) {
-            double x3 = points.get(4);
-            double y3 = points.get(5);
+        if (points.getPointCount() > 2 && distancePoints < 3 * componentSize.getHeight()) {
+            double x3 = points.getX(2);
+            double y3 = points.getY(2);
             double dx23 = x3 - x2;
             double dy23 = y3 - y2;
             double distancePoints23 = Math.sqrt(dx23 * dx23 + dy23 * dy23);
@@ -929,39 +992,21 @@ public class DefaultSVGWriter implements SVGWriter {
     private String getTransformMatrixString(double centerPosX, double centerPosY, double angle, ComponentSize componentSize) {
         double centerPosTransX = layoutParameters.getTranslateX() + centerPosX;
         double centerPosTransY = layoutParameters.getTranslateY() + centerPosY;
-        double[] matrix = getTransformMatrix(componentSize.getWidth(), componentSize.getHeight(), angle,
-                centerPosTransX, centerPosTransY);
-        return transformMatrixToString(matrix, 4);
-    }
-
-    private double[] getTransformMatrix(double width, double height, double angle,
-                                        double centerPosX, double centerPosY) {
 
         double cosRo = Math.cos(angle);
         double sinRo = Math.sin(angle);
-        double cdx = width / 2;
-        double cdy = height / 2;
-
-        double e1 = centerPosX - cdx * cosRo + cdy * sinRo;
-        double f1 = centerPosY - cdx * sinRo - cdy * cosRo;
+        double cdx = componentSize.getWidth() / 2;
+        double cdy = componentSize.getHeight() / 2;
 
-        return new double[]{+cosRo, sinRo, -sinRo, cosRo, e1, f1};
-    }
+        double e1 = centerPosTransX - cdx * cosRo + cdy * sinRo;
+        double f1 = centerPosTransY - cdx * sinRo - cdy * cosRo;
 
-    private static String transformMatrixToString(double[] matrix, int precision) {
-        double[] matrix2 = new double[matrix.length];
-        for (int i = 0; i < matrix.length; i++) {
-            matrix2[i] = Precision.round(matrix[i], precision);
-        }
-        return "matrix("
-                + matrix2[0] + "," + matrix2[1] + ","
-                + matrix2[2] + "," + matrix2[3] + ","
-                + matrix2[4] + "," + matrix2[5] + ")";
+        return getCoordinateFormatter().matrix(+cosRo, sinRo, -sinRo, cosRo, e1, f1);
     }
 
     protected void insertArrowsAndLabels(String prefixId,
                                          String wireId,
-                                         List<Double> points,
+                                         Polyline points,
                                          Element root,
                                          FeederNode feederNode,
                                          GraphMetadata metadata,
@@ -980,28 +1025,35 @@ public class DefaultSVGWriter implements SVGWriter {
         int iArrow1 = arrowSymmetry ? 1 : 2;
         int iArrow2 = arrowSymmetry ? 2 : 1;
 
+        // the labels are given the ids of their value slots, see DiagramValues
+        boolean addValueIds = layoutParameters.isAddValueIds();
+        String labelId1 = addValueIds ? DiagramValues.getFeederValueId(prefixId, feederNode, iArrow1) : null;
+        String labelId2 = addValueIds ? DiagramValues.getFeederValueId(prefixId, feederNode, iArrow2) : null;
+        String labelId3 = addValueIds ? DiagramValues.getFeederValueId(prefixId, feederNode, 3) : null;
+        String labelId4 = addValueIds ? DiagramValues.getFeederValueId(prefixId, feederNode, 4) : null;
+
         // we draw the arrow only if value 1 is present
         label1.ifPresent(lb ->
-                drawArrowAndLabel(prefixId, wireId, points, root, lb, init.getLabel3(), direction1, 0, iArrow1, metadata));
+                drawArrowAndLabel(prefixId, wireId, points, root, lb, labelId1, init.getLabel3(), labelId3, direction1, 0, iArrow1, metadata));
 
         // we draw the arrow only if value 2 is present
         label2.ifPresent(lb -> {
             double shiftArrow2 = 2 * metadata.getComponentMetadata(ARROW).getSize().getHeight();
-            drawArrowAndLabel(prefixId, wireId, points, root, lb, init.getLabel4(),
+            drawArrowAndLabel(prefixId, wireId, points, root, lb, labelId2, init.getLabel4(), labelId4,
                     direction2, shiftArrow2, iArrow2, metadata);
         });
     }
 
-    private void drawArrowAndLabel(String prefixId, String wireId, List<Double> points, Element root,
-                                   String labelR, Optional<String> labelL, Optional<Direction> dir, double shift, int iArrow,
-                                   GraphMetadata metadata) {
+    private void drawArrowAndLabel(String prefixId, String wireId, Polyline points, Element root,
+                                   String labelR, String labelRId, Optional<String> labelL, String labelLId,
+                                   Optional<Direction> dir, double shift, int iArrow, GraphMetadata metadata) {
         ComponentMetadata cd = metadata.getComponentMetadata(ARROW);
 
         double shX = cd.getSize().getWidth() + LABEL_OFFSET;
         double shY = cd.getSize().getHeight() / 2;
 
-        double y1 = points.get(1);
-        double y2 = points.get(3);
+        double y1 = points.getY(0);
+        double y2 = points.getY(1);
 
         Element g = root.getOwnerDocument().createElement(GROUP);
         String arrowWireId = wireId + "_ARROW" + iArrow;
@@ -1010,6 +1062,9 @@ public class DefaultSVGWriter implements SVGWriter {
 
         insertArrowSVGIntoDocumentSVG(prefixId, g, y1 > y2 ? 180 : 0);
         Element label = createLabelElement(labelR, shX, shY, 0, g);
+        if (labelRId != null) {
+            label.setAttribute("id", labelRId);
+        }
         g.appendChild(label);
 
         List<String> styles = new ArrayList<>(3);
@@ -1021,6 +1076,9 @@ public class DefaultSVGWriter implements SVGWriter {
         labelL.ifPresent(s -> {
             Element labelLeft = createLabelElement(s, -LABEL_OFFSET, shY, 0, g);
             labelLeft.setAttribute(STYLE, "text-anchor:end");
+            if (labelLId != null) {
+                labelLeft.setAttribute("id", labelLId);
+            }
             g.appendChild(labelLeft);
         });
 
@@ -1058,7 +1116,7 @@ public class DefaultSVGWriter implements SVGWriter {
             WireConnection anchorPoints = WireConnection.searchBetterAnchorPoints(anchorPointProvider, edge.getNode1(), edge.getNode2());
 
             // Determine points of the polyline
-            List<Double> pol = anchorPoints.calculatePolylinePoints(edge.getNode1(), edge.getNode2(),
+            Polyline pol = anchorPoints.calculatePolylinePoints(edge.getNode1(), edge.getNode2(),
                     layoutParameters.isDrawStraightWires());
 
             polyline.setAttribute(POINTS, pointsListToString(pol));
@@ -1085,16 +1143,7 @@ public class DefaultSVGWriter implements SVGWriter {
                             layoutParameters.isFeederArrowSymmetry());
                 }
             } else if (edge.getNode2() instanceof FeederNode) {
-                List<Double> reversePoints = new ArrayList<>();
-
-                for (int i = pol.size() - 1; i >= 0; i--) {
-                    if (i % 2 == 0) {
-                        reversePoints.add(pol.get(i));
-                        reversePoints.add(pol.get(i + 1));
-                    }
-                }
-
-                insertArrowsAndLabels(prefixId, wireId, reversePoints, root, (FeederNode) edge.getNode2(), metadata, initProvider,
+                insertArrowsAndLabels(prefixId, wireId, pol.reverse(), root, (FeederNode) edge.getNode2(), metadata, initProvider,
                         layoutParameters.isFeederArrowSymmetry());
             }
         }
@@ -1135,7 +1184,7 @@ public class DefaultSVGWriter implements SVGWriter {
         root.appendChild(g);
 
         // Get the points of the snakeLine, already calculated during the layout application
-        List<Double> pol = edge.getSnakeLine();
+        Polyline pol = edge.getSnakeLine();
         if (!pol.isEmpty()) {
             adaptCoordSnakeLine(anchorPointProvider, edge, pol);
         }
@@ -1155,7 +1204,7 @@ public class DefaultSVGWriter implements SVGWriter {
      * Adaptation of the previously calculated snakeLine points, in order to use the anchor points
      * if a node is outside any graph
      */
-    private void adaptCoordSnakeLine(AnchorPointProvider anchorPointProvider, AbstractBranchEdge edge, List<Double> pol) {
+    private void adaptCoordSnakeLine(AnchorPointProvider anchorPointProvider, AbstractBranchEdge edge, Polyline pol) {
         Node n1 = edge.getNode1();
         Node n2 = edge.getNode2();
 
@@ -1165,56 +1214,50 @@ public class DefaultSVGWriter implements SVGWriter {
         // Getting the right polyline point from where we need to compute the best anchor point
         double x;
         double y;
+        int n = pol.getPointCount();
         if (g2 == null) {
-            if (pol.size() <= 4) {
-                x = pol.get(0);
-                y = pol.get(1);
-            } else if (pol.size() <= 6) {
-                x = pol.get(2);
-                y = pol.get(3);
+            if (n <= 2) {
+                x = pol.getX(0);
+                y = pol.getY(0);
+            } else if (n <= 3) {
+                x = pol.getX(1);
+                y = pol.getY(1);
             } else {
-                x = pol.get(pol.size() - 4);
-                y = pol.get(pol.size() - 3);
+                x = pol.getX(n - 2);
+                y = pol.getY(n - 2);
             }
         } else {
-            x = pol.get(2);
-            y = pol.get(3);
+            x = pol.getX(1);
+            y = pol.getY(1);
         }
 
         WireConnection wireC = WireConnection.searchBetterAnchorPoints(anchorPointProvider, g1 == null ? n1 : n2, x, y);
         AnchorPoint anc1 = wireC.getAnchorPoint1();
 
-        int n = pol.size();
-
         // Replacing the right points coordinates in the original polyline
         if (g2 == null) {
-            double xOld = pol.get(n - 2);
-            double yOld = pol.get(n - 1);
-            pol.set(n - 2, xOld + anc1.getX());
-            pol.set(n - 1, yOld + anc1.getY());
+            double xOld = pol.getX(n - 1);
+            double yOld = pol.getY(n - 1);
+            pol.setPoint(n - 1, xOld + anc1.getX(), yOld + anc1.getY());
             if (xOld == x) {
-                pol.set(n - 4, xOld + anc1.getX());
+                pol.setPoint(n - 2, xOld + anc1.getX(), pol.getY(n - 2));
             } else {
-                pol.set(n - 3, yOld + anc1.getY());
+                pol.setPoint(n - 2, pol.getX(n - 2), yOld + anc1.getY());
             }
         } else {
-            double xOld = pol.get(0);
-            double yOld = pol.get(1);
-            pol.set(0, xOld + anc1.getX());
-            pol.set(1, yOld + anc1.getY());
+            double xOld = pol.getX(0);
+            double yOld = pol.getY(0);
+            pol.setPoint(0, xOld + anc1.getX(), yOld + anc1.getY());
             if (xOld == x) {
-                pol.set(2, xOld + anc1.getX());
+                pol.setPoint(1, xOld + anc1.getX(), pol.getY(1));
             } else {
-                pol.set(3, yOld + anc1.getY());
+                pol.setPoint(1, pol.getX(1), yOld + anc1.getY());
             }
         }
     }
 
-    protected String pointsListToString(List<Double> pol) {
-        return IntStream.range(0, pol.size())
-                .mapToObj(n -> n % 2 == 0 ? pol.get(n) + layoutParameters.getTranslateX() : pol.get(n) + layoutParameters.getTranslateY())
-                .map(Object::toString)
-                .collect(Collectors.joining(","));
+    protected String pointsListToString(Polyline pol) {
+        return getCoordinateFormatter().points(pol, layoutParameters.getTranslateX(), layoutParameters.getTranslateY());
     }
 
     /**
@@ -1249,18 +1292,17 @@ public class DefaultSVGWriter implements SVGWriter {
             if (subComponents.size() > 1) {
                 Element subComponentGroup = group.getOwnerDocument().createElement("g");
                 subComponentGroup.setAttribute("id", getHRefValue(subComponents.size(), componentType, subComponent.getKey()));
-                addSvgSubComponentsToElement(subComponent.getValue(), subComponentGroup);
+                addSvgSubComponentsToElement(componentType, subComponent.getKey(), subComponent.getValue(), subComponentGroup);
                 group.getOwnerDocument().adoptNode(subComponentGroup);
                 group.appendChild(subComponentGroup);
             } else {
-                addSvgSubComponentsToElement(subComponent.getValue(), group);
+                addSvgSubComponentsToElement(componentType, subComponent.getKey(), subComponent.getValue(), group);
             }
         }
     }
 
-    private void addSvgSubComponentsToElement(List<Element> subComponentElements, Element group) {
-        for (Element subComponentElement : subComponentElements) {
-            org.w3c.dom.Node n = subComponentElement.cloneNode(true);
+    private void addSvgSubComponentsToElement(String componentType, String subComponentName, List<Element> subComponentElements, Element group) {
+        for (Element n : copySvgElements(group.getOwnerDocument(), componentType, subComponentName, subComponentElements)) {
             group.getOwnerDocument().adoptNode(n);
             group.appendChild(n);
         }
@@ -1285,33 +1327,35 @@ public class DefaultSVGWriter implements SVGWriter {
                                DiagramLabelProvider labelProvider,
                                DiagramStyleProvider styleProvider,
                                Writer writer) {
-        DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
+        return writeInScope(labelProvider, styleProvider, () -> {
+            DOMImplementation domImpl = DomUtil.getDocumentBuilder().getDOMImplementation();
 
-        Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
+            Document document = domImpl.createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
 
-        List<VoltageLevelGraph> vlGraphs = graph.getNodes().stream().map(SubstationGraph::getNodes).flatMap(Collection::stream).collect(Collectors.toList());
+            List<VoltageLevelGraph> vlGraphs = graph.getNodes().stream().map(SubstationGraph::getNodes).flatMap(Collection::stream).collect(Collectors.toList());
 
-        Set<String> listUsedComponentSVG = new HashSet<>();
-        addStyle(document, styleProvider, labelProvider, vlGraphs, listUsedComponentSVG);
+            Set<String> listUsedComponentSVG = new HashSet<>();
+            addStyle(document, styleProvider, labelProvider, vlGraphs, listUsedComponentSVG);
 
-        createDefsSVGComponents(document, listUsedComponentSVG);
+            createDefsSVGComponents(document, listUsedComponentSVG);
 
-        GraphMetadata metadata = writeGraph(prefixId, graph, vlGraphs, document, labelProvider, styleProvider);
+            GraphMetadata metadata = writeGraph(prefixId, graph, vlGraphs, document, labelProvider, styleProvider);
 
-        DomUtil.transformDocument(document, writer);
+            DomUtil.transformDocument(document, writer);
 
-        return metadata;
+            return metadata;
+        });
     }
 
-    private GraphMetadata writeGraph(String prefixId,
-                                     ZoneGraph graph,
-                                     List<VoltageLevelGraph> vlGraphs,
-                                     Document document,
-                                     DiagramLabelProvider initProvider,
-                                     DiagramStyleProvider styleProvider) {
+    protected GraphMetadata writeGraph(String prefixId,
+                                       ZoneGraph graph,
+                                       List<VoltageLevelGraph> vlGraphs,
+                                       Document document,
+                                       DiagramLabelProvider initProvider,
+                                       DiagramStyleProvider styleProvider) {
         GraphMetadata metadata = new GraphMetadata();
 
-        Element root = document.createElement(GROUP);
+        Element root = createRootElement(document);
 
         // Drawing grid lines
         if (layoutParameters.isShowGrid()) {
@@ -1386,26 +1430,24 @@ public class DefaultSVGWriter implements SVGWriter {
                                Element g,
                                String idNode,
                                double circleRadiusSize) {
+        CoordinateFormatter formatter = getCoordinateFormatter();
         Element circle = g.getOwnerDocument().createElement("circle");
 
         circle.setAttribute("id", idNode + "_circle");
-        circle.setAttribute("cx", String.valueOf(xShift));
-        circle.setAttribute("cy", String.valueOf(yShift));
-        circle.setAttribute("r", String.valueOf(circleRadiusSize / 2));
-        circle.setAttribute("stroke-width", String.valueOf(circleRadiusSize));
+        circle.setAttribute("cx", formatter.format(xShift));
+        circle.setAttribute("cy", formatter.format(yShift));
+        circle.setAttribute("r", formatter.format(circleRadiusSize / 2));
+        circle.setAttribute("stroke-width", formatter.format(circleRadiusSize));
         circle.setAttribute(CLASS, nodeInfo.getStyle());
         g.appendChild(circle);
 
         // v
         Element labelV = g.getOwnerDocument().createElement("text");
         labelV.setAttribute("id", idNode + "_v");
-        String valueV = !Double.isNaN(nodeInfo.getV())
-                ? String.valueOf(Precision.round(nodeInfo.getV(), 1))
-                : "\u2014";  // em dash unicode for undefined value
-        valueV += " kV";
+        String valueV = DiagramValues.formatVoltage(nodeInfo.getV());
 
-        labelV.setAttribute("x", String.valueOf(xShift - circleRadiusSize));
-        labelV.setAttribute("y", String.valueOf(yShift + 2.5 * circleRadiusSize));
+        labelV.setAttribute("x", formatter.format(xShift - circleRadiusSize));
+        labelV.setAttribute("y", formatter.format(yShift + 2.5 * circleRadiusSize));
         labelV.setAttribute(CLASS, LABEL_STYLE_CLASS);
         Text textV = g.getOwnerDocument().createTextNode(valueV);
         labelV.appendChild(textV);
@@ -1414,13 +1456,10 @@ public class DefaultSVGWriter implements SVGWriter {
         // angle
         Element labelAngle = g.getOwnerDocument().createElement("text");
         labelAngle.setAttribute("id", idNode + "_angle");
-        String valueAngle = !Double.isNaN(nodeInfo.getAngle())
-                ? String.valueOf(Precision.round(nodeInfo.getAngle(), 1))
-                : "\u2014";  // em dash unicode for undefined value
-        valueAngle += " \u00b0";  // degree sign unicode for degree symbol
+        String valueAngle = DiagramValues.formatAngle(nodeInfo.getAngle());
 
-        labelAngle.setAttribute("x", String.valueOf(xShift - circleRadiusSize));
-        labelAngle.setAttribute("y", String.valueOf(yShift + 4 * circleRadiusSize));
+        labelAngle.setAttribute("x", formatter.format(xShift - circleRadiusSize));
+        labelAngle.setAttribute("y", formatter.format(yShift + 4 * circleRadiusSize));
         labelAngle.setAttribute(CLASS, LABEL_STYLE_CLASS);
         Text textAngle = g.getOwnerDocument().createTextNode(valueAngle);
         labelAngle.appendChild(textAngle);
@@ -1441,7 +1480,7 @@ public class DefaultSVGWriter implements SVGWriter {
         List<ElectricalNodeInfo> nodes = styleProvider.getElectricalNodesInfos(graph);
 
         IntStream.range(0, nodes.size()).forEach(i -> {
-            String idNode = prefixId + "NODE_" + i + "_" + graph.getVoltageLevelInfos().getId();
+            String idNode = DiagramValues.getNodeInfosId(prefixId, graph, i);
             Element gNode = root.getOwnerDocument().createElement(GROUP);
             gNode.setAttribute("id", idNode);
 
@@ -8,7 +8,10 @@ package com.powsybl.sld.svg;
 
 import com.powsybl.sld.model.Node;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Giovanni Ferrari <giovanni.ferrari at techrain.eu>
@@ -66,6 +69,22 @@ public interface DiagramLabelProvider {
 
     InitialValue getInitialValue(Node node);
 
+    /**
+     * Returns the initial values of the given nodes, so that a provider can fetch the values of a whole diagram at
+     * once. The SVG writer calls this method with the feeder nodes of each voltage level graph before drawing it.
+     * The default implementation calls {@link #getInitialValue(Node)} for each node.
+     *
+     * @param nodes the nodes whose initial values are requested
+     * @return the initial value of each node, in the order of the given nodes
+     */
+    default Map<Node, InitialValue> getInitialValues(Collection<? extends Node> nodes) {
+        Map<Node, InitialValue> initialValues = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            initialValues.put(node, getInitialValue(node));
+        }
+        return initialValues;
+    }
+
     List<NodeLabel> getNodeLabels(Node node);
 
     List<NodeDecorator> getNodeDecorators(Node node);
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.model.*;
+import com.powsybl.sld.svg.DiagramLabelProvider.Direction;
+import org.apache.commons.math3.util.Precision;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Current values of a diagram, keyed by the ids of their slots in the SVG, which allows refreshing the values of an
+ * SVG written once instead of laying out and writing the diagram again.
+ * <p>
+ * The value slots are the labels of the feeder arrows, whose ids are written in the SVG if
+ * {@link LayoutParameters#isAddValueIds()} is set, and the voltages and angles of the electrical nodes if
+ * {@link LayoutParameters#isAddNodesInfos()} is set. The slots 1 and 2 of a feeder are the labels of its active and
+ * reactive power arrows, and also give the direction of the arrow, that is the class of the parent group of the label;
+ * the slots 3 and 4 are the labels on the other side of these arrows. A slot whose label was absent when the SVG was
+ * written has no element in the SVG.
+ *
+ * @author agent <agent at local>
+ */
+public final class DiagramValues {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Value {
+
+        private final String id;
+
+        private final String label;
+
+        private final Direction direction;
+
+        @JsonCreator
+        public Value(@JsonProperty("id") String id, @JsonProperty("label") String label, @JsonProperty("direction") Direction direction) {
+            this.id = Objects.requireNonNull(id);
+            this.label = label;
+            this.direction = direction;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Map<String, Value> values = new LinkedHashMap<>();
+
+    @JsonCreator
+    public DiagramValues(@JsonProperty("values") List<Value> values) {
+        values.forEach(this::addValue);
+    }
+
+    private DiagramValues() {
+    }
+
+    /**
+     * Returns the current values of the given voltage level diagram
+     */
+    public static DiagramValues create(String prefixId, VoltageLevelGraph graph, DiagramLabelProvider labelProvider,
+                                       DiagramStyleProvider styleProvider, LayoutParameters layoutParameters) {
+        DiagramValues diagramValues = new DiagramValues();
+        diagramValues.addFeederValues(prefixId, graph, labelProvider);
+        if (layoutParameters.isAddNodesInfos()) {
+            List<ElectricalNodeInfo> nodesInfos = styleProvider.getElectricalNodesInfos(graph);
+            for (int i = 0; i < nodesInfos.size(); i++) {
+                String idNode = getNodeInfosId(prefixId, graph, i);
+                diagramValues.addValue(new Value(idNode + "_v", formatVoltage(nodesInfos.get(i).getV()), null));
+                diagramValues.addValue(new Value(idNode + "_angle", formatAngle(nodesInfos.get(i).getAngle()), null));
+            }
+        }
+        return diagramValues;
+    }
+
+    /**
+     * Returns the current values of the given substation diagram
+     */
+    public static DiagramValues create(String prefixId, SubstationGraph graph, DiagramLabelProvider labelProvider) {
+        DiagramValues diagramValues = new DiagramValues();
+        for (VoltageLevelGraph vlGraph : graph.getNodes()) {
+            diagramValues.addFeederValues(prefixId, vlGraph, labelProvider);
+        }
+        return diagramValues;
+    }
+
+    private void addFeederValues(String prefixId, VoltageLevelGraph graph, DiagramLabelProvider labelProvider) {
+        List<FeederNode> feederNodes = getArrowFeederNodes(graph);
+        Map<Node, InitialValue> initialValues = labelProvider.getInitialValues(feederNodes);
+        for (FeederNode feederNode : feederNodes) {
+            InitialValue init = initialValues.get(feederNode);
+            addValue(new Value(getFeederValueId(prefixId, feederNode, 1), init.getLabel1().orElse(null), init.getArrowDirection1().orElse(null)));
+            addValue(new Value(getFeederValueId(prefixId, feederNode, 2), init.getLabel2().orElse(null), init.getArrowDirection2().orElse(null)));
+            addValue(new Value(getFeederValueId(prefixId, feederNode, 3), init.getLabel3().orElse(null), null));
+            addValue(new Value(getFeederValueId(prefixId, feederNode, 4), init.getLabel4().orElse(null), null));
+        }
+    }
+
+    /**
+     * Returns the feeder nodes whose arrows are drawn by the SVG writer, that is the ones linked to a node which is not
+     * a feeder node, in the order of the edges of the graph
+     */
+    static List<FeederNode> getArrowFeederNodes(VoltageLevelGraph graph) {
+        List<FeederNode> feederNodes = new ArrayList<>();
+        for (Edge edge : graph.getEdges()) {
+            Node node1 = edge.getNode1();
+            Node node2 = edge.getNode2();
+            if (node1 instanceof FeederNode && !(node2 instanceof FeederNode)) {
+                feederNodes.add((FeederNode) node1);
+            } else if (node2 instanceof FeederNode && !(node1 instanceof FeederNode)) {
+                feederNodes.add((FeederNode) node2);
+            }
+        }
+        return feederNodes;
+    }
+
+    private void addValue(Value value) {
+        values.put(value.getId(), value);
+    }
+
+    /**
+     * Returns the id of the given value slot of a feeder, from 1 to 4
+     */
+    public static String getFeederValueId(String prefixId, FeederNode feederNode, int slot) {
+        return DiagramStyles.escapeId(prefixId + feederNode.getId()) + "_VALUE" + slot;
+    }
+
+    static String getNodeInfosId(String prefixId, VoltageLevelGraph graph, int index) {
+        return prefixId + "NODE_" + index + "_" + graph.getVoltageLevelInfos().getId();
+    }
+
+    static String formatVoltage(double v) {
+        return formatValue(v) + " kV";
+    }
+
+    static String formatAngle(double angle) {
+        return formatValue(angle) + " \u00b0";  // degree sign unicode for degree symbol
+    }
+
+    private static String formatValue(double value) {
+        return !Double.isNaN(value)
+                ? String.valueOf(Precision.round(value, 1))
+                : "\u2014";  // em dash unicode for undefined value
+    }
+
+    public List<Value> getValues() {
+        return new ArrayList<>(values.values());
+    }
+
+    public Value getValue(String id) {
+        return values.get(id);
+    }
+
+    public static DiagramValues parseJson(Reader reader) {
+        Objects.requireNonNull(reader);
+        ObjectMapper objectMapper = JsonUtil.createObjectMapper();
+        try {
+            return objectMapper.readValue(reader, DiagramValues.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeJson(Writer writer) {
+        Objects.requireNonNull(writer);
+        ObjectMapper objectMapper = JsonUtil.createObjectMapper();
+        try {
+            objectMapper.writeValue(writer, this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the values in a compact binary format: the number of values, then for each value its id, a byte giving
+     * the presence of its label and its direction, and its label if present.
+     */
+    public void writeBinary(OutputStream outputStream) {
+        Objects.requireNonNull(outputStream);
+        DataOutputStream out = new DataOutputStream(outputStream);
+        try {
+            out.writeInt(values.size());
+            for (Value value : values.values()) {
+                out.writeUTF(value.getId());
+                int flags = (value.getLabel() != null ? 1 : 0) | (value.getDirection() != null ? (value.getDirection().ordinal() + 1) << 1 : 0);
+                out.writeByte(flags);
+                if (value.getLabel() != null) {
+                    out.writeUTF(value.getLabel());
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static DiagramValues parseBinary(InputStream inputStream) {
+        Objects.requireNonNull(inputStream);
+        DataInputStream in = new DataInputStream(inputStream);
+        DiagramValues diagramValues = new DiagramValues();
+        try {
+            int nbValues = in.readInt();
+            for (int i = 0; i < nbValues; i++) {
+                String id = in.readUTF();
+                int flags = in.readByte();
+                String label = (flags & 1) != 0 ? in.readUTF() : null;
+                Direction direction = (flags >> 1) != 0 ? DIRECTIONS[(flags >> 1) - 1] : null;
+                diagramValues.addValue(new Value(id, label, direction));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return diagramValues;
+    }
+}
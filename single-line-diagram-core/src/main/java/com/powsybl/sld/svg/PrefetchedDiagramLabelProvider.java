@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.model.Node;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Label provider giving back the initial values fetched beforehand with
+ * {@link DiagramLabelProvider#getInitialValues}, and delegating the other calls to the provider they were fetched from.
+ *
+ * @author agent <agent at local>
+ */
+class PrefetchedDiagramLabelProvider implements DiagramLabelProvider {
+
+    private final DiagramLabelProvider delegate;
+
+    private final Map<Node, InitialValue> initialValues;
+
+    PrefetchedDiagramLabelProvider(DiagramLabelProvider delegate, Map<Node, InitialValue> initialValues) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.initialValues = Objects.requireNonNull(initialValues);
+    }
+
+    @Override
+    public InitialValue getInitialValue(Node node) {
+        InitialValue initialValue = initialValues.get(node);
+        return initialValue != null ? initialValue : delegate.getInitialValue(node);
+    }
+
+    @Override
+    public List<NodeLabel> getNodeLabels(Node node) {
+        return delegate.getNodeLabels(node);
+    }
+
+    @Override
+    public List<NodeDecorator> getNodeDecorators(Node node) {
+        return delegate.getNodeDecorators(node);
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.library.AnchorPointProvider;
+import com.powsybl.sld.library.ComponentLibrary;
+import com.powsybl.sld.library.SvgFragment;
+import com.powsybl.sld.model.*;
+import com.powsybl.sld.util.DomUtil;
+import com.powsybl.sld.util.IndentedXmlSerializer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.io.Writer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * SVG writer producing the same SVG and metadata as {@link DefaultSVGWriter}, but which does not keep the whole
+ * diagram in memory: the DOM elements are serialized directly to the writer, without any
+ * {@link javax.xml.transform.Transformer}, as soon as each top-level part of the diagram (voltage level, edges,
+ * nodes...) is drawn, and are then discarded. The component library elements are not cloned but written from their
+ * pre-serialized forms, see {@link SvgFragment}.
+ *
+ * @author agent <agent at local>
+ */
+public class StreamingSVGWriter extends DefaultSVGWriter {
+
+    private static final String STREAM_KEY = "sld-stream";
+
+    public StreamingSVGWriter(ComponentLibrary componentLibrary, LayoutParameters layoutParameters) {
+        super(componentLibrary, layoutParameters);
+    }
+
+    @Override
+    public GraphMetadata write(String prefixId,
+                               VoltageLevelGraph graph,
+                               DiagramLabelProvider labelProvider,
+                               DiagramStyleProvider styleProvider,
+                               Writer writer) {
+        return writeInScope(labelProvider, styleProvider, () -> write(writer, Collections.singletonList(graph), labelProvider, styleProvider, Collections.emptySet(),
+            document -> writeGraph(prefixId, graph, document, labelProvider, styleProvider)));
+    }
+
+    @Override
+    public GraphMetadata write(String prefixId,
+                               SubstationGraph graph,
+                               DiagramLabelProvider labelProvider,
+                               DiagramStyleProvider styleProvider,
+                               Writer writer) {
+        Set<String> multiTermComponents = graph.getMultiTermNodes().stream().map(Node::getComponentType).collect(Collectors.toSet());
+        return writeInScope(labelProvider, styleProvider, () -> write(writer, graph.getNodes(), labelProvider, styleProvider, multiTermComponents,
+            document -> writeGraph(prefixId, graph, document, labelProvider, styleProvider)));
+    }
+
+    @Override
+    public GraphMetadata write(String prefixId,
+                               ZoneGraph graph,
+                               DiagramLabelProvider labelProvider,
+                               DiagramStyleProvider styleProvider,
+                               Writer writer) {
+        List<VoltageLevelGraph> vlGraphs = graph.getNodes().stream().map(SubstationGraph::getNodes).flatMap(Collection::stream).collect(Collectors.toList());
+        return writeInScope(labelProvider, styleProvider, () -> write(writer, vlGraphs, labelProvider, styleProvider, Collections.emptySet(),
+            document -> writeGraph(prefixId, graph, vlGraphs, document, labelProvider, styleProvider)));
+    }
+
+    private GraphMetadata write(Writer writer, List<VoltageLevelGraph> vlGraphs,
+                                DiagramLabelProvider labelProvider, DiagramStyleProvider styleProvider,
+                                Set<String> additionalComponents, Function<Document, GraphMetadata> graphWriter) {
+        Document document = DomUtil.getDocumentBuilder().getDOMImplementation().createDocument(SVG_NAMESPACE, SVG_QUALIFIED_NAME, null);
+        Element svg = document.getDocumentElement();
+
+        IndentedXmlSerializer serializer = new IndentedXmlSerializer(writer);
+        serializer.writeDeclaration();
+        serializer.writeStartElement(SVG_QUALIFIED_NAME, SVG_NAMESPACE, 0);
+
+        // style and defs are small: they are built as in the DOM writer and serialized right away
+        Set<String> listUsedComponentSVG = new HashSet<>();
+        addStyle(document, styleProvider, labelProvider, vlGraphs, listUsedComponentSVG);
+        listUsedComponentSVG.addAll(additionalComponents);
+        createDefsSVGComponents(document, listUsedComponentSVG);
+        serializeChildren(svg, serializer, 1);
+
+        GraphStream stream = new GraphStream(serializer);
+        document.setUserData(STREAM_KEY, stream, null);
+        GraphMetadata metadata = graphWriter.apply(document);
+        stream.close();
+
+        serializer.writeLineSeparator();
+        serializer.writeEndElement(SVG_QUALIFIED_NAME, 0);
+        serializer.writeLineSeparator();
+        serializer.flush();
+
+        return metadata;
+    }
+
+    @Override
+    protected Element createRootElement(Document document) {
+        Element root = super.createRootElement(document);
+        GraphStream stream = (GraphStream) document.getUserData(STREAM_KEY);
+        if (stream != null) {
+            stream.root = root;
+        }
+        return root;
+    }
+
+    @Override
+    protected void drawVoltageLevel(String prefixId, VoltageLevelGraph graph, Element root, GraphMetadata metadata,
+                                    DiagramLabelProvider initProvider, DiagramStyleProvider styleProvider,
+                                    boolean useNodesInfosParam) {
+        super.drawVoltageLevel(prefixId, graph, root, metadata, initProvider, styleProvider, useNodesInfosParam);
+        flush(root);
+    }
+
+    @Override
+    protected void drawSubstation(String prefixId, SubstationGraph graph, Element root, GraphMetadata metadata,
+                                  DiagramLabelProvider initProvider, DiagramStyleProvider styleProvider) {
+        super.drawSubstation(prefixId, graph, root, metadata, initProvider, styleProvider);
+        flush(root);
+    }
+
+    @Override
+    protected void drawNodes(String prefixId, Element root, VoltageLevelGraph graph, GraphMetadata metadata,
+                             AnchorPointProvider anchorPointProvider, DiagramLabelProvider initProvider,
+                             DiagramStyleProvider styleProvider, List<Node> nodes) {
+        super.drawNodes(prefixId, root, graph, metadata, anchorPointProvider, initProvider, styleProvider, nodes);
+        flush(root);
+    }
+
+    @Override
+    protected void drawEdges(String prefixId, Element root, VoltageLevelGraph graph, List<Edge> edges,
+                             GraphMetadata metadata, AnchorPointProvider anchorPointProvider,
+                             DiagramLabelProvider initProvider, DiagramStyleProvider styleProvider) {
+        super.drawEdges(prefixId, root, graph, edges, metadata, anchorPointProvider, initProvider, styleProvider);
+        flush(root);
+    }
+
+    /**
+     * Instead of deep copies of the component library elements, insert placeholders for their pre-serialized forms,
+     * if available.
+     */
+    @Override
+    protected List<Element> copySvgElements(Document document, String componentType, String subComponentName, List<Element> svgElements) {
+        Map<String, List<SvgFragment>> fragments = componentLibrary.getSvgFragments(componentType);
+        List<SvgFragment> subComponentFragments = fragments != null ? fragments.get(subComponentName) : null;
+        if (subComponentFragments == null) {
+            return super.copySvgElements(document, componentType, subComponentName, svgElements);
+        }
+        List<Element> placeholders = new ArrayList<>(subComponentFragments.size());
+        subComponentFragments.forEach(f -> placeholders.add(f.createPlaceholder(document)));
+        return placeholders;
+    }
+
+    /**
+     * Serialize and discard the elements already appended to the given element, if it is the root group of the
+     * diagram being streamed. Nothing is done for the intermediate groups (cells for instance), which are flushed
+     * together with the root group once completed.
+     */
+    private static void flush(Element element) {
+        GraphStream stream = (GraphStream) element.getOwnerDocument().getUserData(STREAM_KEY);
+        if (stream != null && stream.root == element) {
+            stream.flush();
+        }
+    }
+
+    private static void serializeChildren(Element parent, IndentedXmlSerializer serializer, int depth) {
+        org.w3c.dom.Node child = parent.getFirstChild();
+        while (child != null) {
+            org.w3c.dom.Node next = child.getNextSibling();
+            if (child instanceof Element) {
+                serializer.writeElement((Element) child, depth);
+            }
+            parent.removeChild(child);
+            child = next;
+        }
+    }
+
+    /**
+     * Streaming state of the root group of the diagram
+     */
+    private static final class GraphStream {
+
+        private final IndentedXmlSerializer serializer;
+
+        private Element root;
+
+        private boolean started = false;
+
+        private GraphStream(IndentedXmlSerializer serializer) {
+            this.serializer = serializer;
+        }
+
+        private void flush() {
+            if (root.hasChildNodes()) {
+                if (!started) {
+                    serializer.writeStartElement(root, 1);
+                    started = true;
+                }
+                serializeChildren(root, serializer, 2);
+            }
+        }
+
+        private void close() {
+            if (root == null) {
+                return;
+            }
+            if (started) {
+                serializeChildren(root, serializer, 2);
+                serializer.writeEndElement(root.getTagName(), 1);
+            } else {
+                serializer.writeElement(root, 1);
+            }
+            root.getParentNode().removeChild(root);
+        }
+    }
+}
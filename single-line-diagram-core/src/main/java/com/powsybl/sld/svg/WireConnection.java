@@ -10,9 +10,9 @@ import com.powsybl.sld.library.AnchorOrientation;
 import com.powsybl.sld.library.AnchorPoint;
 import com.powsybl.sld.library.AnchorPointProvider;
 import com.powsybl.sld.model.BaseNode;
+import com.powsybl.sld.model.Polyline;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -133,39 +133,39 @@ public class WireConnection {
     /*
      * Calculating the polyline points for the voltageLevel graph edge
      */
-    public List<Double> calculatePolylinePoints(BaseNode node1, BaseNode node2, boolean straight) {
+    public Polyline calculatePolylinePoints(BaseNode node1, BaseNode node2, boolean straight) {
         double x1 = node1.getX() + getAnchorPoint1().getX();
         double y1 = node1.getY() + getAnchorPoint1().getY();
         double x2 = node2.getX() + getAnchorPoint2().getX();
         double y2 = node2.getY() + getAnchorPoint2().getY();
 
         if (straight || (x1 == x2 || y1 == y2)) {
-            return Arrays.asList(x1, y1, x2, y2);
+            return new Polyline(x1, y1, x2, y2);
         }
-        List<Double> pol = new ArrayList<>();
+        Polyline pol = new Polyline();
         switch (anchorPoint1.getOrientation()) {
             case VERTICAL:
                 if (anchorPoint2.getOrientation() == AnchorOrientation.VERTICAL) {
                     double mid = (y1 + y2) / 2;
-                    pol.addAll(Arrays.asList(x1, y1, x1, mid, x2, mid, x2, y2));
+                    pol.append(x1, y1).append(x1, mid).append(x2, mid).append(x2, y2);
                 } else {
-                    pol.addAll(Arrays.asList(x1, y1, x1, y2, x2, y2));
+                    pol.append(x1, y1).append(x1, y2).append(x2, y2);
                 }
                 break;
             case HORIZONTAL:
                 if (anchorPoint2.getOrientation() == AnchorOrientation.HORIZONTAL) {
                     double mid = (x1 + x2) / 2;
-                    pol.addAll(Arrays.asList(x1, y1, mid, y1, mid, y2, x2, y2));
+                    pol.append(x1, y1).append(mid, y1).append(mid, y2).append(x2, y2);
                 } else {
-                    pol.addAll(Arrays.asList(x1, y1, x2, y1, x2, y2));
+                    pol.append(x1, y1).append(x2, y1).append(x2, y2);
                 }
                 break;
             case NONE:
                 // Case none-none is not handled, it never happens (even if it happen it will execute another case)
                 if (anchorPoint2.getOrientation() == AnchorOrientation.HORIZONTAL) {
-                    pol.addAll(Arrays.asList(x1, y1, x1, y2, x2, y2));
+                    pol.append(x1, y1).append(x1, y2).append(x2, y2);
                 } else {
-                    pol.addAll(Arrays.asList(x1, y1, x2, y1, x2, y2));
+                    pol.append(x1, y1).append(x2, y1).append(x2, y2);
                 }
                 break;
             default:
@@ -7,7 +7,9 @@
 package com.powsybl.sld.util;
 
 import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Bus;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.ThreeWindingsTransformer;
 import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.sld.library.ComponentLibrary;
@@ -18,8 +20,6 @@ import com.powsybl.sld.svg.DiagramStyles;
 import com.powsybl.sld.svg.ElectricalNodeInfo;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -297,27 +297,33 @@ public abstract class AbstractBaseVoltageDiagramStyleProvider extends DefaultDia
 
     @Override
     public List<ElectricalNodeInfo> getElectricalNodesInfos(VoltageLevelGraph graph) {
-        List<ElectricalNodeInfo> nodesInfos = new ArrayList<>();
-        List<Node> feederNodes = graph.getNodes().stream()
-                .filter(n -> n.getType() == Node.NodeType.FEEDER)
-                .collect(Collectors.toList());
+        // feeder nodes indexed by equipment id, in the order of the graph nodes
+        Map<String, List<Node>> feederNodesByEquipmentId = new HashMap<>();
+        for (Node node : graph.getNodes()) {
+            if (node.getType() == Node.NodeType.FEEDER && node.getEquipmentId() != null) {
+                feederNodesByEquipmentId.computeIfAbsent(node.getEquipmentId(), k -> new ArrayList<>(1)).add(node);
+            }
+        }
+        // the feeder nodes of an equipment having several terminals in the voltage level are styled once
+        Map<Node, Optional<String>> feederNodesStyles = new IdentityHashMap<>();
 
+        List<ElectricalNodeInfo> nodesInfos = new ArrayList<>();
         VoltageLevel vl = network.getVoltageLevel(graph.getVoltageLevelInfos().getId());
-        vl.getBusView().getBuses().forEach(b -> {
-            final AtomicReference<String> style = new AtomicReference<>();
-            b.getConnectedTerminals().forEach(t -> {
-                if (style.get() == null) {
-                    feederNodes.forEach(n -> {
-                        if (style.get() == null && n.getEquipmentId().equals(t.getConnectable().getId())) {
-                            Optional<String> voltageLevelStyle = getVoltageLevelNodeStyle(graph.getVoltageLevelInfos(), n);
-                            voltageLevelStyle.ifPresent(style::set);
-                        }
-                    });
+        for (Bus b : vl.getBusView().getBuses()) {
+            String style = null;
+            Iterator<? extends Terminal> itTerminal = b.getConnectedTerminals().iterator();
+            while (style == null && itTerminal.hasNext()) {
+                List<Node> feederNodes = feederNodesByEquipmentId.getOrDefault(itTerminal.next().getConnectable().getId(), Collections.emptyList());
+                for (Node n : feederNodes) {
+                    style = feederNodesStyles.computeIfAbsent(n, node -> getVoltageLevelNodeStyle(graph.getVoltageLevelInfos(), node)).orElse(null);
+                    if (style != null) {
+                        break;
+                    }
                 }
-            });
+            }
 
-            nodesInfos.add(new ElectricalNodeInfo(b.getV(), b.getAngle(), style.get()));
-        });
+            nodesInfos.add(new ElectricalNodeInfo(b.getV(), b.getAngle(), style));
+        }
 
         return nodesInfos;
     }
@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.util;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hand-rolled XML serializer writing elements directly to a {@link Writer}, with the same indentation and escaping
+ * rules as the indenting {@link javax.xml.transform.Transformer} used by {@link DomUtil}.
+ * Elements carrying a {@link PreSerializedElement} as user data are written from that pre-serialized element.
+ *
+ * @author agent <agent at local>
+ */
+public final class IndentedXmlSerializer {
+
+    public static final String INDENT = "    ";
+    public static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+
+    public IndentedXmlSerializer(Writer writer) {
+        this.writer = Objects.requireNonNull(writer);
+    }
+
+    public void writeDeclaration() {
+        write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+        write(LINE_SEPARATOR);
+    }
+
+    public void writeStartElement(String name, String namespace, int depth) {
+        indent(depth);
+        write("<");
+        write(name);
+        if (namespace != null) {
+            writeAttribute("xmlns", namespace);
+        }
+        write(">");
+    }
+
+    public void writeStartElement(Element element, int depth) {
+        indent(depth);
+        write("<");
+        write(element.getTagName());
+        writeAttributes(element);
+        write(">");
+    }
+
+    public void writeEndElement(String name, int depth) {
+        indent(depth);
+        write("</");
+        write(name);
+        write(">");
+    }
+
+    /**
+     * Serialize the given element and all its descendants
+     */
+    public void writeElement(Element element, int depth) {
+        PreSerializedElement preSerialized = (PreSerializedElement) element.getUserData(PreSerializedElement.USER_DATA_KEY);
+        if (preSerialized != null) {
+            writePreSerialized(element, preSerialized, depth);
+            return;
+        }
+        indent(depth);
+        write("<");
+        write(element.getTagName());
+        writeAttributes(element);
+        writeContent(element, depth);
+    }
+
+    /**
+     * Serialize what follows the attributes of the given element: its children and its end tag
+     */
+    public void writeContent(Element element, int depth) {
+        NodeList children = element.getChildNodes();
+        if (children.getLength() == 0) {
+            write("/>");
+        } else if (isBlockContent(children)) {
+            write(">");
+            for (int i = 0; i < children.getLength(); i++) {
+                Node child = children.item(i);
+                if (child instanceof Element) {
+                    writeElement((Element) child, depth + 1);
+                } else if (child instanceof CDATASection) {
+                    indent(depth + 1);
+                    write("<![CDATA[");
+                    write(child.getNodeValue());
+                    write("]]>");
+                } else if (child.getNodeType() == Node.TEXT_NODE && !isWhitespace(child.getNodeValue())) {
+                    indent(depth + 1);
+                    writeText(child.getNodeValue());
+                }
+            }
+            write(LINE_SEPARATOR);
+            writeIndent(depth);
+            write("</");
+            write(element.getTagName());
+            write(">");
+        } else {
+            write(">");
+            for (int i = 0; i < children.getLength(); i++) {
+                writeText(children.item(i).getNodeValue());
+            }
+            write("</");
+            write(element.getTagName());
+            write(">");
+        }
+    }
+
+    public void writeAttribute(String name, String value) {
+        write(" ");
+        write(name);
+        write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': write("&quot;"); break;
+                case '\n': write("&#10;"); break;
+                case '\r': write("&#13;"); break;
+                case '\t': write("&#9;"); break;
+                default: writeEscaped(c);
+            }
+        }
+        write("\"");
+    }
+
+    public void writeLineSeparator() {
+        write(LINE_SEPARATOR);
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the given placeholder element from its pre-serialized form: the attributes of the placeholder and the
+     * fixed attributes are merged by name, as both the DOM and the Transformer sort them, an attribute of the
+     * placeholder replacing the fixed attribute of the same name.
+     */
+    private void writePreSerialized(Element placeholder, PreSerializedElement preSerialized, int depth) {
+        indent(depth);
+        write("<");
+        write(placeholder.getTagName());
+
+        NamedNodeMap attributes = placeholder.getAttributes();
+        List<String> fixedNames = preSerialized.getAttributeNames();
+        List<String> fixedAttributes = preSerialized.getSerializedAttributes();
+        int i = 0;
+        int j = 0;
+        while (i < attributes.getLength() || j < fixedNames.size()) {
+            Attr attr = i < attributes.getLength() ? (Attr) attributes.item(i) : null;
+            int comparison = attr == null ? 1 : j == fixedNames.size() ? -1 : attr.getName().compareTo(fixedNames.get(j));
+            if (comparison <= 0) {
+                writeAttribute(attr.getName(), attr.getValue());
+                i++;
+                if (comparison == 0) {
+                    j++;
+                }
+            } else {
+                write(fixedAttributes.get(j));
+                j++;
+            }
+        }
+
+        List<String> contentLines = preSerialized.getContentLines();
+        write(contentLines.get(0));
+        for (int k = 1; k < contentLines.size(); k++) {
+            write(LINE_SEPARATOR);
+            writeIndent(depth);
+            write(contentLines.get(k));
+        }
+    }
+
+    private static boolean isBlockContent(NodeList children) {
+        for (int i = 0; i < children.getLength(); i++) {
+            short type = children.item(i).getNodeType();
+            if (type == Node.ELEMENT_NODE || type == Node.CDATA_SECTION_NODE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeAttributes(Element element) {
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            writeAttribute(attr.getName(), attr.getValue());
+        }
+    }
+
+    private void writeText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\r') {
+                write("&#13;");
+            } else {
+                writeEscaped(c);
+            }
+        }
+    }
+
+    private void writeEscaped(char c) {
+        switch (c) {
+            case '&': write("&amp;"); break;
+            case '<': write("&lt;"); break;
+            case '>': write("&gt;"); break;
+            default: write(c);
+        }
+    }
+
+    private void indent(int depth) {
+        if (depth > 0) {
+            write(LINE_SEPARATOR);
+        }
+        writeIndent(depth);
+    }
+
+    private void writeIndent(int depth) {
+        for (int i = 0; i < depth; i++) {
+            write(INDENT);
+        }
+    }
+
+    private void write(String str) {
+        try {
+            writer.write(str);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(char c) {
+        try {
+            writer.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
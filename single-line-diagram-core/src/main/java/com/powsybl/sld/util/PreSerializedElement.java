@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.util;
+
+import java.util.List;
+
+/**
+ * Element whose fixed attributes and content are serialized once for all. It is inserted in a document as an empty
+ * placeholder element carrying it as user data, and written verbatim by {@link IndentedXmlSerializer}.
+ *
+ * @author agent <agent at local>
+ */
+public interface PreSerializedElement {
+
+    String USER_DATA_KEY = "sld-pre-serialized-element";
+
+    /**
+     * Names of the pre-serialized attributes, sorted
+     */
+    List<String> getAttributeNames();
+
+    /**
+     * Pre-serialized attributes, in the same order as {@link #getAttributeNames()}
+     */
+    List<String> getSerializedAttributes();
+
+    /**
+     * Pre-serialized children and end tag, as lines whose indentation is relative to the element depth
+     */
+    List<String> getContentLines();
+}
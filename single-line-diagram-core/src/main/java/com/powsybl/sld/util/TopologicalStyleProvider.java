@@ -9,10 +9,12 @@ package com.powsybl.sld.util;
 import com.powsybl.iidm.network.Bus;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.sld.model.ConnectivityIndex;
 import com.powsybl.sld.model.Edge;
 import com.powsybl.sld.model.LineEdge;
 import com.powsybl.sld.model.Node;
 import com.powsybl.sld.model.Node.NodeType;
+import com.powsybl.sld.model.VoltageLevelGraph;
 import com.powsybl.sld.model.VoltageLevelInfos;
 import com.powsybl.sld.styles.BaseVoltageStyle;
 import com.powsybl.sld.svg.DiagramStyles;
@@ -30,6 +32,60 @@ public class TopologicalStyleProvider extends AbstractBaseVoltageDiagramStylePro
 
     private final Map<String, Map<String, String>> voltageLevelStyleMap = new HashMap<>();
 
+    // electrical islands of the voltage level graphs, that is their connected components when cut at open switches,
+    // computed from the switch states when a graph is first styled: see reset
+    private final Map<VoltageLevelGraph, IslandIndex> islandIndexes = new WeakHashMap<>();
+
+    /**
+     * Electrical islands of a voltage level graph, with the topological style of each island for each voltage level
+     * style map, given by the first node of the island which is connected to a bus of the bus view.
+     * <p>
+     * The index only keeps node and equipment ids: holding the nodes would keep their graph, which is the key of the
+     * weak map, reachable.
+     */
+    private static final class IslandIndex {
+
+        private final Map<String, Integer> islandByNodeId = new HashMap<>();
+        private final String[][] islandEquipmentIds;
+        private final Map<String, String[]> islandStylesByVoltageLevel = new HashMap<>();
+
+        private IslandIndex(VoltageLevelGraph graph) {
+            List<List<Node>> islands = graph.getConnectivityIndex(ConnectivityIndex.NOT_OPEN_SWITCH).getComponents();
+            islandEquipmentIds = new String[islands.size()][];
+            for (int i = 0; i < islandEquipmentIds.length; i++) {
+                List<Node> island = islands.get(i);
+                islandEquipmentIds[i] = new String[island.size()];
+                for (int j = 0; j < island.size(); j++) {
+                    Node node = island.get(j);
+                    islandByNodeId.put(node.getId(), i);
+                    islandEquipmentIds[i][j] = node.getEquipmentId();
+                }
+            }
+        }
+
+        private String getStyle(Node node, String voltageLevelId, Map<String, String> styleMap) {
+            Integer island = islandByNodeId.get(node.getId());
+            if (island == null) {
+                return null;
+            }
+            return islandStylesByVoltageLevel.computeIfAbsent(voltageLevelId, id -> createIslandStyles(styleMap))[island];
+        }
+
+        private String[] createIslandStyles(Map<String, String> styleMap) {
+            String[] islandStyles = new String[islandEquipmentIds.length];
+            for (int i = 0; i < islandStyles.length; i++) {
+                for (String equipmentId : islandEquipmentIds[i]) {
+                    String style = styleMap.get(equipmentId);
+                    if (style != null) {
+                        islandStyles[i] = style;
+                        break;
+                    }
+                }
+            }
+            return islandStyles;
+        }
+    }
+
     public TopologicalStyleProvider(Network network) {
         this(BaseVoltageStyle.fromPlatformConfig(), network);
     }
@@ -66,6 +122,7 @@ public class TopologicalStyleProvider extends AbstractBaseVoltageDiagramStylePro
     @Override
     public void reset() {
         voltageLevelStyleMap.clear();
+        islandIndexes.clear();
     }
 
     private Map<String, String> createStyleMap(String baseVoltageLevelStyle, VoltageLevelInfos voltageLevelInfos) {
@@ -91,14 +148,22 @@ public class TopologicalStyleProvider extends AbstractBaseVoltageDiagramStylePro
     }
 
     private String findConnectedStyle(String baseVoltageLevelStyle, VoltageLevelInfos voltageLevelInfos, Node node) {
-        Set<Node> connectedNodes = findConnectedNodes(node);
-        for (Node connectedNode : connectedNodes) {
-            String nodeTopologicalStyle = getVoltageLevelStyleMap(baseVoltageLevelStyle, voltageLevelInfos).get(connectedNode.getEquipmentId());
-            if (nodeTopologicalStyle != null) {
-                return nodeTopologicalStyle;
-            }
+        Map<String, String> styleMap = getVoltageLevelStyleMap(baseVoltageLevelStyle, voltageLevelInfos);
+        if (node.getGraph() == null) {
+            // node outside of any voltage level graph, as the middle node of a transformer: connected to the nodes of
+            // the voltage level graphs it is adjacent to
+            return node.getAdjacentNodes().stream()
+                    .filter(adjNode -> adjNode.getGraph() != null)
+                    .map(adjNode -> findConnectedStyle(styleMap, voltageLevelInfos, adjNode))
+                    .filter(Objects::nonNull)
+                    .findFirst().orElse(null);
         }
-        return null;
+        return findConnectedStyle(styleMap, voltageLevelInfos, node);
+    }
+
+    private String findConnectedStyle(Map<String, String> styleMap, VoltageLevelInfos voltageLevelInfos, Node node) {
+        return islandIndexes.computeIfAbsent(node.getGraph(), IslandIndex::new)
+            .getStyle(node, voltageLevelInfos.getId(), styleMap);
     }
 
     private Map<String, String> getVoltageLevelStyleMap(String baseVoltageLevelStyle, VoltageLevelInfos
@@ -107,25 +172,6 @@ public class TopologicalStyleProvider extends AbstractBaseVoltageDiagramStylePro
                 voltageLevelInfos.getId(), k -> createStyleMap(baseVoltageLevelStyle, voltageLevelInfos));
     }
 
-    private Set<Node> findConnectedNodes(Node node) {
-        Set<Node> visitedNodes = new HashSet<>();
-        findConnectedNodes(node, visitedNodes);
-        return visitedNodes;
-    }
-
-    private void findConnectedNodes(Node node, Set<Node> visitedNodes) {
-        if (visitedNodes.contains(node)) {
-            return;
-        }
-        if (node.getType() == NodeType.SWITCH && node.isOpen()) {
-            return;
-        }
-        visitedNodes.add(node);
-        for (Node adjNode : node.getAdjacentNodes()) {
-            findConnectedNodes(adjNode, visitedNodes);
-        }
-    }
-
     @Override
     public Optional<String> getVoltageLevelNodeStyle(VoltageLevelInfos voltageLevelInfos, Node node) {
         if (node.getType() == NodeType.SWITCH && node.isOpen()) {
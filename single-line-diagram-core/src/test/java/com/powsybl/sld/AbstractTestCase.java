@@ -16,6 +16,7 @@ import com.powsybl.sld.model.ZoneGraph;
 import com.powsybl.sld.svg.DefaultSVGWriter;
 import com.powsybl.sld.svg.DiagramLabelProvider;
 import com.powsybl.sld.svg.DiagramStyleProvider;
+import com.powsybl.sld.svg.SVGWriter;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -84,6 +85,10 @@ public abstract class AbstractTestCase {
         }
     }
 
+    protected SVGWriter getSVGWriter(LayoutParameters layoutParameters) {
+        return new DefaultSVGWriter(componentLibrary, layoutParameters);
+    }
+
     public abstract void toSVG(VoltageLevelGraph g, String filename);
 
     public abstract void toSVG(SubstationGraph g, String filename);
@@ -96,7 +101,7 @@ public abstract class AbstractTestCase {
                         DiagramLabelProvider initValueProvider,
                         DiagramStyleProvider styleProvider) {
         try (StringWriter writer = new StringWriter()) {
-            new DefaultSVGWriter(componentLibrary, layoutParameters)
+            getSVGWriter(layoutParameters)
                     .write("", graph,
                             initValueProvider,
                             styleProvider,
@@ -117,7 +122,7 @@ public abstract class AbstractTestCase {
         try (StringWriter writer = new StringWriter();
              StringWriter metadataWriter = new StringWriter()) {
             diagram.writeSvg("",
-                    new DefaultSVGWriter(componentLibrary, layoutParameters),
+                    getSVGWriter(layoutParameters),
                     initValueProvider, styleProvider,
                     writer, metadataWriter);
 
@@ -137,7 +142,7 @@ public abstract class AbstractTestCase {
                         DiagramLabelProvider initValueProvider,
                         DiagramStyleProvider styleProvider) {
         try (StringWriter writer = new StringWriter()) {
-            new DefaultSVGWriter(componentLibrary, layoutParameters)
+            getSVGWriter(layoutParameters)
                     .write("", graph,
                             initValueProvider,
                             styleProvider,
@@ -158,7 +163,7 @@ public abstract class AbstractTestCase {
         try (StringWriter writer = new StringWriter();
              StringWriter metadataWriter = new StringWriter()) {
             diagram.writeSvg("",
-                    new DefaultSVGWriter(componentLibrary, layoutParameters),
+                    getSVGWriter(layoutParameters),
                     initValueProvider,
                     styleProvider,
                     writer, metadataWriter);
@@ -238,7 +243,7 @@ public abstract class AbstractTestCase {
 
     public String toSVG(ZoneGraph graph, String filename, LayoutParameters layoutParameters, DiagramLabelProvider initValueProvider, DiagramStyleProvider styleProvider) {
         try (StringWriter writer = new StringWriter()) {
-            new DefaultSVGWriter(componentLibrary, layoutParameters)
+            getSVGWriter(layoutParameters)
                     .write("", graph,
                             initValueProvider,
                             styleProvider,
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.iidm;
+
+import com.powsybl.sld.NetworkGraphBuilder;
+import com.powsybl.sld.layout.HorizontalSubstationLayoutFactory;
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.layout.PositionVoltageLevelLayoutFactory;
+import com.powsybl.sld.library.ComponentLibrary;
+import com.powsybl.sld.model.Edge;
+import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.SubstationGraph;
+import com.powsybl.sld.svg.*;
+import com.powsybl.sld.util.TopologicalStyleProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TestCachingProviders extends AbstractTestCaseIidm {
+
+    // calls to the delegate providers, by node or edge
+    private final Map<Node, Integer> decoratorsCalls = new IdentityHashMap<>();
+    private final Map<Node, Integer> labelsCalls = new IdentityHashMap<>();
+    private final Map<Node, Integer> nodeStylesCalls = new IdentityHashMap<>();
+    private final Map<Edge, Integer> wireStylesCalls = new IdentityHashMap<>();
+
+    @Override
+    protected LayoutParameters getLayoutParameters() {
+        return createDefaultLayoutParameters();
+    }
+
+    @Before
+    public void setUp() {
+        network = CreateNetworksUtil.createNodeBreakerNetworkWithInternalBranches("TestCachingProviders", "test");
+        graphBuilder = new NetworkGraphBuilder(network);
+    }
+
+    @Override
+    protected DiagramLabelProvider getDefaultDiagramLabelProvider() {
+        return new DefaultDiagramLabelProvider(network, componentLibrary, getLayoutParameters()) {
+            @Override
+            public List<NodeLabel> getNodeLabels(Node node) {
+                labelsCalls.merge(node, 1, Integer::sum);
+                return super.getNodeLabels(node);
+            }
+
+            @Override
+            public List<NodeDecorator> getNodeDecorators(Node node) {
+                decoratorsCalls.merge(node, 1, Integer::sum);
+                return super.getNodeDecorators(node);
+            }
+        };
+    }
+
+    private DiagramStyleProvider createStyleProvider() {
+        return new TopologicalStyleProvider(network) {
+            @Override
+            public List<String> getSvgNodeStyles(Node node, ComponentLibrary componentLibrary, boolean showInternalNodes) {
+                nodeStylesCalls.merge(node, 1, Integer::sum);
+                return super.getSvgNodeStyles(node, componentLibrary, showInternalNodes);
+            }
+
+            @Override
+            public List<String> getSvgWireStyles(Edge edge, boolean highlightLineState) {
+                wireStylesCalls.merge(edge, 1, Integer::sum);
+                return super.getSvgWireStyles(edge, highlightLineState);
+            }
+        };
+    }
+
+    private void clearCalls() {
+        decoratorsCalls.clear();
+        labelsCalls.clear();
+        nodeStylesCalls.clear();
+        wireStylesCalls.clear();
+    }
+
+    private static int maxCalls(Map<?, Integer> calls) {
+        return calls.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private SubstationGraph createGraph() {
+        SubstationGraph graph = graphBuilder.buildSubstationGraph("S1", false);
+        new HorizontalSubstationLayoutFactory().create(graph, new PositionVoltageLevelLayoutFactory()).run(getLayoutParameters());
+        return graph;
+    }
+
+    private String write(SubstationGraph graph, DiagramLabelProvider labelProvider, DiagramStyleProvider styleProvider) {
+        StringWriter writer = new StringWriter();
+        getSVGWriter(getLayoutParameters()).write("", graph, labelProvider, styleProvider, writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void test() {
+        // the writer sets the rotation angles of the transformers between voltage levels when drawing them, which
+        // changes the output of a second write of the same graph: each write is done on a new graph
+        String svg = write(createGraph(), getDefaultDiagramLabelProvider(), createStyleProvider());
+        // without caching, the decorators of a node are asked both for its style and for drawing it
+        assertTrue(maxCalls(decoratorsCalls) > 1);
+        clearCalls();
+
+        CachingDiagramLabelProvider labelProvider = new CachingDiagramLabelProvider(getDefaultDiagramLabelProvider());
+        CachingDiagramStyleProvider styleProvider = new CachingDiagramStyleProvider(createStyleProvider());
+        assertEquals(svg, write(createGraph(), labelProvider, styleProvider));
+        assertFalse(labelProvider.isWriting());
+
+        // during a write, the delegates are asked once per node or edge, the next calls hitting the caches
+        assertEquals(1, maxCalls(decoratorsCalls));
+        assertEquals(1, maxCalls(labelsCalls));
+        assertEquals(1, maxCalls(nodeStylesCalls));
+        assertEquals(1, maxCalls(wireStylesCalls));
+        assertTrue(labelProvider.getHitCount() > 0);
+        long missCount = labelProvider.getMissCount();
+        long styleMissCount = styleProvider.getMissCount();
+
+        // outside a write, the calls are not cached
+        Node node = decoratorsCalls.keySet().iterator().next();
+        labelProvider.getNodeDecorators(node);
+        labelProvider.getNodeDecorators(node);
+        assertEquals(3, (int) decoratorsCalls.get(node));
+        assertEquals(missCount, labelProvider.getMissCount());
+
+        // and the next write starts from empty caches
+        clearCalls();
+        assertEquals(svg, write(createGraph(), labelProvider, styleProvider));
+        assertEquals(1, maxCalls(decoratorsCalls));
+        assertEquals(2 * missCount, labelProvider.getMissCount());
+        assertEquals(2 * styleMissCount, styleProvider.getMissCount());
+    }
+
+    @Test
+    public void testPrefetch() {
+        AtomicInteger batchCalls = new AtomicInteger();
+        AtomicInteger prefetchedCount = new AtomicInteger();
+        AtomicInteger valueCalls = new AtomicInteger();
+        DiagramLabelProvider batchLabelProvider = new DefaultDiagramLabelProvider(network, componentLibrary, getLayoutParameters()) {
+            @Override
+            public InitialValue getInitialValue(Node node) {
+                valueCalls.incrementAndGet();
+                return super.getInitialValue(node);
+            }
+
+            @Override
+            public Map<Node, InitialValue> getInitialValues(Collection<? extends Node> nodes) {
+                batchCalls.incrementAndGet();
+                prefetchedCount.addAndGet(nodes.size());
+                return super.getInitialValues(nodes);
+            }
+        };
+
+        // the initial values are fetched once per voltage level, and not fetched again while drawing
+        SubstationGraph graph = createGraph();
+        String svg = write(graph, batchLabelProvider, new DefaultDiagramStyleProvider());
+        assertEquals(graph.getNodes().size(), batchCalls.get());
+        assertTrue(prefetchedCount.get() > 0);
+        assertEquals(prefetchedCount.get(), valueCalls.get());
+        assertEquals(write(createGraph(), getDefaultDiagramLabelProvider(), new DefaultDiagramStyleProvider()), svg);
+
+        // the caching provider fetches in one call the values which are not cached yet
+        CachingDiagramLabelProvider cachingLabelProvider = new CachingDiagramLabelProvider(batchLabelProvider);
+        batchCalls.set(0);
+        valueCalls.set(0);
+        cachingLabelProvider.beginWrite();
+        List<Node> nodes = graph.getNodes().get(0).getNodes();
+        Map<Node, InitialValue> initialValues = cachingLabelProvider.getInitialValues(nodes);
+        assertEquals(nodes, new ArrayList<>(initialValues.keySet()));
+        cachingLabelProvider.getInitialValues(nodes);
+        cachingLabelProvider.endWrite();
+        assertEquals(1, batchCalls.get());
+        assertEquals(nodes.size(), valueCalls.get());
+        assertEquals(nodes.size(), cachingLabelProvider.getHitCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndWithoutBegin() {
+        new CachingDiagramStyleProvider(new DefaultDiagramStyleProvider()).endWrite();
+    }
+}
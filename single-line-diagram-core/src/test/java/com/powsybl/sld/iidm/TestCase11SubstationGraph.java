@@ -19,6 +19,8 @@ import com.powsybl.sld.util.NominalVoltageDiagramStyleProvider;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -239,6 +241,23 @@ public class TestCase11SubstationGraph extends AbstractTestCaseIidm {
         assertEquals(toString("/TestCase11SubstationGraphV.json"), toJson(g, "/TestCase11SubstationGraphV.json"));
     }
 
+    @Test
+    public void testParallelVoltageLevelsLayout() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // same references as the sequential layouts
+            SubstationGraph gh = graphBuilder.buildSubstationGraph(substation.getId(), false);
+            new HorizontalSubstationLayoutFactory().setExecutor(pool).create(gh, new PositionVoltageLevelLayoutFactory()).run(getLayoutParameters());
+            assertEquals(toString("/TestCase11SubstationGraphH.json"), toJson(gh, "/TestCase11SubstationGraphH.json"));
+
+            SubstationGraph gv = graphBuilder.buildSubstationGraph(substation.getId(), false);
+            new VerticalSubstationLayoutFactory().setExecutor(pool).create(gv, new PositionVoltageLevelLayoutFactory()).run(getLayoutParameters());
+            assertEquals(toString("/TestCase11SubstationGraphV.json"), toJson(gv, "/TestCase11SubstationGraphV.json"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testHorizontalDefaultStyle() {
         // compare metadata of substation diagram with reference
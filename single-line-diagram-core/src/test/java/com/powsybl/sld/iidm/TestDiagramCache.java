@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.iidm;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Switch;
+import com.powsybl.iidm.network.SwitchKind;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.sld.DiagramCache;
+import com.powsybl.sld.NetworkGraphBuilder;
+import com.powsybl.sld.SubstationDiagram;
+import com.powsybl.sld.VoltageLevelDiagram;
+import com.powsybl.sld.layout.HorizontalSubstationLayoutFactory;
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.layout.PositionVoltageLevelLayoutFactory;
+import com.powsybl.sld.library.ComponentLibrary;
+import com.powsybl.sld.library.ConvergenceComponentLibrary;
+import com.powsybl.sld.svg.DefaultDiagramLabelProvider;
+import com.powsybl.sld.svg.DefaultDiagramStyleProvider;
+import com.powsybl.sld.svg.DefaultSVGWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TestDiagramCache {
+
+    private Network network;
+    private DiagramCache cache;
+
+    @Before
+    public void setUp() {
+        network = CreateNetworksUtil.createNodeBreakerNetworkWithInternalBranches("TestDiagramCache", "test");
+        cache = new DiagramCache(network, new PositionVoltageLevelLayoutFactory(), new HorizontalSubstationLayoutFactory(), false);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        VoltageLevelDiagram diagram = cache.getVoltageLevelDiagram("VL1");
+        assertSame(diagram, cache.getVoltageLevelDiagram("VL1"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0);
+        assertEquals(diagram.getGraph().getNodes().size(), cache.getWeight());
+
+        // a switch state change makes the diagram stale
+        Switch sw = network.getVoltageLevel("VL1").getSwitches().iterator().next();
+        sw.setOpen(!sw.isOpen());
+        VoltageLevelDiagram diagram2 = cache.getVoltageLevelDiagram("VL1");
+        assertNotSame(diagram, diagram2);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        // the diagrams are cached per variant
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        network.getVariantManager().setWorkingVariant("v");
+        assertNotSame(diagram2, cache.getVoltageLevelDiagram("VL1"));
+        network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertSame(diagram2, cache.getVoltageLevelDiagram("VL1"));
+        assertEquals(2, cache.size());
+
+        cache.invalidate("VL1");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void testSwitchMoved() {
+        VoltageLevelDiagram diagram = cache.getVoltageLevelDiagram("VL1");
+
+        // the disconnector D11 is moved from the busbar section BBS11 to BBS12, with the same id and state
+        VoltageLevel vl = network.getVoltageLevel("VL1");
+        vl.getNodeBreakerView().removeSwitch("D11");
+        vl.getNodeBreakerView().newSwitch()
+                .setId("D11")
+                .setKind(SwitchKind.DISCONNECTOR)
+                .setNode1(20)
+                .setNode2(11)
+                .add();
+        assertNotSame(diagram, cache.getVoltageLevelDiagram("VL1"));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testTerminalMoved() {
+        network = CreateNetworksUtil.createBusBreakerNetworkWithInternalBranches("TestDiagramCache", "test");
+        cache = new DiagramCache(network, new PositionVoltageLevelLayoutFactory(), new HorizontalSubstationLayoutFactory(), false);
+        VoltageLevelDiagram diagram = cache.getVoltageLevelDiagram("VL1");
+        assertSame(diagram, cache.getVoltageLevelDiagram("VL1"));
+
+        // the generator G is moved from the bus B12 to B11
+        network.getGenerator("G").getTerminal().getBusBreakerView().setConnectableBus("B11");
+        VoltageLevelDiagram diagram2 = cache.getVoltageLevelDiagram("VL1");
+        assertNotSame(diagram, diagram2);
+        assertEquals(2, cache.getMissCount());
+        assertNull(diagram2.getGraph().getNode("FICT_VL1_B12_G"));
+        assertNotNull(diagram2.getGraph().getNode("FICT_VL1_B11_G"));
+    }
+
+    private String writeSvg(SubstationDiagram diagram) {
+        LayoutParameters layoutParameters = new LayoutParameters();
+        ComponentLibrary componentLibrary = new ConvergenceComponentLibrary();
+        StringWriter svgWriter = new StringWriter();
+        diagram.writeSvg("", new DefaultSVGWriter(componentLibrary, layoutParameters),
+                new DefaultDiagramLabelProvider(network, componentLibrary, layoutParameters), new DefaultDiagramStyleProvider(),
+                svgWriter, new StringWriter());
+        return svgWriter.toString();
+    }
+
+    @Test
+    public void testWriteCachedDiagram() {
+        // a cached diagram written again gives the same SVG as a freshly built one
+        String svg = writeSvg(cache.getSubstationDiagram("S1"));
+        assertEquals(svg, writeSvg(cache.getSubstationDiagram("S1")));
+        assertEquals(1, cache.getHitCount());
+        SubstationDiagram freshDiagram = SubstationDiagram.build(new NetworkGraphBuilder(network), "S1",
+                new HorizontalSubstationLayoutFactory(), new PositionVoltageLevelLayoutFactory(), false);
+        assertEquals(writeSvg(freshDiagram), svg);
+
+        // the writes of a shared diagram are serialized
+        SubstationDiagram diagram = cache.getSubstationDiagram("S1");
+        List<CompletableFuture<String>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> writeSvg(diagram)))
+                .collect(Collectors.toList());
+        futures.forEach(future -> assertEquals(svg, future.join()));
+    }
+
+    @Test
+    public void testEviction() {
+        cache.setMaxSize(1);
+        VoltageLevelDiagram diagram = cache.getVoltageLevelDiagram("VL1");
+        SubstationDiagram substationDiagram = cache.getSubstationDiagram("S1");
+        assertSame(substationDiagram, cache.getSubstationDiagram("S1"));
+        assertEquals(1, cache.getEvictionCount());
+        assertNotSame(diagram, cache.getVoltageLevelDiagram("VL1"));
+        assertEquals(2, cache.getEvictionCount());
+
+        cache.setMaxSize(10).setMaxWeight(0);
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxSize() {
+        cache.setMaxSize(-1);
+    }
+}
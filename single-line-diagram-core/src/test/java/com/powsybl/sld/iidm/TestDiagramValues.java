@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.iidm;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.sld.NetworkGraphBuilder;
+import com.powsybl.sld.iidm.extensions.ConnectablePosition;
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.layout.PositionVoltageLevelLayoutFactory;
+import com.powsybl.sld.model.VoltageLevelGraph;
+import com.powsybl.sld.svg.DiagramLabelProvider;
+import com.powsybl.sld.svg.DiagramStyleProvider;
+import com.powsybl.sld.svg.DiagramValues;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TestDiagramValues extends AbstractTestCaseIidm {
+
+    private final LayoutParameters layoutParameters = createDefaultLayoutParameters().setAddValueIds(true);
+
+    @Override
+    protected LayoutParameters getLayoutParameters() {
+        return layoutParameters;
+    }
+
+    @Before
+    public void setUp() {
+        network = Network.create("testDiagramValues", "test");
+        graphBuilder = new NetworkGraphBuilder(network);
+        substation = createSubstation(network, "s", "s", Country.FR);
+        vl = createVoltageLevel(substation, "vl", "vl", TopologyKind.NODE_BREAKER, 380, 10);
+        createBusBarSection(vl, "bbs", "bbs", 0, 1, 1);
+        createLoad(vl, "l", "l", "l", 0, ConnectablePosition.Direction.TOP, 2, 10, 10);
+        createSwitch(vl, "d", "d", SwitchKind.DISCONNECTOR, false, false, false, 0, 1);
+        createSwitch(vl, "b", "b", SwitchKind.BREAKER, false, false, false, 1, 2);
+        network.getLoad("l").getTerminal().setP(10).setQ(-5);
+    }
+
+    @Test
+    public void test() {
+        VoltageLevelGraph g = graphBuilder.buildVoltageLevelGraph(vl.getId(), false, true);
+        new PositionVoltageLevelLayoutFactory().create(g).run(layoutParameters);
+
+        DiagramLabelProvider labelProvider = getDefaultDiagramLabelProvider();
+        DiagramStyleProvider styleProvider = getDefaultDiagramStyleProvider();
+        String svg = toSVG(g, "/TestDiagramValues.svg", layoutParameters, labelProvider, styleProvider);
+
+        DiagramValues values = DiagramValues.create("", g, labelProvider, styleProvider, layoutParameters);
+        List<DiagramValues.Value> feederValues = values.getValues();
+        assertEquals(4, feederValues.size());
+        DiagramValues.Value p = values.getValue("idl_VALUE1");
+        DiagramValues.Value q = values.getValue("idl_VALUE2");
+        assertEquals("10", p.getLabel());
+        assertEquals(DiagramLabelProvider.Direction.UP, p.getDirection());
+        assertEquals(DiagramLabelProvider.Direction.DOWN, q.getDirection());
+        assertNull(values.getValue("idl_VALUE3").getLabel());
+        for (DiagramValues.Value value : feederValues) {
+            // the slots of the labels written are found in the SVG
+            assertEquals(value.getLabel() != null, svg.contains("id=\"" + value.getId() + "\""));
+        }
+        assertTrue(svg.contains(">" + p.getLabel() + "<"));
+
+        // the values change without writing the SVG again
+        network.getLoad("l").getTerminal().setP(-20);
+        DiagramValues values2 = DiagramValues.create("", g, labelProvider, styleProvider, layoutParameters);
+        assertEquals("-20", values2.getValue("idl_VALUE1").getLabel());
+        assertEquals(DiagramLabelProvider.Direction.DOWN, values2.getValue("idl_VALUE1").getDirection());
+
+        StringWriter writer = new StringWriter();
+        values2.writeJson(writer);
+        assertValuesEquals(values2, DiagramValues.parseJson(new StringReader(writer.toString())));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        values2.writeBinary(outputStream);
+        assertTrue(outputStream.size() < writer.toString().length());
+        assertValuesEquals(values2, DiagramValues.parseBinary(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    private static void assertValuesEquals(DiagramValues expected, DiagramValues actual) {
+        assertEquals(expected.getValues().size(), actual.getValues().size());
+        for (DiagramValues.Value value : expected.getValues()) {
+            DiagramValues.Value actualValue = actual.getValue(value.getId());
+            assertNotNull(actualValue);
+            assertEquals(value.getLabel(), actualValue.getLabel());
+            assertEquals(value.getDirection(), actualValue.getDirection());
+        }
+    }
+}
@@ -6,6 +6,8 @@
  */
 package com.powsybl.sld.iidm;
 
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.ThreeWindingsTransformer;
 import com.powsybl.sld.NetworkGraphBuilder;
 import com.powsybl.sld.layout.*;
 import com.powsybl.sld.model.SubstationGraph;
@@ -13,6 +15,10 @@ import com.powsybl.sld.model.VoltageLevelGraph;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -68,4 +74,74 @@ public class TestInternalBranchesBusBreaker extends AbstractTestCaseIidm {
         new VerticalSubstationLayoutFactory().create(g, new PositionVoltageLevelLayoutFactory()).run(getLayoutParameters());
         assertEquals(toString("/InternalBranchesBusBreakerV.json"), toJson(g, "/InternalBranchesBusBreakerV.json"));
     }
+
+    private void addLine(String id, String vl1, String bus1, String vl2, String bus2) {
+        network.newLine()
+                .setId(id)
+                .setVoltageLevel1(vl1)
+                .setConnectableBus1(bus1)
+                .setBus1(bus1)
+                .setVoltageLevel2(vl2)
+                .setConnectableBus2(bus2)
+                .setBus2(bus2)
+                .setR(1.0)
+                .setX(1.0)
+                .setG1(0.0)
+                .setB1(0.0)
+                .setG2(0.0)
+                .setB2(0.0)
+                .add();
+    }
+
+    private void addTwoWindingsTransformer(String id, String vl1, String bus1, String vl2, String bus2) {
+        substation.newTwoWindingsTransformer()
+                .setId(id)
+                .setVoltageLevel1(vl1)
+                .setBus1(bus1)
+                .setConnectableBus1(bus1)
+                .setVoltageLevel2(vl2)
+                .setBus2(bus2)
+                .setConnectableBus2(bus2)
+                .setR(250)
+                .setX(100)
+                .setG(52)
+                .setB(12)
+                .setRatedU1(65)
+                .setRatedU2(90)
+                .add();
+    }
+
+    private void addThreeWindingsTransformer(String id, String vl1, String bus1, String vl2, String bus2, String vl3, String bus3) {
+        ThreeWindingsTransformer twt = substation.newThreeWindingsTransformer()
+                .setId(id)
+                .setRatedU0(234)
+                .newLeg1().setVoltageLevel(vl1).setBus(bus1).setConnectableBus(bus1).setR(45).setX(35).setG(25).setB(15).setRatedU(5).add()
+                .newLeg2().setVoltageLevel(vl2).setBus(bus2).setConnectableBus(bus2).setR(47).setX(37).setG(27).setB(17).setRatedU(7).add()
+                .newLeg3().setVoltageLevel(vl3).setBus(bus3).setConnectableBus(bus3).setR(49).setX(39).setG(29).setB(19).setRatedU(9).add()
+                .add();
+        twt.getLeg1().getTerminal().setP(-1);
+    }
+
+    @Test
+    public void testBatchGraphs() {
+        // several branches internal to a voltage level or to the substation, created in an order which is not the
+        // order of the connectables of the voltage levels
+        addLine("L22", "VL2", "B21", "VL1", "B12");
+        addTwoWindingsTransformer("T14", "VL2", "B21", "VL1", "B11");
+        addLine("L13", "VL1", "B12", "VL1", "B11");
+        addThreeWindingsTransformer("T3_11", "VL1", "B12", "VL1", "B11", "VL1", "B12");
+        addTwoWindingsTransformer("T13", "VL1", "B12", "VL1", "B11");
+        addLine("L21", "VL2", "B21", "VL2", "B21");
+        addThreeWindingsTransformer("T3_22", "VL2", "B21", "VL1", "B11", "VL1", "B12");
+        NetworkGraphBuilder networkGraphBuilder = new NetworkGraphBuilder(network);
+
+        // the graphs built in batch are the same as the graphs built one by one
+        Map<String, VoltageLevelGraph> vlGraphs = networkGraphBuilder.buildVoltageLevelGraphs(true, true);
+        assertEquals(network.getVoltageLevelStream().map(Identifiable::getId).collect(Collectors.toList()), new ArrayList<>(vlGraphs.keySet()));
+        vlGraphs.forEach((id, g) -> assertEquals(toJson(graphBuilder.buildVoltageLevelGraph(id, true, true), "/batch.json"), toJson(g, "/batch.json")));
+
+        Map<String, SubstationGraph> substationGraphs = networkGraphBuilder.buildSubstationGraphs(true);
+        assertEquals(toJson(graphBuilder.buildSubstationGraph(substation.getId(), true), "/batch.json"),
+                toJson(substationGraphs.get(substation.getId()), "/batch.json"));
+    }
 }
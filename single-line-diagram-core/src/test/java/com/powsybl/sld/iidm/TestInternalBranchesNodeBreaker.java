@@ -6,6 +6,7 @@
  */
 package com.powsybl.sld.iidm;
 
+import com.powsybl.iidm.network.Identifiable;
 import com.powsybl.sld.NetworkGraphBuilder;
 import com.powsybl.sld.layout.*;
 import com.powsybl.sld.model.SubstationGraph;
@@ -13,6 +14,11 @@ import com.powsybl.sld.model.VoltageLevelGraph;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -69,4 +75,19 @@ public class TestInternalBranchesNodeBreaker extends AbstractTestCaseIidm {
         new VerticalSubstationLayoutFactory().create(g, new PositionVoltageLevelLayoutFactory()).run(getLayoutParameters());
         assertEquals(toString("/InternalBranchesNodeBreakerV.json"), toJson(g, "/InternalBranchesNodeBreakerV.json"));
     }
+
+    @Test
+    public void testBatchGraphs() {
+        NetworkGraphBuilder networkGraphBuilder = new NetworkGraphBuilder(network);
+
+        // the graphs built in batch, in parallel, are the same as the graphs built one by one
+        Map<String, VoltageLevelGraph> vlGraphs = networkGraphBuilder.buildVoltageLevelGraphs(vl -> true, true, true, true);
+        assertEquals(network.getVoltageLevelStream().map(Identifiable::getId).collect(Collectors.toList()), new ArrayList<>(vlGraphs.keySet()));
+        vlGraphs.forEach((id, g) -> assertEquals(toJson(graphBuilder.buildVoltageLevelGraph(id, true, true), "/batch.json"), toJson(g, "/batch.json")));
+
+        Map<String, SubstationGraph> substationGraphs = networkGraphBuilder.buildSubstationGraphs(s -> s == substation, true, false);
+        assertEquals(Collections.singletonList(substation.getId()), new ArrayList<>(substationGraphs.keySet()));
+        assertEquals(toJson(graphBuilder.buildSubstationGraph(substation.getId(), true), "/batch.json"),
+                toJson(substationGraphs.get(substation.getId()), "/batch.json"));
+    }
 }
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.iidm;
+
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.sld.NetworkGraphBuilder;
+import com.powsybl.sld.NetworkGraphUpdater;
+import com.powsybl.sld.VoltageLevelDiagram;
+import com.powsybl.sld.iidm.extensions.BusbarSectionPositionAdder;
+import com.powsybl.sld.layout.PositionVoltageLevelLayoutFactory;
+import com.powsybl.sld.model.SwitchNode;
+import com.powsybl.sld.model.VoltageLevelGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class TestNetworkGraphUpdater {
+
+    private Network network;
+    private VoltageLevelGraph graph1;
+    private VoltageLevelGraph graph2;
+    private NetworkGraphUpdater updater;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        network = CreateNetworksUtil.createNodeBreakerNetworkWithInternalBranches("TestNetworkGraphUpdater", "test");
+        NetworkGraphBuilder graphBuilder = new NetworkGraphBuilder(network);
+        graph1 = VoltageLevelDiagram.build(graphBuilder, "VL1", new PositionVoltageLevelLayoutFactory(), false).getGraph();
+        graph2 = VoltageLevelDiagram.build(graphBuilder, "VL2", new PositionVoltageLevelLayoutFactory(), false).getGraph();
+        updater = new NetworkGraphUpdater(network)
+                .register(graph1)
+                .register(graph2)
+                .addListener(new NetworkGraphUpdater.Listener() {
+                    @Override
+                    public void onSwitchStateChanged(VoltageLevelGraph graph, SwitchNode switchNode) {
+                        events.add("switch " + switchNode.getId());
+                    }
+
+                    @Override
+                    public void onValuesChanged(VoltageLevelGraph graph, String equipmentId, String attribute) {
+                        events.add("values " + graph.getVoltageLevelInfos().getId() + " " + equipmentId + " " + attribute);
+                    }
+
+                    @Override
+                    public void onGraphInvalidated(VoltageLevelGraph graph) {
+                        events.add("invalidated " + graph.getVoltageLevelInfos().getId());
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        updater.close();
+    }
+
+    @Test
+    public void testSwitchStateChange() {
+        SwitchNode br1 = (SwitchNode) graph1.getNode("BR1");
+        assertFalse(br1.isOpen());
+        network.getSwitch("BR1").setOpen(true);
+        assertTrue(br1.isOpen());
+        assertEquals(Collections.singletonList("switch BR1"), events);
+
+        // the changes of other variants are ignored
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        network.getVariantManager().setWorkingVariant("v");
+        network.getSwitch("BR1").setOpen(false);
+        assertTrue(br1.isOpen());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testValuesChange() {
+        network.getLoad("L1").getTerminal().setP(12);
+        assertEquals(Collections.singletonList("values VL1 L1 p"), events);
+        assertFalse(updater.isInvalidated(graph1));
+    }
+
+    @Test
+    public void testStructuralChange() {
+        Load load = network.getLoad("L2");
+        load.remove();
+        assertEquals(Collections.singletonList("invalidated VL2"), events);
+        assertTrue(updater.isInvalidated(graph2));
+        assertFalse(updater.isInvalidated(graph1));
+
+        // an invalidated graph is no longer updated
+        network.getSwitch("D31").setOpen(true);
+        assertFalse(((SwitchNode) graph2.getNode("D31")).isOpen());
+        assertEquals(1, events.size());
+
+        // it is replaced by a graph built again
+        VoltageLevelGraph newGraph2 = VoltageLevelDiagram.build(new NetworkGraphBuilder(network), "VL2", new PositionVoltageLevelLayoutFactory(), false).getGraph();
+        assertNull(newGraph2.getNode("L2"));
+        updater.unregister(graph2);
+        updater.register(newGraph2);
+        assertFalse(updater.isInvalidated(newGraph2));
+        network.getSwitch("D31").setOpen(false);
+        assertFalse(((SwitchNode) newGraph2.getNode("D31")).isOpen());
+        assertEquals(Arrays.asList("invalidated VL2", "switch D31"), events);
+    }
+
+    @Test
+    public void testRegisterTwice() {
+        // a graph registered again is patched once
+        updater.register(graph1);
+        network.getSwitch("BR1").setOpen(true);
+        assertEquals(Collections.singletonList("switch BR1"), events);
+    }
+
+    @Test
+    public void testExtendedSwitch() {
+        // a disconnector between two busbar sections is extended with a fictitious switch on each side
+        Network network2 = Network.create("TestNetworkGraphUpdater2", "test");
+        VoltageLevel vl = network2.newSubstation().setId("S").add()
+                .newVoltageLevel().setId("VL").setNominalV(400).setTopologyKind(TopologyKind.NODE_BREAKER).add();
+        vl.getNodeBreakerView().newBusbarSection().setId("BBS1").setNode(0).add()
+                .newExtension(BusbarSectionPositionAdder.class).withBusbarIndex(1).withSectionIndex(1).add();
+        vl.getNodeBreakerView().newBusbarSection().setId("BBS2").setNode(1).add()
+                .newExtension(BusbarSectionPositionAdder.class).withBusbarIndex(1).withSectionIndex(2).add();
+        vl.getNodeBreakerView().newDisconnector().setId("DS").setNode1(0).setNode2(1).add();
+        VoltageLevelGraph graph = VoltageLevelDiagram.build(new NetworkGraphBuilder(network2), "VL", new PositionVoltageLevelLayoutFactory(), false).getGraph();
+        SwitchNode ds = (SwitchNode) graph.getNode("DS");
+        List<SwitchNode> fictitiousSwitches = graph.getFictitiousSwitches(ds);
+        assertEquals(2, fictitiousSwitches.size());
+
+        // the fictitious switches follow the state of the disconnector
+        try (NetworkGraphUpdater updater2 = new NetworkGraphUpdater(network2).register(graph)) {
+            network2.getSwitch("DS").setOpen(true);
+            assertTrue(ds.isOpen());
+            assertTrue(fictitiousSwitches.stream().allMatch(SwitchNode::isOpen));
+        }
+
+        graph.removeNode(fictitiousSwitches.get(0));
+        try (NetworkGraphUpdater updater2 = new NetworkGraphUpdater(network2)) {
+            updater2.register(graph);
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("'DS'"));
+        }
+    }
+}
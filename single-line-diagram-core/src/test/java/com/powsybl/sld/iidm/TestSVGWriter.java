@@ -547,9 +547,9 @@ public class TestSVGWriter extends AbstractTestCaseIidm {
         nMulti1.setX(365., false);
         nMulti1.setY(550., false);
         TwtEdge edge1 = substG.addEdge(vl1Trf1, nMulti1);
-        edge1.setSnakeLine(Arrays.asList(80., 500., 80., 550., 365., 550.));
+        edge1.setSnakeLine(new Polyline(80., 500., 80., 550., 365., 550.));
         TwtEdge edge2 = substG.addEdge(nMulti1, vl2Trf1);
-        edge2.setSnakeLine(Arrays.asList(365., 550., 650., 550., 650., 500.));
+        edge2.setSnakeLine(new Polyline(365., 550., 650., 550., 650., 500.));
         nMulti1.addAdjacentEdge(edge1);
         nMulti1.addAdjacentEdge(edge2);
         substG.addMultiTermNode(nMulti1);
@@ -558,11 +558,11 @@ public class TestSVGWriter extends AbstractTestCaseIidm {
         nMulti3.setX(710., false);
         nMulti3.setY(50., false);
         TwtEdge edge21 = substG.addEdge(vl1Trf2, nMulti3);
-        edge21.setSnakeLine(Arrays.asList(400., 80., 400., 50., 710., 50.));
+        edge21.setSnakeLine(new Polyline(400., 80., 400., 50., 710., 50.));
         TwtEdge edge22 = substG.addEdge(nMulti3, vl2Trf2);
-        edge22.setSnakeLine(Arrays.asList(710., 50., 710., 80.));
+        edge22.setSnakeLine(new Polyline(710., 50., 710., 80.));
         TwtEdge edge23 = substG.addEdge(nMulti3, vl3Trf2);
-        edge23.setSnakeLine(Arrays.asList(710., 50., 1000., 50., 1000., 80.));
+        edge23.setSnakeLine(new Polyline(710., 50., 1000., 50., 1000., 80.));
 
         nMulti3.addAdjacentEdge(edge21);
         nMulti3.addAdjacentEdge(edge22);
@@ -636,9 +636,9 @@ public class TestSVGWriter extends AbstractTestCaseIidm {
         nMulti1.setX(50, false);
         nMulti1.setY(350, false);
         TwtEdge edge1 = s1Graph.addEdge(twtSide1Node, nMulti1);
-        edge1.setSnakeLine(Arrays.asList(50., 300., 50., 320., 50., 350.));
+        edge1.setSnakeLine(new Polyline(50., 300., 50., 320., 50., 350.));
         TwtEdge edge2 = s1Graph.addEdge(nMulti1, twtSide2Node);
-        edge2.setSnakeLine(Arrays.asList(50., 350., 50., 380., 50., 400.));
+        edge2.setSnakeLine(new Polyline(50., 350., 50., 380., 50., 400.));
         nMulti1.addAdjacentEdge(edge1);
         nMulti1.addAdjacentEdge(edge2);
         s1Graph.addMultiTermNode(nMulti1);
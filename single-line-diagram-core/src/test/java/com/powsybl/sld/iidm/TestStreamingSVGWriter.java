@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.iidm;
+
+import com.powsybl.sld.layout.LayoutParameters;
+import com.powsybl.sld.svg.SVGWriter;
+import com.powsybl.sld.svg.StreamingSVGWriter;
+
+/**
+ * Same tests than {@link TestSVGWriter}, the streaming writer having to give exactly the same SVG files.
+ *
+ * @author agent <agent at local>
+ */
+public class TestStreamingSVGWriter extends TestSVGWriter {
+
+    @Override
+    protected SVGWriter getSVGWriter(LayoutParameters layoutParameters) {
+        return new StreamingSVGWriter(componentLibrary, layoutParameters);
+    }
+}
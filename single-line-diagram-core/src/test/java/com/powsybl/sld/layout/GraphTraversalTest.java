@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.layout;
+
+import com.powsybl.sld.model.InternalNode;
+import com.powsybl.sld.model.Node;
+import com.powsybl.sld.model.VoltageLevelGraph;
+import com.powsybl.sld.model.VoltageLevelInfos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class GraphTraversalTest {
+
+    private static List<Node> createNodes(VoltageLevelGraph graph, int nbNodes) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < nbNodes; i++) {
+            Node node = new InternalNode(graph, "n" + i);
+            graph.addNode(node);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testLongChain() {
+        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+        int nbNodes = 50000;
+        List<Node> nodes = createNodes(graph, nbNodes);
+        for (int i = 1; i < nbNodes; i++) {
+            graph.addEdge(nodes.get(i - 1), nodes.get(i));
+        }
+
+        // far too deep for a recursive traversal
+        GraphTraversal traversal = new GraphTraversal(graph.getNodes());
+        List<Node> result = traversal.traverse(nodes.get(0), n -> n == nodes.get(nbNodes - 1));
+        assertEquals(nodes, result);
+
+        traversal.addOutsideNode(nodes.get(100));
+        assertEquals(nodes.subList(0, 100), traversal.traverse(nodes.get(0), n -> false));
+        assertEquals(nodes.subList(101, nbNodes), traversal.traverse(nodes.get(101), n -> false));
+        assertTrue(traversal.traverse(nodes.get(100), n -> false).isEmpty());
+
+        List<Node> unsuccessfulResult = new ArrayList<>();
+        assertFalse(traversal.traverse(nodes.get(0), n -> false, n -> n == nodes.get(50), unsuccessfulResult));
+        traversal.removeOutsideNode(nodes.get(100));
+        assertEquals(nbNodes, traversal.traverse(nodes.get(0), n -> false).size());
+    }
+
+    @Test
+    public void testSameResultAsRecursiveTraversal() {
+        // a cycle 0-1-2-3-0 with a branch 2-4: the nodes are added to the result in the order of the recursive
+        // traversal, the node 3 being added a second time when its visit from node 0 is resumed
+        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+        List<Node> nodes = createNodes(graph, 5);
+        graph.addEdge(nodes.get(0), nodes.get(1));
+        graph.addEdge(nodes.get(1), nodes.get(2));
+        graph.addEdge(nodes.get(2), nodes.get(3));
+        graph.addEdge(nodes.get(3), nodes.get(0));
+        graph.addEdge(nodes.get(2), nodes.get(4));
+
+        List<Node> result = GraphTraversal.run(nodes.get(0), n -> n == nodes.get(4), new ArrayList<>());
+        assertEquals(Arrays.asList(nodes.get(0), nodes.get(1), nodes.get(2), nodes.get(3), nodes.get(4), nodes.get(3)), result);
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.layout;
+
+import com.powsybl.sld.library.ComponentTypeName;
+import com.powsybl.sld.model.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ImplicitCellDetectorTest {
+
+    private final ImplicitCellDetector detector = new ImplicitCellDetector(false, false, false);
+
+    private VoltageLevelGraph graph;
+
+    @Before
+    public void setUp() {
+        graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+    }
+
+    private BusNode bus(String id) {
+        BusNode bus = BusNode.create(graph, id, id);
+        graph.addNode(bus);
+        return bus;
+    }
+
+    private FeederNode load(String id) {
+        FeederNode load = FeederInjectionNode.createLoad(graph, id, id);
+        graph.addNode(load);
+        return load;
+    }
+
+    private SwitchNode breaker(String id) {
+        SwitchNode sw = new SwitchNode(id, id, ComponentTypeName.BREAKER, false, graph, SwitchNode.SwitchKind.BREAKER, false);
+        graph.addNode(sw);
+        return sw;
+    }
+
+    private Node fictitious(String id) {
+        Node node = new InternalNode(graph, id);
+        graph.addNode(node);
+        return node;
+    }
+
+    private void chain(Node... nodes) {
+        for (int i = 1; i < nodes.length; i++) {
+            graph.addEdge(nodes[i - 1], nodes[i]);
+        }
+    }
+
+    private boolean isPureExternCell(Node... nodes) {
+        ExternCell cell = new ExternCell(graph);
+        cell.setNodes(Arrays.asList(nodes));
+        boolean pureExtern = detector.isPureExternCell(graph, cell);
+        assertEquals(isPureExternCellByRemoval(cell.getNodes()), pureExtern);
+        return pureExtern;
+    }
+
+    /**
+     * Reference check: removes each node of the cell in turn and looks at the connected components of the other nodes
+     */
+    private boolean isPureExternCellByRemoval(List<Node> cellNodes) {
+        for (Node n : cellNodes) {
+            List<Node> nodes = new ArrayList<>(cellNodes);
+            nodes.remove(n);
+            List<List<Node>> components = graph.getConnexComponents(nodes);
+            if (components.size() > 1) {
+                Set<Set<Node.NodeType>> kinds = components.stream()
+                        .map(component -> component.stream().map(Node::getType)
+                                .filter(t -> t == Node.NodeType.FEEDER || t == Node.NodeType.BUS)
+                                .collect(Collectors.toSet()))
+                        .collect(Collectors.toSet());
+                if (kinds.contains(Collections.singleton(Node.NodeType.FEEDER))
+                        && kinds.contains(Collections.singleton(Node.NodeType.BUS))
+                        && kinds.stream().allMatch(k -> k.size() == 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testPureExternCell() {
+        BusNode b1 = bus("b1");
+        BusNode b2 = bus("b2");
+        Node d1 = breaker("d1");
+        Node d2 = breaker("d2");
+        Node f = fictitious("f");
+        Node br = breaker("br");
+        FeederNode load = load("load");
+        chain(b1, d1, f, br, load);
+        chain(b2, d2, f);
+        assertTrue(isPureExternCell(b1, d1, b2, d2, f, br, load));
+    }
+
+    @Test
+    public void testRootArticulationPoint() {
+        BusNode b1 = bus("b1");
+        Node f = fictitious("f");
+        Node br = breaker("br");
+        FeederNode load = load("load");
+        chain(b1, f, br, load);
+
+        // the search starts from the first node of the cell, which here separates the bus from the feeder
+        assertTrue(isPureExternCell(f, b1, br, load));
+        assertTrue(isPureExternCell(br, f, load, b1));
+    }
+
+    @Test
+    public void testShuntConnectedCell() {
+        BusNode b1 = bus("b1");
+        BusNode b2 = bus("b2");
+        Node f1 = fictitious("f1");
+        Node f2 = fictitious("f2");
+        Node shunt = breaker("shunt");
+        FeederNode load1 = load("load1");
+        FeederNode load2 = load("load2");
+        chain(b1, f1, load1);
+        chain(b2, f2, load2);
+        chain(f1, shunt, f2);
+
+        // no node separates the buses from the feeders: the two feeders are linked by a shunt
+        assertFalse(isPureExternCell(b1, f1, load1, shunt, f2, b2, load2));
+    }
+
+    @Test
+    public void testDanglingFictitiousNode() {
+        BusNode b1 = bus("b1");
+        Node f = fictitious("f");
+        Node dangling = fictitious("dangling");
+        FeederNode load = load("load");
+        chain(b1, f, load);
+        chain(f, dangling);
+
+        // the dangling node reaches neither a feeder nor a bus once f is removed
+        assertFalse(isPureExternCell(b1, f, dangling, load));
+        assertFalse(isPureExternCell(dangling, f, b1, load));
+    }
+
+    @Test
+    public void testDuplicatedNodes() {
+        BusNode b1 = bus("b1");
+        Node f = fictitious("f");
+        FeederNode load = load("load");
+        chain(b1, f, load);
+        assertTrue(isPureExternCell(b1, f, load));
+
+        // removing one occurrence of a duplicated node does not remove it from the cell
+        assertFalse(isPureExternCell(b1, f, load, f));
+
+        // while a duplicated node of a disconnected cell keeps its components apart
+        BusNode b2 = bus("b2");
+        FeederNode load2 = load("load2");
+        assertFalse(isPureExternCell(b2, load2));
+        assertTrue(isPureExternCell(b2, load2, b2));
+    }
+
+    @Test
+    public void testRandomCells() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 300; iteration++) {
+            setUp();
+            int nbNodes = 2 + random.nextInt(8);
+            List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < nbNodes; i++) {
+                switch (random.nextInt(4)) {
+                    case 0: nodes.add(bus("b" + i)); break;
+                    case 1: nodes.add(load("l" + i)); break;
+                    case 2: nodes.add(breaker("s" + i)); break;
+                    default: nodes.add(fictitious("f" + i));
+                }
+            }
+            for (int i = 1; i < nbNodes; i++) {
+                graph.addEdge(nodes.get(random.nextInt(i)), nodes.get(i));
+            }
+            for (int k = random.nextInt(nbNodes); k > 0; k--) {
+                Node n1 = nodes.get(random.nextInt(nbNodes));
+                Node n2 = nodes.get(random.nextInt(nbNodes));
+                if (n1 != n2 && !n1.getAdjacentNodes().contains(n2)) {
+                    graph.addEdge(n1, n2);
+                }
+            }
+            List<Node> cellNodes = new ArrayList<>(nodes);
+            if (random.nextInt(4) == 0) {
+                cellNodes.add(nodes.get(random.nextInt(nbNodes)));
+            }
+            Collections.shuffle(cellNodes, random);
+            // compared with the reference check
+            isPureExternCell(cellNodes.toArray(new Node[0]));
+        }
+    }
+}
@@ -52,7 +52,9 @@ public class LayoutParametersTest {
                 .setTooltipEnabled(true)
                 .setAddNodesInfos(true)
                 .setMinSpaceForFeederArrows(70)
-                .setFeederArrowSymmetry(true);
+                .setFeederArrowSymmetry(true)
+                .setSvgPrecision(2)
+                .setAddValueIds(true);
         LayoutParameters layoutParameters2 = new LayoutParameters(layoutParameters);
 
         assertEquals(layoutParameters.getTranslateX(), layoutParameters2.getTranslateX(), 0);
@@ -88,5 +90,7 @@ public class LayoutParametersTest {
         assertEquals(layoutParameters.isAddNodesInfos(), layoutParameters2.isAddNodesInfos());
         assertEquals(layoutParameters.getMinSpaceForFeederArrows(), layoutParameters2.getMinSpaceForFeederArrows(), 0);
         assertEquals(layoutParameters.isFeederArrowSymmetry(), layoutParameters2.isFeederArrowSymmetry());
+        assertEquals(layoutParameters.getSvgPrecision(), layoutParameters2.getSvgPrecision());
+        assertEquals(layoutParameters.isAddValueIds(), layoutParameters2.isAddValueIds());
     }
 }
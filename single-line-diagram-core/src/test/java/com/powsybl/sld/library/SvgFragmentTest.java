@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.library;
+
+import com.powsybl.sld.util.DomUtil;
+import com.powsybl.sld.util.IndentedXmlSerializer;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class SvgFragmentTest {
+
+    private static String serialize(Element element, int depth) {
+        StringWriter writer = new StringWriter();
+        new IndentedXmlSerializer(writer).writeElement(element, depth);
+        return writer.toString();
+    }
+
+    @Test
+    public void test() {
+        ComponentLibrary library = new ConvergenceComponentLibrary();
+        Document document = DomUtil.getDocumentBuilder().newDocument();
+
+        Map<String, List<Element>> elements = library.getSvgElements(ComponentTypeName.PHASE_SHIFT_TRANSFORMER);
+        Map<String, List<SvgFragment>> fragments = library.getSvgFragments(ComponentTypeName.PHASE_SHIFT_TRANSFORMER);
+        assertNotNull(fragments);
+        assertEquals(elements.keySet(), fragments.keySet());
+
+        elements.forEach((subComponent, subComponentElements) -> {
+            List<SvgFragment> subComponentFragments = fragments.get(subComponent);
+            assertEquals(subComponentElements.size(), subComponentFragments.size());
+            for (int i = 0; i < subComponentElements.size(); i++) {
+                Element copy = (Element) document.importNode(subComponentElements.get(i), true);
+                Element placeholder = subComponentFragments.get(i).createPlaceholder(document);
+                assertFalse(placeholder.hasChildNodes());
+                for (int depth = 0; depth < 4; depth++) {
+                    assertEquals(serialize(copy, depth), serialize(placeholder, depth));
+                }
+
+                // changing the attributes kept apart
+                copy.setAttribute("class", "sld-winding");
+                copy.setAttribute("transform", "rotate(90.0,7.0,8.5)");
+                placeholder.setAttribute("class", "sld-winding");
+                placeholder.setAttribute("transform", "rotate(90.0,7.0,8.5)");
+                assertEquals(serialize(copy, 3), serialize(placeholder, 3));
+
+                // changing or adding other attributes, the placeholder ones replacing the pre-serialized ones
+                for (String name : subComponentFragments.get(i).getAttributeNames()) {
+                    copy.setAttribute(name, "changed");
+                    placeholder.setAttribute(name, "changed");
+                }
+                copy.setAttribute("style", "fill:none");
+                placeholder.setAttribute("style", "fill:none");
+                assertEquals(serialize(copy, 3), serialize(placeholder, 3));
+            }
+        });
+
+        assertNull(library.getSvgFragments("UNKNOWN"));
+    }
+}
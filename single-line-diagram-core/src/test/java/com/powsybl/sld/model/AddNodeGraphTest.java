@@ -15,6 +15,7 @@ import com.powsybl.sld.library.ComponentTypeName;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -110,4 +111,47 @@ public class AddNodeGraphTest extends AbstractTestCaseIidm {
         assertTrue(graph.getNode(fictitiousNodeId) instanceof FeederNode);
 
     }
+
+    @Test
+    public void testSubstituteKeepsAdjacency() {
+        VoltageLevelGraph graph = graphBuilder.buildVoltageLevelGraph(vl.getId(), false, true);
+        Node originNode = graph.getNodes().stream().filter(n -> n.getType() == Node.NodeType.BUS).findFirst().orElseThrow(AssertionError::new);
+        graph.addEdge(originNode, originNode);
+        List<Node> originAdjacentNodes = originNode.getAdjacentNodes();
+        int originNbEdges = graph.getEdges().size();
+
+        Node newNode = new InternalNode(graph, "newNode");
+        graph.addNode(newNode);
+        graph.substituteNode(originNode, newNode);
+
+        // the edges of the origin node, loop included, are moved to the new node in the same order
+        originAdjacentNodes.replaceAll(n -> n == originNode ? newNode : n);
+        assertEquals(originAdjacentNodes, newNode.getAdjacentNodes());
+        assertEquals(originNbEdges, graph.getEdges().size());
+        assertTrue(originNode.getAdjacentEdges().isEmpty());
+        assertTrue(graph.getNodes().stream().noneMatch(n -> n.getAdjacentNodes().contains(originNode)));
+    }
+
+    @Test
+    public void testRemoveNodesKeepsOrder() {
+        VoltageLevelGraph graph = graphBuilder.buildVoltageLevelGraph(vl.getId(), false, true);
+        List<Node> nodes = graph.getNodes();
+        List<Edge> edges = graph.getEdges();
+
+        // removing every other node keeps the insertion order of the remaining nodes and edges
+        List<Node> removedNodes = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i += 2) {
+            removedNodes.add(nodes.get(i));
+            graph.removeNode(nodes.get(i));
+        }
+        nodes.removeAll(removedNodes);
+        assertEquals(nodes, graph.getNodes());
+        edges.removeIf(edge -> removedNodes.contains(edge.getNode1()) || removedNodes.contains(edge.getNode2()));
+        assertEquals(edges, graph.getEdges());
+
+        // a node added again comes last
+        Node node = removedNodes.get(0);
+        graph.addNode(node);
+        assertSame(node, graph.getNodes().get(graph.getNodes().size() - 1));
+    }
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import com.powsybl.sld.library.ComponentTypeName;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class ConnectivityIndexTest {
+
+    private VoltageLevelGraph graph;
+    private Node n1;
+    private Node n2;
+    private SwitchNode sw;
+    private Node n3;
+    private Node n4;
+
+    @Before
+    public void setUp() {
+        // n1 - n2 - sw (open) - n3, and n4 isolated
+        graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+        n1 = new InternalNode(graph, "n1");
+        n2 = new InternalNode(graph, "n2");
+        sw = new SwitchNode("sw", "sw", ComponentTypeName.BREAKER, false, graph, SwitchNode.SwitchKind.BREAKER, true);
+        n3 = new InternalNode(graph, "n3");
+        n4 = new InternalNode(graph, "n4");
+        Arrays.asList(n1, n2, sw, n3, n4).forEach(graph::addNode);
+        graph.addEdge(n1, n2);
+        graph.addEdge(n2, sw);
+        graph.addEdge(sw, n3);
+    }
+
+    @Test
+    public void testAllNodes() {
+        ConnectivityIndex index = graph.getConnectivityIndex();
+        assertEquals(2, index.getComponentCount());
+        assertEquals(Arrays.asList(Arrays.asList(n1, n2, sw, n3), Collections.singletonList(n4)), index.getComponents());
+        assertTrue(index.areConnected(n1, n3));
+        assertFalse(index.areConnected(n1, n4));
+        assertEquals(1, index.getComponentNumber(n4));
+    }
+
+    @Test
+    public void testOpenSwitchesExcluded() {
+        ConnectivityIndex index = graph.getConnectivityIndex(ConnectivityIndex.NOT_OPEN_SWITCH);
+        assertEquals(3, index.getComponentCount());
+        assertEquals(Arrays.asList(n1, n2), index.getComponent(n1));
+        assertFalse(index.areConnected(n2, n3));
+        assertFalse(index.contains(sw));
+        assertEquals(-1, index.getComponentNumber(sw));
+        assertTrue(index.getComponent(sw).isEmpty());
+    }
+
+    @Test
+    public void testNodesSubset() {
+        List<List<Node>> components = graph.getConnexComponents(Arrays.asList(n3, n1, sw));
+        assertEquals(Arrays.asList(Arrays.asList(n3, sw), Collections.singletonList(n1)), components);
+    }
+}
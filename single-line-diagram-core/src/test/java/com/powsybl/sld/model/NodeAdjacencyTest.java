@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class NodeAdjacencyTest {
+
+    @Test
+    public void test() {
+        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+        Node n1 = new InternalNode(graph, "n1");
+        Node n2 = new InternalNode(graph, "n2");
+        Node n3 = new InternalNode(graph, "n3");
+        Node n4 = new InternalNode(graph, "n4");
+        Arrays.asList(n1, n2, n3, n4).forEach(graph::addNode);
+        graph.addEdge(n1, n2);
+        graph.addEdge(n3, n2);
+        graph.addEdge(n2, n4);
+
+        assertEquals(Arrays.asList(n1, n3, n4), n2.getAdjacentNodes());
+        assertEquals(3, n2.getAdjacentNodeCount());
+        assertSame(n1, n2.getAdjacentNode(0));
+        assertSame(n3, n2.getAdjacentNode(1));
+        assertSame(n4, n2.getAdjacentNode(2));
+        List<Node> visited = new ArrayList<>();
+        n2.forEachAdjacentNode(visited::add);
+        assertEquals(n2.getAdjacentNodes(), visited);
+
+        graph.removeNode(n3);
+        assertEquals(2, n2.getAdjacentNodeCount());
+        assertSame(n4, n2.getAdjacentNode(1));
+        assertEquals(0, n3.getAdjacentNodeCount());
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class PolylineTest {
+
+    @Test
+    public void testAppendAndSplit() {
+        Polyline polyline = new Polyline();
+        assertTrue(polyline.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            polyline.append(i, 10 * i);
+        }
+        assertEquals(10, polyline.getPointCount());
+        assertEquals(7, polyline.getX(7), 0);
+        assertEquals(70, polyline.getY(7), 0);
+
+        Polyline part = polyline.split(2, 5);
+        assertEquals(new Polyline(2, 20, 3, 30, 4, 40), part);
+        assertArrayEquals(new double[] {2, 20, 3, 30, 4, 40, 9, 90}, part.append(polyline, 9, 10).toArray(), 0);
+        assertEquals(10, polyline.getPointCount());
+    }
+
+    @Test
+    public void testTransformations() {
+        Polyline polyline = new Polyline(0, 0, 10, 0, 10, 5);
+        assertEquals(new Polyline(10, 5, 10, 0, 0, 0), polyline.reverse());
+
+        Polyline copy = polyline.copy();
+        polyline.translate(1, 2).setPoint(0, -1, -2);
+        assertEquals(new Polyline(-1, -2, 11, 2, 11, 7), polyline);
+        assertEquals(new Polyline(0, 0, 10, 0, 10, 5), copy);
+        assertEquals(copy.hashCode(), new Polyline(0, 0, 10, 0, 10, 5).hashCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddCoordinates() {
+        new Polyline(0, 0, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new Polyline(0, 0, 1, 1).getX(2);
+    }
+}
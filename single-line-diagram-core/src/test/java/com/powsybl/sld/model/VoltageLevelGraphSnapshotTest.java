@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.model;
+
+import com.powsybl.sld.library.ComponentTypeName;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent at local>
+ */
+public class VoltageLevelGraphSnapshotTest {
+
+    private static List<Node> getNeighbours(VoltageLevelGraphSnapshot snapshot, int id) {
+        List<Node> neighbours = new ArrayList<>();
+        for (int k = snapshot.getNeighboursStart(id); k < snapshot.getNeighboursEnd(id); k++) {
+            neighbours.add(snapshot.getNode(snapshot.getNeighbour(k)));
+        }
+        return neighbours;
+    }
+
+    @Test
+    public void test() {
+        VoltageLevelGraph graph = VoltageLevelGraph.create(new VoltageLevelInfos("vl", "vl", 400), false, true);
+        Node n1 = new InternalNode(graph, "n1");
+        SwitchNode sw = new SwitchNode("sw", "sw", ComponentTypeName.BREAKER, false, graph, SwitchNode.SwitchKind.BREAKER, false);
+        Node n2 = new InternalNode(graph, "n2");
+        Node n3 = new InternalNode(graph, "n3");
+        Arrays.asList(n1, sw, n2, n3).forEach(graph::addNode);
+        graph.addEdge(n1, sw);
+        graph.addEdge(sw, n2);
+        graph.addEdge(n3, sw);
+
+        VoltageLevelGraphSnapshot snapshot = graph.createSnapshot();
+        assertEquals(4, snapshot.getNodeCount());
+        for (int id = 0; id < snapshot.getNodeCount(); id++) {
+            Node node = snapshot.getNode(id);
+            assertEquals(id, snapshot.getNodeId(node));
+            assertEquals(node.getType(), snapshot.getType(id));
+            assertEquals(node.getAdjacentNodeCount(), snapshot.getDegree(id));
+            assertEquals(node.getAdjacentNodes(), getNeighbours(snapshot, id));
+        }
+        assertSame(sw, snapshot.getNode(1));
+        assertEquals(Node.NodeType.SWITCH, snapshot.getType(1));
+
+        // the snapshot is not updated by the changes of the graph
+        Node n4 = new InternalNode(graph, "n4");
+        graph.addNode(n4);
+        graph.addEdge(n4, n1);
+        assertEquals(-1, snapshot.getNodeId(n4));
+        assertEquals(Collections.singletonList(sw), getNeighbours(snapshot, 0));
+        assertEquals(3, snapshot.getDegree(1));
+    }
+}
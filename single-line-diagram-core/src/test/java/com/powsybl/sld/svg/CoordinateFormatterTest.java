@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.svg;
+
+import com.powsybl.sld.model.Polyline;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+public class CoordinateFormatterTest {
+
+    @Test
+    public void testFullPrecision() {
+        CoordinateFormatter formatter = new CoordinateFormatter();
+        assertEquals("20.0", formatter.format(20));
+        assertEquals("0.30000000000000004", formatter.format(0.1 + 0.2));
+        assertEquals("translate(20.0,-5.5)", formatter.translate(20, -5.5));
+        assertEquals("rotate(180.0,5.0,5.0)", formatter.rotate(180, 5, 5));
+        assertEquals("matrix(1.0,0.0,-0.0,1.0,55.0,169.5)", formatter.matrix(1, 0, -0., 1, 55, 169.5));
+        assertEquals("matrix(0.7071,0.7071,-0.7071,0.7071,1.0E-4,0.0)",
+            formatter.matrix(Math.sqrt(0.5), Math.sqrt(0.5), -Math.sqrt(0.5), Math.sqrt(0.5), 0.00012, 0.00001));
+        assertEquals("40.0,420.0,40.0,352.5", formatter.points(new Polyline(20., 370., 20., 302.5), 20, 50));
+    }
+
+    @Test
+    public void testFixedPrecision() {
+        CoordinateFormatter formatter = new CoordinateFormatter(2);
+        assertEquals("20", formatter.format(20));
+        assertEquals("0.3", formatter.format(0.1 + 0.2));
+        assertEquals("0.05", formatter.format(0.049));
+        assertEquals("-1.25", formatter.format(-1.2549));
+        assertEquals("0", formatter.format(-0.001));
+        assertEquals("12345678.9", formatter.format(12345678.9));
+        assertEquals("NaN", formatter.format(Double.NaN));
+        assertEquals("translate(20,-5.5)", formatter.translate(20, -5.5));
+        assertEquals("matrix(0.71,0.71,-0.71,0.71,0,0)",
+            formatter.matrix(Math.sqrt(0.5), Math.sqrt(0.5), -Math.sqrt(0.5), Math.sqrt(0.5), 0.00012, 0.00001));
+        assertEquals("40,420,40,352.5", formatter.points(new Polyline(20., 370., 20., 302.5), 20, 50));
+
+        formatter.setPrecision(0);
+        assertEquals("3", formatter.format(2.5));
+        assertEquals("-3", formatter.format(-2.5));
+    }
+}
@@ -28,6 +28,7 @@
 package com.powsybl.sld.force.layout;
 
 import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +38,10 @@ import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 
 /**
@@ -53,6 +57,20 @@ import java.util.function.Function;
 public class ForceLayout<V, E> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ForceLayout.class);
 
+    /**
+     * Way of computing the repulsion between the points
+     */
+    public enum RepulsionMode {
+        /**
+         * Exact repulsion between each pair of points, in O(n²), best for small graphs
+         */
+        EXACT,
+        /**
+         * Repulsion approximated with a Barnes-Hut quadtree, in O(n log n), for graphs with many vertices
+         */
+        BARNES_HUT
+    }
+
     private final Random random = new Random(3L); // deterministic randomness
 
     private static final int DEFAULT_MAX_STEPS = 2000;
@@ -61,6 +79,12 @@ public class ForceLayout<V, E> {
     private static final double DEFAULT_REPULSION = 400.0;
     private static final double DEFAULT_DAMPING = 0.5;
     private static final double DEFAULT_MAX_SPEED = Double.POSITIVE_INFINITY;
+    private static final double DEFAULT_BARNES_HUT_THETA = 0.8;
+    private static final int PARALLEL_CHUNK_SIZE = 64;
+    private static final int DEFAULT_STALL_STEPS = 50;
+    private static final double DEFAULT_STALL_TOLERANCE = 1e-3;
+    private static final double COOLING_FACTOR = 0.9;
+    private static final int COOLING_PROGRESS_STEPS = 5;
 
     private int maxSteps;
     private double minEnergyThreshold;
@@ -68,6 +92,15 @@ public class ForceLayout<V, E> {
     private double repulsion;
     private double damping;
     private double maxSpeed;
+    private RepulsionMode repulsionMode;
+    private double barnesHutTheta;
+    private ForkJoinPool forkJoinPool;
+    private boolean adaptiveCooling;
+    private int stallSteps;
+    private double stallTolerance;
+    private Duration maxDuration;
+    private final Map<V, Vector> initialPositions = new HashMap<>();
+    private final Set<V> fixedVertices = new HashSet<>();
 
     private final Graph<V, E> graph;
     private final Map<V, Point> points = new LinkedHashMap<>();
@@ -75,6 +108,32 @@ public class ForceLayout<V, E> {
 
     private boolean hasBeenExecuted = false;
 
+    // Simulation state: the points are indexed by the order of the graph vertices, their mass is always 1
+    private int nbPoints;
+    private double[] x;
+    private double[] y;
+    private double[] vx;
+    private double[] vy;
+    private double[] ax;
+    private double[] ay;
+    private boolean[] fixed;
+    // time step of the current step, which differs from the configured one only with adaptive cooling
+    private double stepDeltaTime;
+    private double totalEnergy;
+
+    private ForceLayoutResult result;
+
+    // Simulation springs, in the order of the graph edges
+    private int nbSprings;
+    private int[] springSources;
+    private int[] springTargets;
+    private double[] springLengths;
+    private double[] springStiffnesses;
+
+    // Barnes-Hut repulsion data, reused from one step to the next
+    private final QuadTree quadTree = new QuadTree();
+    private final int[] quadTreeStack = QuadTree.newStack();
+
     public ForceLayout(Graph<V, E> graph) {
         this.maxSteps = DEFAULT_MAX_STEPS;
         this.minEnergyThreshold = DEFAULT_MIN_ENERGY_THRESHOLD;
@@ -82,6 +141,10 @@ public class ForceLayout<V, E> {
         this.repulsion = DEFAULT_REPULSION;
         this.damping = DEFAULT_DAMPING;
         this.maxSpeed = DEFAULT_MAX_SPEED;
+        this.repulsionMode = RepulsionMode.EXACT;
+        this.barnesHutTheta = DEFAULT_BARNES_HUT_THETA;
+        this.stallSteps = DEFAULT_STALL_STEPS;
+        this.stallTolerance = DEFAULT_STALL_TOLERANCE;
 
         this.graph = graph;
     }
@@ -116,109 +179,451 @@ public class ForceLayout<V, E> {
         return this;
     }
 
+    /**
+     * Enable or disable the adaptive cooling, disabled by default. When enabled, the total energy of the points is
+     * tracked at each step: the time step is reduced when the energy increases and restored, up to the configured
+     * time step, after a few steps of decreasing energy. The layout also stops when the total energy has not decreased
+     * by more than the stall tolerance over the given number of stall steps.
+     */
+    public ForceLayout<V, E> setAdaptiveCooling(boolean adaptiveCooling) {
+        this.adaptiveCooling = adaptiveCooling;
+        return this;
+    }
+
+    public ForceLayout<V, E> setStallSteps(int stallSteps) {
+        if (stallSteps <= 0) {
+            throw new IllegalArgumentException("Stall steps must be strictly positive: " + stallSteps);
+        }
+        this.stallSteps = stallSteps;
+        return this;
+    }
+
+    /**
+     * Set the relative decrease of the total energy below which the layout is considered stalled, used with adaptive
+     * cooling only
+     */
+    public ForceLayout<V, E> setStallTolerance(double stallTolerance) {
+        if (stallTolerance < 0) {
+            throw new IllegalArgumentException("Stall tolerance must be positive: " + stallTolerance);
+        }
+        this.stallTolerance = stallTolerance;
+        return this;
+    }
+
+    /**
+     * Set the maximum duration of the layout, or null, which is the default, for no time limit. The steps are stopped
+     * once that duration is exceeded, whatever their number.
+     */
+    public ForceLayout<V, E> setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    /**
+     * Set the pool used to compute in parallel the forces applied to the points and their movement, or null, which is
+     * the default, to compute them sequentially.
+     * <p>
+     * In parallel, the points are split into fixed ranges and the force applied to each point is summed in a fixed
+     * order, so that the layout does not depend on the number of threads and stays reproducible. It may however
+     * slightly differ from the sequential layout, as the forces are not summed in the same order.
+     */
+    public ForceLayout<V, E> setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * Set the positions the given vertices start from, instead of random positions, for instance the positions
+     * resulting from a previous layout of the same graph before a small change. Vertices without initial position
+     * start near the barycenter of their neighbours having one, if any.
+     */
+    public ForceLayout<V, E> setInitialPositions(Map<V, Vector> initialPositions) {
+        this.initialPositions.clear();
+        this.initialPositions.putAll(Objects.requireNonNull(initialPositions));
+        return this;
+    }
+
+    /**
+     * Start from the positions resulting from the given executed layout, for the vertices it contains
+     */
+    public ForceLayout<V, E> setInitialPositions(ForceLayout<V, ?> previousLayout) {
+        if (!previousLayout.hasBeenExecuted) {
+            throw new IllegalStateException("Previous force layout has not been executed yet");
+        }
+        Map<V, Vector> positions = new HashMap<>();
+        previousLayout.points.forEach((vertex, point) -> positions.put(vertex, point.getPosition()));
+        return setInitialPositions(positions);
+    }
+
+    /**
+     * Set the vertices which do not move during the layout: they stay at their initial position. Used with
+     * {@link #setInitialPositions}, only the region around the unpinned vertices is laid out again.
+     */
+    public ForceLayout<V, E> setFixedVertices(Set<V> fixedVertices) {
+        this.fixedVertices.clear();
+        this.fixedVertices.addAll(Objects.requireNonNull(fixedVertices));
+        return this;
+    }
+
+    public ForceLayout<V, E> setRepulsionMode(RepulsionMode repulsionMode) {
+        this.repulsionMode = Objects.requireNonNull(repulsionMode);
+        return this;
+    }
+
+    /**
+     * Set the accuracy of the {@link RepulsionMode#BARNES_HUT} repulsion mode: a group of points is approximated by
+     * its center of mass if its size is smaller than theta times its distance to the point the force is computed for.
+     * 0 gives the exact repulsion, the higher the faster and the less accurate; default is 0.8.
+     */
+    public ForceLayout<V, E> setBarnesHutTheta(double barnesHutTheta) {
+        if (barnesHutTheta < 0) {
+            throw new IllegalArgumentException("Barnes-Hut theta must be positive or zero: " + barnesHutTheta);
+        }
+        this.barnesHutTheta = barnesHutTheta;
+        return this;
+    }
+
     private void initializePoints() {
+        points.clear();
+        nbPoints = graph.vertexSet().size();
+        x = new double[nbPoints];
+        y = new double[nbPoints];
+        vx = new double[nbPoints];
+        vy = new double[nbPoints];
+        ax = new double[nbPoints];
+        ay = new double[nbPoints];
+        fixed = new boolean[nbPoints];
+
+        int i = 0;
         for (V vertex : graph.vertexSet()) {
-            points.put(vertex, new Point(random.nextDouble(), random.nextDouble()));
+            // random numbers are drawn for all the vertices, so that the other vertices positions do not depend on
+            // the initial positions given
+            double randomX = random.nextDouble();
+            double randomY = random.nextDouble();
+            Vector initialPosition = initialPositions.get(vertex);
+            if (initialPosition != null) {
+                x[i] = initialPosition.getX();
+                y[i] = initialPosition.getY();
+            } else {
+                x[i] = randomX;
+                y[i] = randomY;
+            }
+            fixed[i] = fixedVertices.contains(vertex);
+            points.put(vertex, new Point(x[i], y[i]));
+            i++;
+        }
+
+        if (!initialPositions.isEmpty()) {
+            placeNearInitialNeighbours();
+        }
+    }
+
+    /**
+     * Move the vertices without initial position near the barycenter of their neighbours having one
+     */
+    private void placeNearInitialNeighbours() {
+        int i = 0;
+        for (Map.Entry<V, Point> e : points.entrySet()) {
+            V vertex = e.getKey();
+            if (!initialPositions.containsKey(vertex)) {
+                double sumX = 0;
+                double sumY = 0;
+                int count = 0;
+                for (V neighbour : Graphs.neighborListOf(graph, vertex)) {
+                    Vector neighbourPosition = initialPositions.get(neighbour);
+                    if (neighbourPosition != null) {
+                        sumX += neighbourPosition.getX();
+                        sumY += neighbourPosition.getY();
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    // the random position is kept as an offset, so that several new neighbours are not superimposed
+                    x[i] += sumX / count;
+                    y[i] += sumY / count;
+                    e.getValue().setPosition(new Vector(x[i], y[i]));
+                }
+            }
+            i++;
         }
     }
 
     private void initializeSprings() {
+        springs.clear();
+        Map<V, Integer> vertexIndexes = new HashMap<>();
+        for (V vertex : points.keySet()) {
+            vertexIndexes.put(vertex, vertexIndexes.size());
+        }
+
+        nbSprings = graph.edgeSet().size();
+        springSources = new int[nbSprings];
+        springTargets = new int[nbSprings];
+        springLengths = new double[nbSprings];
+        springStiffnesses = new double[nbSprings];
+
+        int i = 0;
         for (E e : graph.edgeSet()) {
-            Point pointSource = points.get(graph.getEdgeSource(e));
-            Point pointTarget = points.get(graph.getEdgeTarget(e));
-            springs.add(new Spring(pointSource, pointTarget));
+            V source = graph.getEdgeSource(e);
+            V target = graph.getEdgeTarget(e);
+            Spring spring = new Spring(points.get(source), points.get(target));
+            springs.add(spring);
+            springSources[i] = vertexIndexes.get(source);
+            springTargets[i] = vertexIndexes.get(target);
+            springLengths[i] = spring.getLength();
+            springStiffnesses[i] = spring.getStiffness();
+            i++;
         }
     }
 
-    public void execute() {
+    public ForceLayoutResult execute() {
         long start = System.nanoTime();
+        long deadline = maxDuration != null ? start + maxDuration.toNanos() : Long.MAX_VALUE;
 
         initializePoints();
         initializeSprings();
 
-        int i;
-        for (i = 0; i < maxSteps; i++) {
-            applyCoulombsLaw();
-            applyHookesLaw();
-            attractToCenter();
-            updateVelocity();
-            updatePosition();
+        stepDeltaTime = deltaTime;
+        totalEnergy = 0;
+        double previousEnergy = Double.POSITIVE_INFINITY;
+        double lowestEnergy = Double.POSITIVE_INFINITY;
+        int decreasingSteps = 0;
+        int stalledSteps = 0;
+
+        ForceLayoutResult.StopReason stopReason = ForceLayoutResult.StopReason.MAX_STEPS;
+        int steps = 0;
+        while (steps < maxSteps) {
+            step();
+            steps++;
+
+            if (updateEnergy()) {
+                stopReason = ForceLayoutResult.StopReason.STABLE;
+                break;
+            }
 
-            if (isStable()) {
+            if (adaptiveCooling) {
+                if (totalEnergy < previousEnergy) {
+                    if (++decreasingSteps >= COOLING_PROGRESS_STEPS) {
+                        stepDeltaTime = Math.min(deltaTime, stepDeltaTime / COOLING_FACTOR);
+                        decreasingSteps = 0;
+                    }
+                } else {
+                    stepDeltaTime *= COOLING_FACTOR;
+                    decreasingSteps = 0;
+                }
+                previousEnergy = totalEnergy;
+
+                if (totalEnergy < lowestEnergy * (1 - stallTolerance)) {
+                    lowestEnergy = totalEnergy;
+                    stalledSteps = 0;
+                } else if (++stalledSteps >= stallSteps) {
+                    stopReason = ForceLayoutResult.StopReason.STALLED;
+                    break;
+                }
+            }
+
+            if (System.nanoTime() > deadline) {
+                stopReason = ForceLayoutResult.StopReason.TIMEOUT;
                 break;
             }
         }
 
+        updatePoints();
+
         hasBeenExecuted = true;
 
-        long elapsedTime = System.nanoTime() - start;
+        result = new ForceLayoutResult(stopReason, steps, totalEnergy, (System.nanoTime() - start) / 1e9);
+
+        LOGGER.info("Number of steps: {} ({})", steps, stopReason);
+        LOGGER.info("Elapsed time: {}", result.getElapsedTime());
 
-        LOGGER.info("Number of steps: {}", i);
-        LOGGER.info("Elapsed time: {}", elapsedTime / 1e9);
+        return result;
+    }
+
+    /**
+     * Returns the result of the last execution, or null if the layout has not been executed yet
+     */
+    public ForceLayoutResult getResult() {
+        return result;
+    }
+
+    private void step() {
+        if (forkJoinPool == null) {
+            applyCoulombsLaw();
+            applyHookesLaw();
+            attractToCenter(0, nbPoints);
+            updateVelocity(0, nbPoints);
+            updatePosition(0, nbPoints);
+        } else {
+            stepInParallel();
+        }
     }
 
     private void applyCoulombsLaw() {
-        for (Point point : points.values()) {
-            for (Point otherPoint : points.values()) {
-                if (!point.equals(otherPoint)) {
-                    Vector distance = point.getPosition().subtract(otherPoint.getPosition());
-                    double magnitude = distance.magnitude() + 0.1;
-                    Vector direction = distance.normalize();
-
-                    Vector force = direction.multiply(repulsion).divide(magnitude * magnitude * 0.5);
-                    point.applyForce(force);
-                    otherPoint.applyForce(force.multiply(-1));
+        if (repulsionMode == RepulsionMode.BARNES_HUT) {
+            applyCoulombsLawBarnesHut();
+            return;
+        }
+        // each pair of points is considered twice, as in the original algorithm
+        for (int i = 0; i < nbPoints; i++) {
+            for (int j = 0; j < nbPoints; j++) {
+                if (i != j) {
+                    double dx = x[i] - x[j];
+                    double dy = y[i] - y[j];
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    double magnitude = distance + 0.1;
+                    double factor = magnitude * magnitude * 0.5;
+                    double forceX = dx / distance * repulsion / factor;
+                    double forceY = dy / distance * repulsion / factor;
+                    ax[i] += forceX;
+                    ay[i] += forceY;
+                    ax[j] -= forceX;
+                    ay[j] -= forceY;
                 }
             }
         }
     }
 
-    private void applyHookesLaw() {
-        for (Spring spring : springs) {
-            Point point1 = spring.getNode1();
-            Point point2 = spring.getNode2();
+    private void stepInParallel() {
+        if (repulsionMode == RepulsionMode.BARNES_HUT) {
+            quadTree.build(x, y, nbPoints);
+        }
+        forkJoinPool.invoke(new PointsRangeAction(0, nbPoints, this::applyCoulombsLaw));
+
+        // springs are shared by two points: their forces are summed sequentially
+        applyHookesLaw();
+
+        forkJoinPool.invoke(new PointsRangeAction(0, nbPoints, (from, to) -> {
+            attractToCenter(from, to);
+            updateVelocity(from, to);
+            updatePosition(from, to);
+        }));
+    }
+
+    /**
+     * Apply to the points of the given range the repulsion of all the other points. Contrary to
+     * {@link #applyCoulombsLaw()}, only the accelerations of the points of the range are changed.
+     */
+    private void applyCoulombsLaw(int from, int to) {
+        if (repulsionMode == RepulsionMode.BARNES_HUT) {
+            int[] stack = QuadTree.newStack();
+            for (int i = from; i < to; i++) {
+                quadTree.accumulateRepulsion(i, x, y, 2 * repulsion, barnesHutTheta, ax, ay, stack);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double sumX = 0;
+            double sumY = 0;
+            for (int j = 0; j < nbPoints; j++) {
+                if (i != j) {
+                    double dx = x[i] - x[j];
+                    double dy = y[i] - y[j];
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    double magnitude = distance + 0.1;
+                    double factor = magnitude * magnitude * 0.5;
+                    // the pair of points is considered twice, as in the sequential computation
+                    sumX += 2 * (dx / distance * repulsion / factor);
+                    sumY += 2 * (dy / distance * repulsion / factor);
+                }
+            }
+            ax[i] += sumX;
+            ay[i] += sumY;
+        }
+    }
 
-            Vector distance = point2.getPosition().subtract(point1.getPosition());
-            double displacement = spring.getLength() - distance.magnitude();
-            Vector direction = distance.normalize();
+    private void applyCoulombsLawBarnesHut() {
+        quadTree.build(x, y, nbPoints);
 
-            Vector force = direction.multiply(spring.getStiffness() * displacement * 0.5);
-            point1.applyForce(force.multiply(-1));
-            point2.applyForce(force);
+        // as in the exact mode, where each pair of points is considered twice, the repulsion is doubled
+        for (int i = 0; i < nbPoints; i++) {
+            quadTree.accumulateRepulsion(i, x, y, 2 * repulsion, barnesHutTheta, ax, ay, quadTreeStack);
         }
     }
 
-    private void attractToCenter() {
-        for (Point point : points.values()) {
-            Vector direction = point.getPosition().multiply(-1);
+    private void applyHookesLaw() {
+        for (int s = 0; s < nbSprings; s++) {
+            int i1 = springSources[s];
+            int i2 = springTargets[s];
+
+            double dx = x[i2] - x[i1];
+            double dy = y[i2] - y[i1];
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            double displacement = springLengths[s] - distance;
+
+            double factor = springStiffnesses[s] * displacement * 0.5;
+            double forceX = dx / distance * factor;
+            double forceY = dy / distance * factor;
+            ax[i1] -= forceX;
+            ay[i1] -= forceY;
+            ax[i2] += forceX;
+            ay[i2] += forceY;
+        }
+    }
 
-            point.applyForce(direction.multiply(repulsion / 50.0));
+    private void attractToCenter(int from, int to) {
+        double factor = repulsion / 50.0;
+        for (int i = from; i < to; i++) {
+            ax[i] += -x[i] * factor;
+            ay[i] += -y[i] * factor;
         }
     }
 
-    private void updateVelocity() {
-        for (Point point : points.values()) {
-            Vector velocity = point.getVelocity().add(point.getAcceleration().multiply(deltaTime)).multiply(damping);
-            point.setVelocity(velocity);
+    private void updateVelocity(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (fixed[i]) {
+                ax[i] = 0;
+                ay[i] = 0;
+                continue;
+            }
+            vx[i] = (vx[i] + ax[i] * stepDeltaTime) * damping;
+            vy[i] = (vy[i] + ay[i] * stepDeltaTime) * damping;
 
-            if (point.getVelocity().magnitude() > maxSpeed) {
-                velocity = point.getVelocity().normalize().multiply(maxSpeed);
-                point.setVelocity(velocity);
+            double speed = Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+            if (speed > maxSpeed) {
+                vx[i] = vx[i] / speed * maxSpeed;
+                vy[i] = vy[i] / speed * maxSpeed;
             }
 
-            point.setAcceleration(new Vector(0, 0));
+            ax[i] = 0;
+            ay[i] = 0;
         }
     }
 
-    private void updatePosition() {
-        for (Point point : points.values()) {
-            Vector position = point.getPosition().add(point.getVelocity().multiply(deltaTime));
-            point.setPosition(position);
+    private void updatePosition(int from, int to) {
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i] * stepDeltaTime;
+            y[i] += vy[i] * stepDeltaTime;
+        }
+    }
+
+    /**
+     * Compute the total kinetic energy of the points, and returns true if the energy of each point is below the minimum
+     * energy threshold
+     */
+    private boolean updateEnergy() {
+        boolean stable = true;
+        totalEnergy = 0;
+        for (int i = 0; i < nbPoints; i++) {
+            double speed = Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+            double energy = 0.5 * speed * speed;
+            if (energy >= minEnergyThreshold) {
+                stable = false;
+            }
+            totalEnergy += energy;
         }
+        return stable;
     }
 
-    private boolean isStable() {
-        return points.values().stream().allMatch(p -> p.getEnergy() < minEnergyThreshold);
+    /**
+     * Copy the simulation state into the points objects
+     */
+    private void updatePoints() {
+        int i = 0;
+        for (Point point : points.values()) {
+            point.setPosition(new Vector(x[i], y[i]));
+            point.setVelocity(new Vector(vx[i], vy[i]));
+            i++;
+        }
     }
 
     public Vector getStablePosition(V vertex) {
@@ -269,4 +674,35 @@ public class ForceLayout<V, E> {
         printWriter.close();
     }
 
+    @FunctionalInterface
+    private interface PointsRangeConsumer {
+        void accept(int from, int to);
+    }
+
+    /**
+     * Action on a range of points, split in halves until the ranges are small enough: the partitioning only depends
+     * on the number of points.
+     */
+    private static final class PointsRangeAction extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final transient PointsRangeConsumer consumer;
+
+        private PointsRangeAction(int from, int to, PointsRangeConsumer consumer) {
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                consumer.accept(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PointsRangeAction(from, middle, consumer), new PointsRangeAction(middle, to, consumer));
+            }
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.force.layout;
+
+import java.util.Objects;
+
+/**
+ * Outcome of a {@link ForceLayout} execution: why it stopped, after how many steps and with which remaining energy.
+ *
+ * @author agent <agent at local>
+ */
+public final class ForceLayoutResult {
+
+    public enum StopReason {
+        /**
+         * The energy of each point fell below the minimum energy threshold
+         */
+        STABLE,
+        /**
+         * The total energy did not decrease significantly over the last steps
+         */
+        STALLED,
+        /**
+         * The maximum number of steps was reached
+         */
+        MAX_STEPS,
+        /**
+         * The maximum duration was exceeded
+         */
+        TIMEOUT
+    }
+
+    private final StopReason stopReason;
+    private final int iterations;
+    private final double finalEnergy;
+    private final double elapsedTime;
+
+    ForceLayoutResult(StopReason stopReason, int iterations, double finalEnergy, double elapsedTime) {
+        this.stopReason = Objects.requireNonNull(stopReason);
+        this.iterations = iterations;
+        this.finalEnergy = finalEnergy;
+        this.elapsedTime = elapsedTime;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Returns the number of steps computed
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the total kinetic energy of the points after the last step
+     */
+    public double getFinalEnergy() {
+        return finalEnergy;
+    }
+
+    /**
+     * Returns the elapsed time of the execution, in seconds
+     */
+    public double getElapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ForceLayoutResult(stopReason=" + stopReason + ", iterations=" + iterations
+            + ", finalEnergy=" + finalEnergy + ", elapsedTime=" + elapsedTime + ")";
+    }
+}
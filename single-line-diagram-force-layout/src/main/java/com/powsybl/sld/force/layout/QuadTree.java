@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.force.layout;
+
+import java.util.Arrays;
+
+/**
+ * Barnes-Hut quadtree of points with unit mass, used to approximate the repulsion forces between points in
+ * O(n log n): a group of points far enough from the point the force is computed for is seen as a single point, with
+ * the total mass of the group at its center of mass.
+ * <p>
+ * The nodes of the tree are stored in primitive arrays, reused from one build to the next.
+ *
+ * @author agent <agent at local>
+ */
+final class QuadTree {
+
+    /**
+     * Maximum depth of the tree: the points falling in the same leaf at this depth are chained in that leaf
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private static final int STACK_SIZE = 3 * MAX_DEPTH + 4;
+
+    private int nodeCount;
+
+    // first of the four consecutive children of each node, -1 for a leaf
+    private int[] firstChild = new int[0];
+    // first point of each leaf, -1 for an empty leaf
+    private int[] head = new int[0];
+    private double[] mass = new double[0];
+    // sum of the positions of the points of each node, then its center of mass once the tree is built
+    private double[] centerX = new double[0];
+    private double[] centerY = new double[0];
+    private double[] minX = new double[0];
+    private double[] minY = new double[0];
+    private double[] size = new double[0];
+
+    // next point in the same leaf, -1 if none
+    private int[] next = new int[0];
+
+    /**
+     * Build the tree of the points <code>0</code> to <code>n - 1</code> with the given coordinates
+     */
+    void build(double[] x, double[] y, int n) {
+        if (next.length < n) {
+            next = new int[n];
+        }
+        nodeCount = 0;
+        double left = Double.POSITIVE_INFINITY;
+        double top = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY;
+        double bottom = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            left = Math.min(left, x[i]);
+            top = Math.min(top, y[i]);
+            right = Math.max(right, x[i]);
+            bottom = Math.max(bottom, y[i]);
+        }
+        if (n == 0) {
+            return;
+        }
+        // slightly enlarged square, so that the points on the right and bottom sides are inside
+        double side = Math.max(Math.max(right - left, bottom - top), 1e-9) * (1 + 1e-9);
+        newNode(left, top, side);
+        for (int i = 0; i < n; i++) {
+            insert(i, x, y);
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            if (mass[node] > 0) {
+                centerX[node] /= mass[node];
+                centerY[node] /= mass[node];
+            }
+        }
+    }
+
+    /**
+     * Add to <code>fx[i]</code> and <code>fy[i]</code> the repulsion exerted on point <code>i</code> by all the
+     * other points of the tree, a point at distance d exerting a force of magnitude
+     * <code>repulsion / (0.5 * (d + 0.1)^2)</code>. A node whose size is smaller than <code>theta</code> times its
+     * distance to the point, and which does not contain the point, is approximated by its center of mass.
+     */
+    void accumulateRepulsion(int i, double[] x, double[] y, double repulsion, double theta,
+                             double[] fx, double[] fy, int[] stack) {
+        if (nodeCount == 0) {
+            return;
+        }
+        double xi = x[i];
+        double yi = y[i];
+        double sumX = 0;
+        double sumY = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (firstChild[node] < 0) {
+                for (int j = head[node]; j >= 0; j = next[j]) {
+                    if (j != i) {
+                        double dx = xi - x[j];
+                        double dy = yi - y[j];
+                        double f = repulsionFactor(dx, dy, 1, repulsion);
+                        sumX += dx * f;
+                        sumY += dy * f;
+                    }
+                }
+            } else {
+                double dx = xi - centerX[node];
+                double dy = yi - centerY[node];
+                double dist2 = dx * dx + dy * dy;
+                if (size[node] * size[node] < theta * theta * dist2 && !contains(node, xi, yi)) {
+                    double f = repulsionFactor(dx, dy, mass[node], repulsion);
+                    sumX += dx * f;
+                    sumY += dy * f;
+                } else {
+                    int child = firstChild[node];
+                    for (int c = 0; c < 4; c++) {
+                        if (mass[child + c] > 0) {
+                            stack[top++] = child + c;
+                        }
+                    }
+                }
+            }
+        }
+        fx[i] += sumX;
+        fy[i] += sumY;
+    }
+
+    /**
+     * Returns a stack big enough for {@link #accumulateRepulsion}
+     */
+    static int[] newStack() {
+        return new int[STACK_SIZE];
+    }
+
+    private static double repulsionFactor(double dx, double dy, double m, double repulsion) {
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            return 0;
+        }
+        double magnitude = distance + 0.1;
+        return m * repulsion / (magnitude * magnitude * 0.5) / distance;
+    }
+
+    private void insert(int i, double[] x, double[] y) {
+        double xi = x[i];
+        double yi = y[i];
+        int node = 0;
+        int depth = 0;
+        while (true) {
+            if (firstChild[node] >= 0) {
+                addMass(node, xi, yi);
+                node = firstChild[node] + quadrant(node, xi, yi);
+                depth++;
+            } else if (head[node] < 0) {
+                head[node] = i;
+                next[i] = -1;
+                addMass(node, xi, yi);
+                return;
+            } else if (depth >= MAX_DEPTH) {
+                next[i] = head[node];
+                head[node] = i;
+                addMass(node, xi, yi);
+                return;
+            } else {
+                // split the leaf: its single point is moved to the right child, then the insertion goes on
+                int existing = head[node];
+                head[node] = -1;
+                subdivide(node);
+                int child = firstChild[node] + quadrant(node, x[existing], y[existing]);
+                head[child] = existing;
+                addMass(child, x[existing], y[existing]);
+            }
+        }
+    }
+
+    private void addMass(int node, double px, double py) {
+        mass[node] += 1;
+        centerX[node] += px;
+        centerY[node] += py;
+    }
+
+    private boolean contains(int node, double px, double py) {
+        return px >= minX[node] && px < minX[node] + size[node] && py >= minY[node] && py < minY[node] + size[node];
+    }
+
+    private int quadrant(int node, double px, double py) {
+        double half = size[node] / 2;
+        return (px >= minX[node] + half ? 1 : 0) + (py >= minY[node] + half ? 2 : 0);
+    }
+
+    private void subdivide(int node) {
+        double half = size[node] / 2;
+        double left = minX[node];
+        double top = minY[node];
+        // the children are created before being referenced, as the arrays may be reallocated
+        int child = newNode(left, top, half);
+        newNode(left + half, top, half);
+        newNode(left, top + half, half);
+        newNode(left + half, top + half, half);
+        firstChild[node] = child;
+    }
+
+    private int newNode(double left, double top, double side) {
+        if (nodeCount == firstChild.length) {
+            int capacity = Math.max(16, 2 * nodeCount);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            head = Arrays.copyOf(head, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            centerX = Arrays.copyOf(centerX, capacity);
+            centerY = Arrays.copyOf(centerY, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            size = Arrays.copyOf(size, capacity);
+        }
+        int node = nodeCount++;
+        firstChild[node] = -1;
+        head[node] = -1;
+        mass[node] = 0;
+        centerX[node] = 0;
+        centerY[node] = 0;
+        minX[node] = left;
+        minY[node] = top;
+        size[node] = side;
+        return node;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sld.force.layout;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent at local>
+ */
+public class QuadTreeTest {
+
+    private static final int N = 500;
+
+    private final double[] x = new double[N];
+    private final double[] y = new double[N];
+
+    private void randomPoints() {
+        Random random = new Random(1L);
+        for (int i = 0; i < N; i++) {
+            x[i] = random.nextDouble() * 100;
+            y[i] = random.nextDouble() * 100;
+        }
+        // coincident points
+        x[1] = x[0];
+        y[1] = y[0];
+    }
+
+    private static double[][] exactRepulsion(double[] x, double[] y) {
+        double[][] forces = new double[2][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                double dx = x[i] - x[j];
+                double dy = y[i] - y[j];
+                double d = Math.sqrt(dx * dx + dy * dy);
+                if (d > 0) {
+                    double f = 400 / ((d + 0.1) * (d + 0.1) * 0.5) / d;
+                    forces[0][i] += dx * f;
+                    forces[1][i] += dy * f;
+                }
+            }
+        }
+        return forces;
+    }
+
+    @Test
+    public void testRepulsion() {
+        randomPoints();
+        double[][] exact = exactRepulsion(x, y);
+
+        QuadTree quadTree = new QuadTree();
+        quadTree.build(x, y, N);
+        int[] stack = QuadTree.newStack();
+
+        // theta = 0: no approximation
+        double[] fx = new double[N];
+        double[] fy = new double[N];
+        for (int i = 0; i < N; i++) {
+            quadTree.accumulateRepulsion(i, x, y, 400, 0, fx, fy, stack);
+            assertEquals(exact[0][i], fx[i], 1e-9 * Math.max(1, Math.abs(exact[0][i])));
+            assertEquals(exact[1][i], fy[i], 1e-9 * Math.max(1, Math.abs(exact[1][i])));
+        }
+
+        // default theta: total error of a few percent
+        double[] ax = new double[N];
+        double[] ay = new double[N];
+        double error = 0;
+        double norm = 0;
+        for (int i = 0; i < N; i++) {
+            quadTree.accumulateRepulsion(i, x, y, 400, 0.8, ax, ay, stack);
+            error += Math.hypot(ax[i] - exact[0][i], ay[i] - exact[1][i]);
+            norm += Math.hypot(exact[0][i], exact[1][i]);
+        }
+        assertTrue(error / norm < 0.05);
+    }
+
+    @Test
+    public void testSinglePoint() {
+        QuadTree quadTree = new QuadTree();
+        double[] fx = new double[1];
+        double[] fy = new double[1];
+        quadTree.build(new double[] {1}, new double[] {2}, 1);
+        quadTree.accumulateRepulsion(0, new double[] {1}, new double[] {2}, 400, 0.8, fx, fy, QuadTree.newStack());
+        assertEquals(0, fx[0], 0);
+        assertEquals(0, fy[0], 0);
+    }
+}
@@ -11,9 +11,13 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TestForceLayout {
 
@@ -50,7 +54,10 @@ public class TestForceLayout {
         graph.addEdge(osaka, tokyo);
 
         ForceLayout<String, DefaultEdge> forceLayout = new ForceLayout<>(graph);
-        forceLayout.execute();
+        ForceLayoutResult result = forceLayout.execute();
+        assertEquals(ForceLayoutResult.StopReason.STABLE, result.getStopReason());
+        assertEquals(34, result.getIterations());
+        assertSame(result, forceLayout.getResult());
 
         StringWriter svgSw = new StringWriter();
         forceLayout.toSVG(s -> s, svgSw);
@@ -87,4 +94,117 @@ public class TestForceLayout {
 
         assertEquals(toString("/Graph10Points.svg"), normalizeLineSeparator(svgSw.toString()));
     }
+
+    @Test
+    public void testBarnesHut() {
+        int nbVertices = 300;
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(nbVertices);
+
+        ForceLayout<Integer, DefaultEdge> forceLayout = new ForceLayout<>(graph)
+            .setRepulsionMode(ForceLayout.RepulsionMode.BARNES_HUT)
+            .setBarnesHutTheta(1.0)
+            .setMaxSteps(200);
+        forceLayout.execute();
+
+        for (int i = 0; i < nbVertices; i++) {
+            Vector position = forceLayout.getStablePosition(i);
+            assertTrue(Double.isFinite(position.getX()) && Double.isFinite(position.getY()));
+        }
+    }
+
+    private static Graph<Integer, DefaultEdge> createTreeGraph(int nbVertices) {
+        Graph<Integer, DefaultEdge> graph = new Pseudograph<>(DefaultEdge.class);
+        for (int i = 0; i < nbVertices; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(i, (i - 1) / 2);
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void testParallel() {
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(200);
+        for (ForceLayout.RepulsionMode mode : ForceLayout.RepulsionMode.values()) {
+            ForkJoinPool pool1 = new ForkJoinPool(1);
+            ForkJoinPool pool4 = new ForkJoinPool(4);
+            try {
+                ForceLayout<Integer, DefaultEdge> forceLayout1 = new ForceLayout<>(graph)
+                    .setRepulsionMode(mode).setForkJoinPool(pool1).setMaxSteps(100);
+                forceLayout1.execute();
+                ForceLayout<Integer, DefaultEdge> forceLayout4 = new ForceLayout<>(graph)
+                    .setRepulsionMode(mode).setForkJoinPool(pool4).setMaxSteps(100);
+                forceLayout4.execute();
+
+                // same layout whatever the number of threads
+                for (Integer v : graph.vertexSet()) {
+                    assertEquals(forceLayout1.getStablePosition(v).getX(), forceLayout4.getStablePosition(v).getX(), 0);
+                    assertEquals(forceLayout1.getStablePosition(v).getY(), forceLayout4.getStablePosition(v).getY(), 0);
+                }
+            } finally {
+                pool1.shutdown();
+                pool4.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testWarmStart() {
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(30);
+        ForceLayout<Integer, DefaultEdge> forceLayout = new ForceLayout<>(graph);
+        forceLayout.execute();
+
+        // restarting from a stable layout of the same graph hardly moves the vertices
+        ForceLayout<Integer, DefaultEdge> restartedLayout = new ForceLayout<>(graph).setInitialPositions(forceLayout);
+        restartedLayout.execute();
+        for (Integer v : graph.vertexSet()) {
+            assertEquals(forceLayout.getStablePosition(v).getX(), restartedLayout.getStablePosition(v).getX(), 0.1);
+            assertEquals(forceLayout.getStablePosition(v).getY(), restartedLayout.getStablePosition(v).getY(), 0.1);
+        }
+
+        // a vertex added to the graph is laid out around the pinned previous vertices
+        Graph<Integer, DefaultEdge> modifiedGraph = createTreeGraph(31);
+        ForceLayout<Integer, DefaultEdge> incrementalLayout = new ForceLayout<>(modifiedGraph)
+            .setInitialPositions(forceLayout)
+            .setFixedVertices(graph.vertexSet());
+        incrementalLayout.execute();
+        for (Integer v : graph.vertexSet()) {
+            assertEquals(forceLayout.getStablePosition(v).getX(), incrementalLayout.getStablePosition(v).getX(), 0);
+            assertEquals(forceLayout.getStablePosition(v).getY(), incrementalLayout.getStablePosition(v).getY(), 0);
+        }
+        Vector newPosition = incrementalLayout.getStablePosition(30);
+        Vector parentPosition = incrementalLayout.getStablePosition(14);
+        assertTrue(newPosition.subtract(parentPosition).magnitude() < 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWarmStartFromNonExecutedLayout() {
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(3);
+        ForceLayout<Integer, DefaultEdge> previousLayout = new ForceLayout<>(graph);
+        new ForceLayout<>(graph).setInitialPositions(previousLayout);
+    }
+
+    @Test
+    public void testAdaptiveCooling() {
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(100);
+        ForceLayoutResult result = new ForceLayout<>(graph).execute();
+
+        ForceLayoutResult adaptiveResult = new ForceLayout<>(graph)
+            .setAdaptiveCooling(true)
+            .setStallSteps(20)
+            .execute();
+        assertTrue(adaptiveResult.getStopReason() == ForceLayoutResult.StopReason.STABLE
+            || adaptiveResult.getStopReason() == ForceLayoutResult.StopReason.STALLED);
+        assertTrue(adaptiveResult.getIterations() <= result.getIterations());
+        assertTrue(Double.isFinite(adaptiveResult.getFinalEnergy()));
+    }
+
+    @Test
+    public void testMaxDuration() {
+        Graph<Integer, DefaultEdge> graph = createTreeGraph(100);
+        ForceLayoutResult result = new ForceLayout<>(graph).setMaxDuration(Duration.ZERO).execute();
+        assertEquals(ForceLayoutResult.StopReason.TIMEOUT, result.getStopReason());
+        assertEquals(1, result.getIterations());
+    }
 }